@@ -0,0 +1,16 @@
+package com.jpmorgan.reactdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for uploaded dictionary files (application.dictionaries.*)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.dictionaries")
+public class DictionaryProperties {
+    private String directory = System.getProperty("java.io.tmpdir") + "/tdg-dictionaries"; // Where uploads are stored
+    private long maxUploadBytes = 8L * 1024 * 1024 * 1024;
+}
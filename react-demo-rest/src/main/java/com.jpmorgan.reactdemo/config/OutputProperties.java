@@ -0,0 +1,22 @@
+package com.jpmorgan.reactdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for generation jobs that write their output to local disk (application.output.*)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.output")
+public class OutputProperties {
+    private String directory = System.getProperty("java.io.tmpdir") + "/tdg-output"; // Where job files are written
+    private int workerThreads = Runtime.getRuntime().availableProcessors(); // Parallel chunk workers
+    private int chunkRows = 8192; // Rows generated and written per work unit
+    private int maxJobRows = 50_000_000;
+    private int compressionLevel = 6; // Deflate level used when a request doesn't set one
+    private int parallelCompressionMinRows = 200_000; // Row count from which compression is block-parallel
+    private int compressionBlockSize = 1024 * 1024; // Uncompressed bytes per parallel compression block
+    private int parquetRowGroupRows = 131_072; // Rows buffered per Parquet row group
+}
@@ -0,0 +1,16 @@
+package com.jpmorgan.reactdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for uploaded reference tables used by lookup() (application.reference-tables.*)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.reference-tables")
+public class ReferenceTableProperties {
+    private String directory = System.getProperty("java.io.tmpdir") + "/tdg-reference-tables"; // Where uploads are stored
+    private long maxUploadBytes = 512L * 1024 * 1024; // Tables are held in memory, unlike dictionaries
+}
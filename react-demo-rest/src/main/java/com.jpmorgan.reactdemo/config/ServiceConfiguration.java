@@ -14,6 +14,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class ServiceConfiguration {
@@ -40,4 +42,21 @@ public class ServiceConfiguration {
                 expressionEvaluator
         );
     }
+
+    /**
+     * Workers that generate and write chunks of a job in parallel
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService generationExecutor(OutputProperties outputProperties) {
+        return Executors.newFixedThreadPool(Math.max(1, outputProperties.getWorkerThreads()));
+    }
+
+    /**
+     * Runs submitted jobs; kept separate from the chunk workers so that a job waiting
+     * on its chunks can never starve them of threads
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor() {
+        return Executors.newCachedThreadPool();
+    }
 }
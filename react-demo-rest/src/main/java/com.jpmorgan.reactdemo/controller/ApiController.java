@@ -1,9 +1,21 @@
 package com.jpmorgan.reactdemo.controller;
 
+import com.jpmorgan.reactdemo.config.OutputProperties;
 import com.jpmorgan.reactdemo.dto.*;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.job.GenerationJob;
+import com.jpmorgan.reactdemo.output.RecordWriterFactory;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodec;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodecRegistry;
+import com.jpmorgan.reactdemo.service.DataExportService;
 import com.jpmorgan.reactdemo.service.DataGenerationService;
+import com.jpmorgan.reactdemo.service.DictionaryService;
 import com.jpmorgan.reactdemo.service.EnhancedDataGenerationService;
+import com.jpmorgan.reactdemo.service.GenerationJobService;
+import com.jpmorgan.reactdemo.service.ReferenceTableService;
 import com.jpmorgan.reactdemo.service.SchemaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -13,11 +25,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
@@ -27,11 +44,36 @@ public class ApiController {
     private static final Logger log = LoggerFactory.getLogger(ApiController.class);
     private final DataGenerationService dataGenerationService; // This will be the enhanced service
     private final SchemaService schemaService;
+    private final GenerationJobService generationJobService;
+    private final OutputProperties outputProperties;
+    private final FileDownloadHandler fileDownloadHandler;
+    private final DataExportService dataExportService;
+    private final RecordWriterFactory recordWriterFactory;
+    private final CompressionCodecRegistry compressionCodecs;
+    private final DictionaryService dictionaryService;
+    private final ReferenceTableService referenceTableService;
 
     @Autowired
-    public ApiController(@Qualifier("enhancedDataGenerationService") DataGenerationService dataGenerationService, SchemaService schemaService) {
+    public ApiController(@Qualifier("enhancedDataGenerationService") DataGenerationService dataGenerationService,
+            SchemaService schemaService,
+            GenerationJobService generationJobService,
+            OutputProperties outputProperties,
+            FileDownloadHandler fileDownloadHandler,
+            DataExportService dataExportService,
+            RecordWriterFactory recordWriterFactory,
+            CompressionCodecRegistry compressionCodecs,
+            DictionaryService dictionaryService,
+            ReferenceTableService referenceTableService) {
         this.dataGenerationService = dataGenerationService;
         this.schemaService = schemaService;
+        this.generationJobService = generationJobService;
+        this.outputProperties = outputProperties;
+        this.fileDownloadHandler = fileDownloadHandler;
+        this.dataExportService = dataExportService;
+        this.recordWriterFactory = recordWriterFactory;
+        this.compressionCodecs = compressionCodecs;
+        this.dictionaryService = dictionaryService;
+        this.referenceTableService = referenceTableService;
     }
 
     @GetMapping("/datatypes")
@@ -39,65 +81,77 @@ public class ApiController {
         return ResponseEntity.ok(dataGenerationService.getSupportedDataTypes());
     }
 
+    /**
+     * Stream generated data as a download. The response is compressed in transit when the client
+     * sends Accept-Encoding; a request that names a compression gets a compressed file instead.
+     * A request listing several formats gets one ZIP archive with an entry per format.
+     */
     @PostMapping("/generate")
-    public ResponseEntity<String> generateData(@RequestBody GenerationRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateData(@RequestBody GenerationRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             log.info("Received generation request: {} rows, format {}", request.getRowCount(), request.getFormat());
 
             // Validation
             if (request.getSchema() == null || request.getSchema().isEmpty()) {
-                return ResponseEntity.badRequest().body("Schema cannot be empty.");
+                return errorResponse(HttpStatus.BAD_REQUEST, "Schema cannot be empty.");
             }
             if (request.getRowCount() <= 0 || request.getRowCount() > 100000) {
-                return ResponseEntity.badRequest().body("Row count must be between 1 and 100,000.");
+                return errorResponse(HttpStatus.BAD_REQUEST, "Row count must be between 1 and 100,000.");
+            }
+            if (request.getFormat() == null && !dataExportService.isArchive(request)) {
+                return errorResponse(HttpStatus.BAD_REQUEST, "Format is required.");
+            }
+
+            CompiledSchema compiled = dataExportService.prepare(request);
+
+            if (dataExportService.isArchive(request)) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.parseMediaType(DataExportService.ARCHIVE_MEDIA_TYPE));
+                headers.setContentDispositionFormData("attachment", DataExportService.ARCHIVE_FILE_NAME);
+                StreamingResponseBody body = out -> dataExportService.exportArchive(request, compiled, out);
+                return new ResponseEntity<>(body, headers, HttpStatus.OK);
             }
 
-            // Generate data using enhanced service
-            String generatedData = dataGenerationService.generateData(request);
+            Optional<CompressionCodec> fileCodec = compressionCodecs.find(request.getCompression());
+            Optional<CompressionCodec> transferCodec = request.getCompression() == null
+                    ? compressionCodecs.negotiate(acceptEncoding)
+                    : Optional.empty();
 
             // Setup response headers
             HttpHeaders headers = new HttpHeaders();
-            String filename = "generated_data." + request.getFormat().toLowerCase();
-            MediaType mediaType;
-
-            switch (request.getFormat().toUpperCase()) {
-                case "CSV":
-                    mediaType = MediaType.parseMediaType("text/csv");
-                    break;
-                case "JSON":
-                    mediaType = MediaType.APPLICATION_JSON;
-                    break;
-                case "XML":
-                    mediaType = MediaType.APPLICATION_XML;
-                    break;
-                case "SQL":
-                    mediaType = MediaType.parseMediaType("application/sql");
-                    filename = "generated_data.sql";
-                    break;
-                case "PLAINTEXT":
-                    mediaType = MediaType.TEXT_PLAIN;
-                    filename = "generated_data.txt";
-                    break;
-                default:
-                    mediaType = MediaType.TEXT_PLAIN;
-            }
+            String format = request.getFormat().toUpperCase();
+            String filename = "generated_data." + recordWriterFactory.fileExtension(format);
 
-            headers.setContentType(mediaType);
+            if (fileCodec.isPresent()) {
+                filename += "." + fileCodec.get().getFileExtension();
+                headers.setContentType(MediaType.parseMediaType(fileCodec.get().getMediaType()));
+            } else {
+                headers.setContentType(MediaType.parseMediaType(recordWriterFactory.contentType(format)));
+            }
+            transferCodec.ifPresent(codec -> headers.set(HttpHeaders.CONTENT_ENCODING, codec.getName()));
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
             headers.setContentDispositionFormData("attachment", filename);
 
-            log.info("Successfully generated {} bytes in {} format", generatedData.length(), request.getFormat());
-            return new ResponseEntity<>(generatedData, headers, HttpStatus.OK);
+            CompressionCodec codec = fileCodec.or(() -> transferCodec).orElse(null);
+            StreamingResponseBody body = out -> dataExportService.export(request, compiled, out, codec);
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
 
         } catch (IllegalArgumentException e) {
             log.warn("Bad request during data generation: {}", e.getMessage());
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, "Error: " + e.getMessage());
         } catch (Exception e) {
             log.error("Error generating data", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("An internal error occurred during data generation: " + e.getMessage());
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "An internal error occurred during data generation: " + e.getMessage());
         }
     }
 
+    private ResponseEntity<StreamingResponseBody> errorResponse(HttpStatus status, String message) {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN).body(out -> out.write(body));
+    }
+
     @PostMapping("/generate/preview")
     public ResponseEntity<List<Map<String, Object>>> generatePreviewData(@RequestBody GenerationRequest request) {
         try {
@@ -140,6 +194,92 @@ public class ApiController {
         }
     }
 
+    @PostMapping("/jobs")
+    public ResponseEntity<GenerationJob> submitJob(@RequestBody GenerationRequest request) {
+        log.info("Received job request: {} rows, format {}", request.getRowCount(), request.getFormat());
+
+        // Validation
+        if (request.getSchema() == null || request.getSchema().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Schema cannot be empty.");
+        }
+        if (request.getFormat() == null && !dataExportService.isArchive(request)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format is required.");
+        }
+        if (request.getRowCount() <= 0 || request.getRowCount() > outputProperties.getMaxJobRows()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Row count must be between 1 and " + outputProperties.getMaxJobRows() + ".");
+        }
+
+        try {
+            GenerationJob job = generationJobService.submit(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad job request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error submitting job", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error submitting job", e);
+        }
+    }
+
+    /**
+     * Queue a job generating several related tables, delivered as a ZIP archive with a file per table
+     */
+    @PostMapping("/jobs/tables")
+    public ResponseEntity<GenerationJob> submitTablesJob(@RequestBody MultiTableGenerationRequest request) {
+        log.info("Received multi-table job request: {} tables, format {}",
+                request.getTables() != null ? request.getTables().size() : 0, request.getFormat());
+        try {
+            GenerationJob job = generationJobService.submitTables(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad multi-table job request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error submitting multi-table job", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error submitting job", e);
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<GenerationJob> getJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(generationJobService.getJob(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found", e);
+        }
+    }
+
+    @RequestMapping(value = "/jobs/{id}/download", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadJobOutput(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            GenerationJob job = generationJobService.getJob(id);
+            Path output = generationJobService.getCompletedOutput(id);
+            fileDownloadHandler.serve(output, job.getFingerprint(), job.getContentType(), job.getFileName(),
+                    request, response);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found", e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error downloading output of job {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error downloading job output", e);
+        }
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String id) {
+        try {
+            generationJobService.deleteJob(id);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found", e);
+        } catch (Exception e) {
+            log.error("Error deleting job with ID: {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting job", e);
+        }
+    }
+
     @PostMapping("/schemas")
     public ResponseEntity<SchemaDefinitionDto> saveSchema(@RequestBody SchemaDefinitionDto schemaDto) {
         try {
@@ -187,4 +327,153 @@ public class ApiController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error retrieving schema", e);
         }
     }
+
+    @PostMapping("/table-schemas")
+    public ResponseEntity<MultiTableSchemaDto> saveMultiTableSchema(@RequestBody MultiTableSchemaDto schemaDto) {
+        try {
+            MultiTableSchemaDto savedSchema = schemaService.saveMultiTableSchema(schemaDto);
+            log.info("Saved multi-table schema with ID: {}", savedSchema.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedSchema);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error saving multi-table schema", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error saving schema", e);
+        }
+    }
+
+    @GetMapping("/table-schemas")
+    public ResponseEntity<List<SchemaSummaryDto>> getAllMultiTableSchemaSummaries() {
+        return ResponseEntity.ok(schemaService.getAllMultiTableSchemaSummaries());
+    }
+
+    @GetMapping("/table-schemas/{id}")
+    public ResponseEntity<MultiTableSchemaDto> getMultiTableSchema(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(schemaService.getMultiTableSchema(id));
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Schema not found", e);
+        } catch (Exception e) {
+            log.error("Error retrieving multi-table schema with ID: {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error retrieving schema", e);
+        }
+    }
+
+    @DeleteMapping("/table-schemas/{id}")
+    public ResponseEntity<Void> deleteMultiTableSchema(@PathVariable Long id) {
+        try {
+            schemaService.deleteMultiTableSchema(id);
+            return ResponseEntity.noContent().build();
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Schema not found", e);
+        } catch (Exception e) {
+            log.error("Error deleting multi-table schema with ID: {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting schema", e);
+        }
+    }
+
+    /**
+     * Upload a newline-delimited dictionary file as the request body, for Custom.dictionary fields
+     */
+    @PostMapping("/dictionaries")
+    public ResponseEntity<DictionaryInfo> uploadDictionary(@RequestParam(required = false) String name,
+            HttpServletRequest request) {
+        try {
+            DictionaryInfo dictionary = dictionaryService.upload(request.getInputStream(), name);
+            return ResponseEntity.status(HttpStatus.CREATED).body(dictionary);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad dictionary upload: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error storing dictionary", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error storing dictionary", e);
+        }
+    }
+
+    @GetMapping("/dictionaries")
+    public ResponseEntity<List<DictionaryInfo>> getDictionaries() {
+        try {
+            return ResponseEntity.ok(dictionaryService.listDictionaries());
+        } catch (Exception e) {
+            log.error("Error listing dictionaries", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error listing dictionaries", e);
+        }
+    }
+
+    @GetMapping("/dictionaries/{id}")
+    public ResponseEntity<DictionaryInfo> getDictionary(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(dictionaryService.getInfo(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dictionary not found", e);
+        } catch (Exception e) {
+            log.error("Error reading dictionary {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading dictionary", e);
+        }
+    }
+
+    @DeleteMapping("/dictionaries/{id}")
+    public ResponseEntity<Void> deleteDictionary(@PathVariable String id) {
+        try {
+            dictionaryService.deleteDictionary(id);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dictionary not found", e);
+        } catch (Exception e) {
+            log.error("Error deleting dictionary {}", id, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting dictionary", e);
+        }
+    }
+
+    /**
+     * Upload a CSV reference table as the request body, for the lookup() expression function. The first
+     * row names the columns and the first column is the key. Uploading to an existing name replaces it.
+     */
+    @PutMapping("/reference-tables/{name}")
+    public ResponseEntity<ReferenceTableInfo> uploadReferenceTable(@PathVariable String name, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(referenceTableService.upload(name, request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad reference table upload: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error storing reference table {}", name, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error storing reference table", e);
+        }
+    }
+
+    @GetMapping("/reference-tables")
+    public ResponseEntity<List<ReferenceTableInfo>> getReferenceTables() {
+        try {
+            return ResponseEntity.ok(referenceTableService.listTables());
+        } catch (Exception e) {
+            log.error("Error listing reference tables", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error listing reference tables", e);
+        }
+    }
+
+    @GetMapping("/reference-tables/{name}")
+    public ResponseEntity<ReferenceTableInfo> getReferenceTable(@PathVariable String name) {
+        try {
+            return ResponseEntity.ok(referenceTableService.getInfo(name));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reference table not found", e);
+        } catch (Exception e) {
+            log.error("Error reading reference table {}", name, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading reference table", e);
+        }
+    }
+
+    @DeleteMapping("/reference-tables/{name}")
+    public ResponseEntity<Void> deleteReferenceTable(@PathVariable String name) {
+        try {
+            referenceTableService.deleteTable(name);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reference table not found", e);
+        } catch (Exception e) {
+            log.error("Error deleting reference table {}", name, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting reference table", e);
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package com.jpmorgan.reactdemo.dictionary;
+
+import com.github.javafaker.service.RandomService;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A newline-delimited UTF-8 file of values, memory-mapped and indexed once by the offset of each value.
+ * Values stay in the file: the heap only holds 4 bytes per value, so dictionaries much larger than the
+ * heap work, and looking up value i is an offset read plus a decode of its bytes.
+ *
+ * The file is mapped in segments of at most {@link #SEGMENT_BYTES} that end on line boundaries, with
+ * offsets relative to their segment. Blank lines are skipped and a trailing '\r' is dropped. Thread-safe.
+ */
+public final class MappedDictionary {
+
+    static final int SEGMENT_BYTES = 1 << 30;
+
+    private final Segment[] segments;
+    private final int[] segmentFirstValues; // Index of the first value of each segment, ascending
+    private final int size;
+    private final long sizeBytes;
+
+    private record Segment(MappedByteBuffer bytes, int[] offsets) {
+    }
+
+    private MappedDictionary(Segment[] segments, int[] segmentFirstValues, int size, long sizeBytes) {
+        this.segments = segments;
+        this.segmentFirstValues = segmentFirstValues;
+        this.size = size;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Map and index a file. The file must not change while the dictionary is in use.
+     * @throws IllegalArgumentException if the file has no values or a line longer than a segment
+     */
+    public static MappedDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            List<Segment> segments = new ArrayList<>();
+            List<Integer> firstValues = new ArrayList<>();
+            long total = 0;
+
+            long position = 0;
+            while (position < fileSize) {
+                int length = (int) Math.min(SEGMENT_BYTES, fileSize - position);
+                boolean last = position + length == fileSize;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                OffsetList offsets = new OffsetList();
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (bytes.get(i) == '\n') {
+                        offsets.addLine(bytes, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                int end = length;
+                if (last) {
+                    offsets.addLine(bytes, lineStart, length);
+                } else if (lineStart == 0) {
+                    throw new IllegalArgumentException("Dictionary lines must be shorter than " + SEGMENT_BYTES + " bytes.");
+                } else {
+                    end = lineStart; // The unfinished line starts the next segment
+                }
+                bytes.limit(end);
+
+                if (offsets.size > 0) {
+                    total += offsets.size;
+                    if (total > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Dictionaries can hold at most " + Integer.MAX_VALUE + " values.");
+                    }
+                    firstValues.add((int) (total - offsets.size));
+                    segments.add(new Segment(bytes, offsets.toArray()));
+                }
+                position += end;
+            }
+
+            if (total == 0) {
+                throw new IllegalArgumentException("Dictionary file has no values.");
+            }
+            return new MappedDictionary(segments.toArray(new Segment[0]),
+                    firstValues.stream().mapToInt(Integer::intValue).toArray(), (int) total, fileSize);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String sample(RandomService random) {
+        return get(random.nextInt(size));
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int s = segmentFirstValues.length == 1 ? 0 : segmentOf(index);
+        Segment segment = segments[s];
+        MappedByteBuffer bytes = segment.bytes();
+        int start = segment.offsets()[index - segmentFirstValues[s]];
+
+        int end = start;
+        while (end < bytes.limit() && bytes.get(end) != '\n') {
+            end++;
+        }
+        if (end > start && bytes.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] value = new byte[end - start];
+        bytes.get(start, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int segmentOf(int index) {
+        int found = Arrays.binarySearch(segmentFirstValues, index);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * Growable list of the offsets of the non-blank lines of a segment
+     */
+    private static final class OffsetList {
+        private int[] offsets = new int[1024];
+        private int size;
+
+        void addLine(MappedByteBuffer bytes, int start, int end) {
+            boolean blank = end == start || end == start + 1 && bytes.get(start) == '\r';
+            if (blank) {
+                return;
+            }
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[size++] = start;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(offsets, size);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jpmorgan.reactdemo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * An uploaded dictionary, used by Custom.dictionary fields through its id
+ */
+@Data
+public class DictionaryInfo {
+    private String id;
+    private String name; // Optional, given at upload
+    private int valueCount;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+}
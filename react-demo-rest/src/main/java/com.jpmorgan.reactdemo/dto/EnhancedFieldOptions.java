@@ -1,6 +1,7 @@
 package com.jpmorgan.reactdemo.dto;
 
 import com.jpmorgan.reactdemo.formatting.FieldFormattingOptions;
+import com.jpmorgan.reactdemo.formatting.enums.NullRepresentation;
 import lombok.Data;
 
 @Data
@@ -9,4 +10,6 @@ public class EnhancedFieldOptions {
     private Object baseOptions;        // Original options (can be String or complex object)
     private FieldFormattingOptions formatting;
     private DependencyConfig dependency;
+    private Double nullRate;           // Probability in [0, 1] that a cell is null
+    private NullRepresentation nullAs; // How null cells are written; NULL by default
 }
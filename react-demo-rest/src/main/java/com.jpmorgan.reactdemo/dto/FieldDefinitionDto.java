@@ -2,11 +2,14 @@ package com.jpmorgan.reactdemo.dto;
 
 import lombok.Data;
 
+import java.util.List;
+
 // DTO to decouple API from JPA Entity
 @Data
 public class FieldDefinitionDto {
     private String name;
     private String dataType;
     private String options;
+    private List<FieldDefinitionDto> fields; // Child fields of Nested.object and Nested.array fields
     // No 'id' or 'schemaDefinition' needed for generation request
 }
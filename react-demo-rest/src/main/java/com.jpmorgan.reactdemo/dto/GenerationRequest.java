@@ -7,7 +7,11 @@ import java.util.List;
 public class GenerationRequest {
     private List<FieldDefinitionDto> schema; // Use DTOs for incoming requests
     private int rowCount;
-    private String format; // "CSV", "JSON", "SQL", "XML", "PLAINTEXT"
+    private String format; // "CSV", "JSON", "SQL", "XML", "PLAINTEXT", "FIXEDWIDTH", "PARQUET"
+    private List<String> formats; // Optional: several formats of the same rows, delivered as one ZIP archive
     private String tableName; // Optional: Needed for SQL format
     private String schemaFormattingRules; //JSON string for schema-level rules
+    private String compression; // Optional: "gzip", "deflate" or "none"; produces a compressed file
+    private Integer compressionLevel; // Optional: 1-9, defaults to application.output.compression-level
+    private Boolean parallelCompression; // Optional: defaults to on for large outputs
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.jpmorgan.reactdemo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Several related tables generated together, with Key.foreign fields referencing the Key.primary field of
+ * another table by name. The output is a ZIP archive with one file per table.
+ */
+@Data
+public class MultiTableGenerationRequest {
+    private List<TableDefinitionDto> tables;
+    private String format; // Format of every table's file, as in GenerationRequest
+    private Long seed; // Optional: shuffles the primary keys of every table that does not set its own seed
+}
@@ -0,0 +1,14 @@
+package com.jpmorgan.reactdemo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// DTO for saved multi-table schemas
+@Data
+public class MultiTableSchemaDto {
+    private Long id;
+    private String name;
+    private List<TableDefinitionDto> tables;
+    private String shareLink;
+}
@@ -0,0 +1,18 @@
+package com.jpmorgan.reactdemo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An uploaded reference table, read by the lookup() expression function through its name
+ */
+@Data
+public class ReferenceTableInfo {
+    private String name;
+    private List<String> columns; // The first column is the key
+    private int rowCount;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+}
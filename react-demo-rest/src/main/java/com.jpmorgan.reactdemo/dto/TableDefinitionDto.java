@@ -0,0 +1,16 @@
+package com.jpmorgan.reactdemo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One table of a multi-table request or saved schema
+ */
+@Data
+public class TableDefinitionDto {
+    private String name; // Also names the table's file in the output archive, and its SQL table
+    private int rowCount;
+    private List<FieldDefinitionDto> schema;
+    private String schemaFormattingRules; // Optional: JSON string for schema-level rules
+}
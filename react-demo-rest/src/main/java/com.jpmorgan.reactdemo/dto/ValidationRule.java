@@ -1,5 +1,6 @@
 package com.jpmorgan.reactdemo.dto;
 
+import com.jpmorgan.reactdemo.formatting.enums.ValidationFailureAction;
 import lombok.Data;
 import java.util.List;
 
@@ -9,4 +10,6 @@ public class ValidationRule {
     private Integer maxLength;
     private String pattern; // Regex pattern for validation
     private List<String> customRules; // e.g., "not_empty", "no_spaces", "alphanumeric"
+    private Integer maxRetries; // Regenerate a failing value up to this many times (default 0)
+    private ValidationFailureAction onFailure; // When retries are used up (default MARK)
 }
@@ -39,6 +39,17 @@ public class DependencyResolver {
         return sortedFields;
     }
 
+    /**
+     * Names of the fields that other fields read, through expressions or explicit dependencies
+     */
+    public Set<String> findReferencedFields(List<FieldDefinitionDto> schema) {
+        Set<String> referenced = new HashSet<>();
+        for (FieldDefinitionDto field : schema) {
+            referenced.addAll(extractFieldDependencies(field));
+        }
+        return referenced;
+    }
+
     /**
      * Build a dependency graph from the schema
      */
@@ -2,6 +2,8 @@ package com.jpmorgan.reactdemo.expression;
 
 import com.github.javafaker.Faker;
 import com.jpmorgan.reactdemo.expression.functions.*;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.service.ReferenceTableService;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
@@ -18,8 +20,13 @@ public class ExpressionEvaluator {
     private static final Pattern FIELD_REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
     private static final Pattern FUNCTION_PATTERN = Pattern.compile("(\\w+)\\(([^)]*)\\)");
 
+    private final ReferenceTableService referenceTableService;
     private Map<String, ExpressionFunction> functions;
 
+    public ExpressionEvaluator(ReferenceTableService referenceTableService) {
+        this.referenceTableService = referenceTableService;
+    }
+
     @PostConstruct
     public void initializeFunctions() {
         functions = new HashMap<>();
@@ -37,6 +44,7 @@ public class ExpressionEvaluator {
         registerFunction(new FormatDateFunction());
         registerFunction(new RandomChoiceFunction());
         registerFunction(new ConditionalFunction());
+        registerFunction(new LookupFunction(referenceTableService));
 
         log.info("Initialized {} expression functions", functions.size());
     }
@@ -114,14 +122,14 @@ public class ExpressionEvaluator {
             Map<String, Object> rowContext,
             Map<String, Object> generationContext) {
 
-        // Check row context first (field values)
-        Object value = rowContext.get(fieldReference);
-        if (value != null) {
-            return value.toString();
+        // Check row context first (field values, typed when unformatted; null cells are empty)
+        if (rowContext.containsKey(fieldReference)) {
+            Object value = rowContext.get(fieldReference);
+            return value != null ? ValueFormats.DEFAULT.toText(value) : "";
         }
 
         // Check generation context (metadata)
-        value = generationContext.get(fieldReference);
+        Object value = generationContext.get(fieldReference);
         if (value != null) {
             return value.toString();
         }
@@ -23,7 +23,7 @@ public class ExpressionParser {
     private static final Set<String> KNOWN_FUNCTIONS = Set.of(
             "randomnumber", "substring", "uppercase", "lowercase", "replace",
             "concat", "length", "padleft", "padright", "formatdate",
-            "randomchoice", "conditional"
+            "randomchoice", "conditional", "lookup"
     );
 
     /**
@@ -318,6 +318,12 @@ public class ExpressionParser {
                     errors.add("formatDate requires 1 or 2 parameters ([value,] format)");
                 }
                 break;
+
+            case "lookup":
+                if (paramCount != 3) {
+                    errors.add("lookup requires exactly 3 parameters (table, key, column)");
+                }
+                break;
         }
     }
 
@@ -1,6 +1,7 @@
 package com.jpmorgan.reactdemo.expression.functions;
 
 import com.jpmorgan.reactdemo.expression.ExpressionEvaluator;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import com.github.javafaker.Faker;
@@ -41,7 +42,7 @@ public class FunctionExecutionContext {
      */
     public String getFieldValue(String fieldName) {
         Object value = rowContext.get(fieldName);
-        return value != null ? value.toString() : "";
+        return value != null ? ValueFormats.DEFAULT.toText(value) : "";
     }
 
     /**
@@ -66,10 +67,10 @@ public class FunctionExecutionContext {
     /**
      * Check if a field exists in the row context
      * @param fieldName name of the field to check
-     * @return true if field exists and has a value
+     * @return true if field exists, even if its cell is null
      */
     public boolean hasField(String fieldName) {
-        return rowContext.containsKey(fieldName) && rowContext.get(fieldName) != null;
+        return rowContext.containsKey(fieldName);
     }
 
     /**
@@ -0,0 +1,91 @@
+package com.jpmorgan.reactdemo.expression.functions;
+
+import com.jpmorgan.reactdemo.reference.ReferenceTable;
+import com.jpmorgan.reactdemo.service.ReferenceTableService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Looks up a value in an uploaded reference table by key, the table's first column
+ * Usage: lookup(table, key, column), e.g. lookup('branches', ${branchId}, 'region')
+ * Returns an empty string when no row has the key.
+ */
+public class LookupFunction implements ExpressionFunction {
+
+    private final ReferenceTableService referenceTableService;
+
+    public LookupFunction(ReferenceTableService referenceTableService) {
+        this.referenceTableService = referenceTableService;
+    }
+
+    @Override
+    public String getName() {
+        return "lookup";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Looks up a column of the row of an uploaded reference table that has the given key";
+    }
+
+    @Override
+    public String getUsage() {
+        return "lookup(table, key, column)";
+    }
+
+    @Override
+    public int getMinParameters() {
+        return 3;
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 3;
+    }
+
+    @Override
+    public String execute(List<String> parameters, FunctionExecutionContext context) throws IllegalArgumentException {
+        if (parameters.size() != 3) {
+            throw new IllegalArgumentException("lookup requires exactly 3 parameters: table, key, column");
+        }
+
+        String key = parameters.get(1);
+        if (context.hasField(key)) {
+            key = context.getFieldValue(key);
+        }
+        String value = table(parameters.get(0)).lookup(key, parameters.get(2));
+        return value != null ? value : "";
+    }
+
+    @Override
+    public List<String> validateParameters(List<String> parameters) {
+        List<String> errors = new ArrayList<>();
+        if (parameters.size() != 3) {
+            errors.add("lookup requires exactly 3 parameters: table, key, column");
+            return errors;
+        }
+        try {
+            ReferenceTable table = table(parameters.get(0));
+            if (table.columnIndex(parameters.get(2)) < 0) {
+                errors.add("Reference table '" + parameters.get(0) + "' has no column '" + parameters.get(2) + "'");
+            }
+        } catch (IllegalArgumentException e) {
+            errors.add(e.getMessage());
+        }
+        return errors;
+    }
+
+    private ReferenceTable table(String name) {
+        try {
+            return referenceTableService.getTable(name);
+        } catch (NoSuchElementException e) {
+            throw new IllegalArgumentException("Unknown reference table '" + name + "'");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read reference table " + name, e);
+        }
+    }
+}
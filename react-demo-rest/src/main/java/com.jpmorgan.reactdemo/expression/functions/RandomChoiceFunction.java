@@ -1,13 +1,23 @@
 package com.jpmorgan.reactdemo.expression.functions;
 
+import com.jpmorgan.reactdemo.util.WeightedChoice;
+
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Randomly chooses one value from a list of options
- * Usage: randomChoice(option1, option2, option3, ...)
+ * Randomly chooses one value from a list of options, uniformly or in proportion to their weights
+ * Usage: randomChoice(option1, option2, option3, ...) or randomChoice('A':70, 'B':25, 'C':5)
+ * The options of each distinct call are parsed into an alias table once and then sampled in constant time.
  */
 public class RandomChoiceFunction implements ExpressionFunction {
 
+    // Calls whose options embed field values differ from row to row, so only so many are kept
+    private static final int MAX_CACHED_CHOICES = 256;
+
+    private final Map<List<String>, WeightedChoice> choices = new ConcurrentHashMap<>();
+
     @Override
     public String getName() {
         return "randomChoice";
@@ -15,12 +25,12 @@ public class RandomChoiceFunction implements ExpressionFunction {
 
     @Override
     public String getDescription() {
-        return "Randomly selects one value from the provided options";
+        return "Randomly selects one value from the provided options, optionally weighted";
     }
 
     @Override
     public String getUsage() {
-        return "randomChoice(option1, option2, option3, ...)";
+        return "randomChoice(option1, option2, option3, ...) or randomChoice('A':70, 'B':25, 'C':5)";
     }
 
     @Override
@@ -39,12 +49,30 @@ public class RandomChoiceFunction implements ExpressionFunction {
             throw new IllegalArgumentException("randomChoice requires at least 2 options");
         }
 
-        // Resolve field references in parameters
-        List<String> resolvedOptions = parameters.stream()
-                .map(param -> context.hasField(param) ? context.getFieldValue(param) : param)
-                .toList();
+        String option = choice(parameters).sample(context.getFaker().random());
+
+        // Resolve a field reference only for the option picked
+        return context.hasField(option) ? context.getFieldValue(option) : option;
+    }
+
+    @Override
+    public List<String> validateParameters(List<String> parameters) {
+        try {
+            WeightedChoice.parse(parameters);
+            return List.of();
+        } catch (IllegalArgumentException e) {
+            return List.of(e.getMessage());
+        }
+    }
 
-        int randomIndex = context.getFaker().number().numberBetween(0, resolvedOptions.size());
-        return resolvedOptions.get(randomIndex);
+    private WeightedChoice choice(List<String> parameters) {
+        WeightedChoice choice = choices.get(parameters);
+        if (choice == null) {
+            choice = WeightedChoice.parse(parameters);
+            if (choices.size() < MAX_CACHED_CHOICES) {
+                choices.put(List.copyOf(parameters), choice);
+            }
+        }
+        return choice;
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import com.jpmorgan.reactdemo.formatting.enums.CaseTransform;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Case transformations that append their result to a caller-owned buffer.
+ * UPPER, LOWER, TITLE, SNAKE and KEBAB have an ASCII fast path that works char by char without
+ * intermediate Strings; values with non-ASCII characters take the String-based path, so results
+ * are the same as String.toUpperCase()/toLowerCase() and the regex-based conversions.
+ */
+final class CaseTransformer {
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    // Turkish and Azeri map i/I differently, so ASCII case mapping only matches String's elsewhere
+    private static final boolean ASCII_FAST_PATH =
+            !Set.of("tr", "az").contains(Locale.getDefault().getLanguage());
+
+    // Character.isWhitespace for ASCII
+    private static final boolean[] ASCII_WHITESPACE = new boolean[128];
+    // \s in java.util.regex (no UNICODE_CHARACTER_CLASS)
+    private static final boolean[] REGEX_WHITESPACE = new boolean[128];
+
+    static {
+        for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r', '\u001C', '\u001D', '\u001E', '\u001F'}) {
+            ASCII_WHITESPACE[c] = true;
+        }
+        for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+            REGEX_WHITESPACE[c] = true;
+        }
+    }
+
+    private CaseTransformer() {
+    }
+
+    static void append(CharSequence value, CaseTransform caseTransform, StringBuilder out) {
+        if (value.length() == 0) {
+            return;
+        }
+
+        switch (caseTransform) {
+            case UPPER -> {
+                if (ASCII_FAST_PATH) {
+                    appendUpper(value, out);
+                } else {
+                    out.append(value.toString().toUpperCase());
+                }
+            }
+            case LOWER -> {
+                if (ASCII_FAST_PATH) {
+                    appendLower(value, out);
+                } else {
+                    out.append(value.toString().toLowerCase());
+                }
+            }
+            case TITLE -> appendTitle(value, out);
+            case CAMEL -> out.append(toCamelCase(value.toString()));
+            case PASCAL -> out.append(toPascalCase(value.toString()));
+            case SNAKE -> appendSeparated(value, "_", out);
+            case KEBAB -> appendSeparated(value, "-", out);
+            default -> out.append(value);
+        }
+    }
+
+    private static void appendUpper(CharSequence value, StringBuilder out) {
+        int start = out.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 128) {
+                out.setLength(start);
+                out.append(value.toString().toUpperCase());
+                return;
+            }
+            out.append(c >= 'a' && c <= 'z' ? (char) (c - 32) : c);
+        }
+    }
+
+    private static void appendLower(CharSequence value, StringBuilder out) {
+        int start = out.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 128) {
+                out.setLength(start);
+                out.append(value.toString().toLowerCase());
+                return;
+            }
+            out.append(toLowerAscii(c));
+        }
+    }
+
+    /**
+     * Title Case (First Letter Of Each Word Capitalized); works per char, so non-ASCII needs no fallback
+     */
+    private static void appendTitle(CharSequence value, StringBuilder out) {
+        boolean capitalizeNext = true;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean ascii = c < 128;
+            if (ascii ? ASCII_WHITESPACE[c] : Character.isWhitespace(c)) {
+                out.append(c);
+                capitalizeNext = true;
+            } else if (capitalizeNext) {
+                out.append(ascii ? (c >= 'a' && c <= 'z' ? (char) (c - 32) : c) : Character.toUpperCase(c));
+                capitalizeNext = false;
+            } else {
+                out.append(ascii ? toLowerAscii(c) : Character.toLowerCase(c));
+            }
+        }
+    }
+
+    /**
+     * snake_case / kebab-case: trim, lower-case, and replace each whitespace run with the separator
+     */
+    private static void appendSeparated(CharSequence value, String separator, StringBuilder out) {
+        if (!ASCII_FAST_PATH) {
+            out.append(WHITESPACE_PATTERN.matcher(value.toString().trim().toLowerCase()).replaceAll(separator));
+            return;
+        }
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int outStart = out.length();
+        boolean inWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 128) {
+                out.setLength(outStart);
+                String trimmed = value.toString().trim().toLowerCase();
+                out.append(WHITESPACE_PATTERN.matcher(trimmed).replaceAll(separator));
+                return;
+            }
+            if (REGEX_WHITESPACE[c]) {
+                if (!inWhitespace) {
+                    out.append(separator);
+                    inWhitespace = true;
+                }
+            } else {
+                out.append(toLowerAscii(c));
+                inWhitespace = false;
+            }
+        }
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+    }
+
+    /**
+     * Convert to camelCase
+     */
+    private static String toCamelCase(String value) {
+        String[] words = WHITESPACE_PATTERN.split(value.trim());
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i].toLowerCase();
+            if (i == 0) {
+                result.append(word);
+            } else if (!word.isEmpty()) {
+                result.append(Character.toUpperCase(word.charAt(0)));
+                if (word.length() > 1) {
+                    result.append(word.substring(1));
+                }
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Convert to PascalCase
+     */
+    private static String toPascalCase(String value) {
+        String camelCase = toCamelCase(value);
+        if (camelCase.isEmpty()) {
+            return camelCase;
+        }
+        return Character.toUpperCase(camelCase.charAt(0)) + camelCase.substring(1);
+    }
+}
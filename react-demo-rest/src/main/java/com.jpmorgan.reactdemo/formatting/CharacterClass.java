@@ -0,0 +1,224 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * A set of characters, tested through a 128-entry lookup table for ASCII and a code point
+ * predicate for everything else. Built once when formatting is compiled, tested per character.
+ */
+public final class CharacterClass {
+
+    // Named classes usable in CharacterSet.allowed / forbidden
+    private static final Map<String, CharacterClass> NAMED = Map.ofEntries(
+            Map.entry("alphanumeric", of(Character::isLetterOrDigit)),
+            Map.entry("alphabetic", of(Character::isLetter)),
+            Map.entry("letters", of(Character::isLetter)),
+            Map.entry("numeric", of(Character::isDigit)),
+            Map.entry("digits", of(Character::isDigit)),
+            Map.entry("uppercase", of(Character::isUpperCase)),
+            Map.entry("lowercase", of(Character::isLowerCase)),
+            Map.entry("spaces", of(cp -> Character.isWhitespace(cp) || Character.isSpaceChar(cp))),
+            Map.entry("whitespace", of(cp -> Character.isWhitespace(cp) || Character.isSpaceChar(cp))),
+            Map.entry("punctuation", of(CharacterClass::isPunctuation)),
+            Map.entry("special", of(cp -> isSymbol(cp) && !(cp >= 128 && Character.isEmoji(cp)))),
+            Map.entry("emoji", new CharacterClass(new boolean[128], Character::isEmoji, false)), // ASCII digits, # and * are not emoji here
+            Map.entry("ascii", new CharacterClass(filled(), cp -> false, true)),
+            Map.entry("control", of(Character::isISOControl)));
+
+    private final boolean[] ascii;
+    private final IntPredicate nonAscii;
+    private final boolean asciiOnly; // known to contain no code point >= 128
+
+    private CharacterClass(boolean[] ascii, IntPredicate nonAscii, boolean asciiOnly) {
+        this.ascii = ascii;
+        this.nonAscii = nonAscii;
+        this.asciiOnly = asciiOnly;
+    }
+
+    /**
+     * A class defined by a code point predicate; the predicate is evaluated up front for ASCII
+     */
+    public static CharacterClass of(IntPredicate predicate) {
+        boolean[] table = new boolean[128];
+        for (int c = 0; c < 128; c++) {
+            table[c] = predicate.test(c);
+        }
+        return new CharacterClass(table, predicate, false);
+    }
+
+    /**
+     * Exactly the given ASCII characters
+     */
+    public static CharacterClass ascii(String characters) {
+        boolean[] table = new boolean[128];
+        for (int i = 0; i < characters.length(); i++) {
+            table[characters.charAt(i)] = true;
+        }
+        return new CharacterClass(table, cp -> false, true);
+    }
+
+    public static CharacterClass asciiRange(char from, char to) {
+        boolean[] table = new boolean[128];
+        for (char c = from; c <= to; c++) {
+            table[c] = true;
+        }
+        return new CharacterClass(table, cp -> false, true);
+    }
+
+    /**
+     * Exactly one code point
+     */
+    public static CharacterClass codePoint(int codePoint) {
+        if (codePoint < 128) {
+            return ascii(String.valueOf((char) codePoint));
+        }
+        return new CharacterClass(new boolean[128], cp -> cp == codePoint, false);
+    }
+
+    /**
+     * Code points from..to inclusive
+     */
+    public static CharacterClass range(int from, int to) {
+        boolean[] table = new boolean[128];
+        for (int c = from; c <= to && c < 128; c++) {
+            table[c] = true;
+        }
+        if (to < 128) {
+            return new CharacterClass(table, cp -> false, true);
+        }
+        return new CharacterClass(table, cp -> cp >= from && cp <= to, false);
+    }
+
+    /**
+     * Characters matched by a single-character regex such as {@code [A-Za-z -]}
+     */
+    public static CharacterClass ofPattern(Pattern pattern) {
+        return of(cp -> pattern.matcher(new String(Character.toChars(cp))).matches());
+    }
+
+    /**
+     * A named class ("alphanumeric", "spaces", "punctuation", "special", "emoji", ...), or null if unknown
+     */
+    public static CharacterClass named(String name) {
+        return name == null ? null : NAMED.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public CharacterClass or(CharacterClass other) {
+        boolean[] table = new boolean[128];
+        for (int c = 0; c < 128; c++) {
+            table[c] = ascii[c] || other.ascii[c];
+        }
+        if (asciiOnly && other.asciiOnly) {
+            return new CharacterClass(table, cp -> false, true);
+        }
+        IntPredicate first = nonAscii;
+        IntPredicate second = other.nonAscii;
+        return new CharacterClass(table, cp -> first.test(cp) || second.test(cp), false);
+    }
+
+    public CharacterClass negate() {
+        boolean[] table = new boolean[128];
+        for (int c = 0; c < 128; c++) {
+            table[c] = !ascii[c];
+        }
+        IntPredicate predicate = nonAscii;
+        return new CharacterClass(table, cp -> !predicate.test(cp), false);
+    }
+
+    /**
+     * Whether the two classes can share a character. Exact for ASCII; beyond ASCII it answers true
+     * unless one side is known to have no such characters, so callers relying on a false are safe.
+     */
+    public boolean mayIntersect(CharacterClass other) {
+        for (int c = 0; c < 128; c++) {
+            if (ascii[c] && other.ascii[c]) {
+                return true;
+            }
+        }
+        return !asciiOnly && !other.asciiOnly;
+    }
+
+    /**
+     * Whether the class is known to contain nothing beyond ASCII
+     */
+    public boolean isAsciiOnly() {
+        return asciiOnly;
+    }
+
+    public boolean contains(int codePoint) {
+        return codePoint < 128 ? ascii[codePoint] : nonAscii.test(codePoint);
+    }
+
+    /**
+     * Whether every character of the value is in this class (true for an empty value)
+     */
+    public boolean containsAll(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                if (!ascii[c]) {
+                    return false;
+                }
+                i++;
+            } else {
+                int codePoint = Character.codePointAt(value, i);
+                if (!nonAscii.test(codePoint)) {
+                    return false;
+                }
+                i += Character.charCount(codePoint);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether any character of the value is in this class
+     */
+    public boolean containsAny(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                if (ascii[c]) {
+                    return true;
+                }
+                i++;
+            } else {
+                int codePoint = Character.codePointAt(value, i);
+                if (nonAscii.test(codePoint)) {
+                    return true;
+                }
+                i += Character.charCount(codePoint);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPunctuation(int codePoint) {
+        return switch (Character.getType(codePoint)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                    Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                    Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isSymbol(int codePoint) {
+        return switch (Character.getType(codePoint)) {
+            case Character.MATH_SYMBOL, Character.CURRENCY_SYMBOL, Character.MODIFIER_SYMBOL,
+                    Character.OTHER_SYMBOL -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean[] filled() {
+        boolean[] table = new boolean[128];
+        Arrays.fill(table, true);
+        return table;
+    }
+}
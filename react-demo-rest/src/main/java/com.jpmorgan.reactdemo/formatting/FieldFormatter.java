@@ -1,334 +1,169 @@
 package com.jpmorgan.reactdemo.formatting;
 
 import com.jpmorgan.reactdemo.dto.ValidationRule;
-import com.jpmorgan.reactdemo.formatting.enums.CaseTransform;
 import com.jpmorgan.reactdemo.formatting.enums.PaddingPosition;
+import com.jpmorgan.reactdemo.formatting.schema.CharacterSet;
 import com.jpmorgan.reactdemo.formatting.enums.TruncatePosition;
+import com.jpmorgan.reactdemo.regex.SafePattern;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
 
 @Component
 @Slf4j
 public class FieldFormatter {
 
-    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
-
     /**
-     * Apply all formatting rules to a value
+     * Apply all formatting rules to a value.
+     * Compiles the options on every call; callers formatting many values should {@link #compile} once.
      */
     public String applyFormatting(String value, FieldFormattingOptions options) {
-        if (value == null) {
-            value = "";
-        }
-
-        if (options == null) {
-            return value;
-        }
-
-        String result = value;
-
-        try {
-            // Apply transformations in order:
-            // 1. Case transformation
-            result = applyCaseTransform(result, options.getCaseTransform());
-
-            // 2. Prefix and suffix
-            result = applyPrefixSuffix(result, options.getPrefix(), options.getSuffix());
-
-            // 3. Fixed length formatting (includes padding and truncation)
-            result = applyFixedLength(result, options.getFixedLength());
-
-            // 4. Maximum length constraint
-            result = applyMaxLength(result, options.getMaxLength());
-
-            // 5. Validation (if validation fails, return error marker)
-            if (!validateValue(result, options.getValidation())) {
-                log.warn("Value '{}' failed validation", result);
-                return "[VALIDATION_FAILED]";
-            }
-
-        } catch (Exception e) {
-            log.error("Error applying formatting to value '{}': {}", value, e.getMessage(), e);
-            return "[FORMAT_ERROR]";
-        }
-
-        return result;
+        return compile(options).apply(value);
     }
 
     /**
-     * Apply case transformation
+     * Turn resolved options into a pipeline that applies, in order: case transformation, prefix/suffix,
+     * fixed length (padding/truncation), maximum length and validation. Unset options cost nothing.
      */
-    private String applyCaseTransform(String value, CaseTransform caseTransform) {
-        if (caseTransform == null || value.isEmpty()) {
-            return value;
-        }
-
-        switch (caseTransform) {
-            case UPPER:
-                return value.toUpperCase();
-            case LOWER:
-                return value.toLowerCase();
-            case TITLE:
-                return toTitleCase(value);
-            case CAMEL:
-                return toCamelCase(value);
-            case PASCAL:
-                return toPascalCase(value);
-            case SNAKE:
-                return toSnakeCase(value);
-            case KEBAB:
-                return toKebabCase(value);
-            default:
-                return value;
-        }
+    public FormattingPipeline compile(FieldFormattingOptions options) {
+        return compile(options, null);
     }
 
     /**
-     * Convert to Title Case (First Letter Of Each Word Capitalized)
+     * Compile options for values whose lengths are known to lie in valueLengths (null if unknown).
+     * Length rules that every value passes are left out of the pipeline.
+     * @throws IllegalArgumentException if no value can ever pass validation
      */
-    private String toTitleCase(String value) {
-        if (value.isEmpty()) {
-            return value;
-        }
-
-        StringBuilder result = new StringBuilder();
-        boolean capitalizeNext = true;
-
-        for (char c : value.toCharArray()) {
-            if (Character.isWhitespace(c)) {
-                result.append(c);
-                capitalizeNext = true;
-            } else if (capitalizeNext) {
-                result.append(Character.toUpperCase(c));
-                capitalizeNext = false;
-            } else {
-                result.append(Character.toLowerCase(c));
-            }
-        }
-
-        return result.toString();
-    }
-
-    /**
-     * Convert to camelCase
-     */
-    private String toCamelCase(String value) {
-        if (value.isEmpty()) {
-            return value;
-        }
-
-        String[] words = WHITESPACE_PATTERN.split(value.trim());
-        StringBuilder result = new StringBuilder();
-
-        for (int i = 0; i < words.length; i++) {
-            String word = words[i].toLowerCase();
-            if (i == 0) {
-                result.append(word);
-            } else if (!word.isEmpty()) {
-                result.append(Character.toUpperCase(word.charAt(0)));
-                if (word.length() > 1) {
-                    result.append(word.substring(1));
-                }
-            }
-        }
-
-        return result.toString();
-    }
-
-    /**
-     * Convert to PascalCase
-     */
-    private String toPascalCase(String value) {
-        String camelCase = toCamelCase(value);
-        if (camelCase.isEmpty()) {
-            return camelCase;
-        }
-        return Character.toUpperCase(camelCase.charAt(0)) + camelCase.substring(1);
-    }
-
-    /**
-     * Convert to snake_case
-     */
-    private String toSnakeCase(String value) {
-        return WHITESPACE_PATTERN.matcher(value.trim().toLowerCase()).replaceAll("_");
-    }
-
-    /**
-     * Convert to kebab-case
-     */
-    private String toKebabCase(String value) {
-        return WHITESPACE_PATTERN.matcher(value.trim().toLowerCase()).replaceAll("-");
-    }
-
-    /**
-     * Apply prefix and suffix
-     */
-    private String applyPrefixSuffix(String value, String prefix, String suffix) {
-        StringBuilder result = new StringBuilder();
-
-        if (prefix != null && !prefix.isEmpty()) {
-            result.append(prefix);
-        }
-
-        result.append(value);
-
-        if (suffix != null && !suffix.isEmpty()) {
-            result.append(suffix);
-        }
-
-        return result.toString();
-    }
-
-    /**
-     * Apply fixed length formatting with padding and truncation
-     */
-    private String applyFixedLength(String value, FixedLengthConfig config) {
-        if (config == null) {
-            return value;
-        }
-
-        int targetLength = config.getLength();
-        if (targetLength <= 0) {
-            return value;
+    public FormattingPipeline compile(FieldFormattingOptions options, LengthRange valueLengths) {
+        if (options == null) {
+            return FormattingPipeline.identity();
+        }
+
+        int fixedLength = 0;
+        boolean truncateFromStart = false;
+        boolean padLeft = false;
+        char padChar = ' ';
+        FixedLengthConfig fixedLengthConfig = options.getFixedLength();
+        if (fixedLengthConfig != null && fixedLengthConfig.getLength() > 0) {
+            PaddingConfig padding = fixedLengthConfig.getPadding() != null
+                    ? fixedLengthConfig.getPadding() : new PaddingConfig();
+            fixedLength = fixedLengthConfig.getLength();
+            truncateFromStart = fixedLengthConfig.getTruncateFrom() == TruncatePosition.START; // Default to END
+            padLeft = padding.getPosition() == PaddingPosition.LEFT; // Default to RIGHT
+            padChar = padding.getCharacter() != null ? padding.getCharacter() : ' ';
+        }
+
+        String prefix = options.getPrefix() != null ? options.getPrefix() : "";
+        String suffix = options.getSuffix() != null ? options.getSuffix() : "";
+        int maxLength = options.getMaxLength() != null ? options.getMaxLength() : 0;
+
+        // Lengths of formatted values: case transforms can change a value's length
+        LengthRange lengths;
+        if (fixedLength > 0) {
+            lengths = LengthRange.exactly(fixedLength);
+        } else if (valueLengths != null && options.getCaseTransform() == null) {
+            lengths = valueLengths.plus(prefix.length() + suffix.length());
+        } else {
+            lengths = new LengthRange(prefix.length() + suffix.length(), LengthRange.UNBOUNDED);
         }
-
-        if (value.length() == targetLength) {
-            return value;
+        if (maxLength > 0) {
+            lengths = lengths.truncatedTo(maxLength);
         }
 
-        if (value.length() > targetLength) {
-            // Truncate
-            return applyTruncation(value, targetLength, config.getTruncateFrom());
-        } else {
-            // Pad
-            return applyPadding(value, targetLength, config.getPadding());
-        }
+        return new FormattingPipeline(
+                options.getCaseTransform(), prefix, suffix,
+                fixedLength, truncateFromStart, padLeft, padChar, maxLength,
+                compileValidation(options.getValidation(), options.getAllowedCharacters(), lengths));
     }
 
     /**
-     * Apply truncation
+     * Combine the configured length bounds, pattern, custom rules and character set into one predicate,
+     * or null if none are set
      */
-    private String applyTruncation(String value, int targetLength, TruncatePosition position) {
-        if (position == TruncatePosition.START) {
-            return value.substring(value.length() - targetLength);
-        } else {
-            // Default to END
-            return value.substring(0, targetLength);
-        }
-    }
+    private Predicate<CharSequence> compileValidation(ValidationRule validation, CharacterSet allowedCharacters,
+            LengthRange lengths) {
+        List<Predicate<CharSequence>> checks = new ArrayList<>();
 
-    /**
-     * Apply padding
-     */
-    private String applyPadding(String value, int targetLength, PaddingConfig padding) {
-        if (padding == null) {
-            padding = new PaddingConfig(); // Use defaults
+        // Character set restrictions
+        Predicate<CharSequence> characterSet = ValidationRules.characterSet(allowedCharacters);
+        if (characterSet != null) {
+            checks.add(characterSet);
         }
 
-        char padChar = padding.getCharacter() != null ? padding.getCharacter() : ' ';
-        int paddingNeeded = targetLength - value.length();
-        String padString = String.valueOf(padChar).repeat(paddingNeeded);
-
-        if (padding.getPosition() == PaddingPosition.LEFT) {
-            return padString + value;
-        } else {
-            // Default to RIGHT
-            return value + padString;
+        if (validation == null) {
+            return combine(checks);
         }
-    }
 
-    /**
-     * Apply maximum length constraint
-     */
-    private String applyMaxLength(String value, Integer maxLength) {
-        if (maxLength == null || maxLength <= 0 || value.length() <= maxLength) {
-            return value;
+        // Length validation, decided up front where the formatted lengths allow
+        int minLength = validation.getMinLength() != null ? validation.getMinLength() : 0;
+        int maxLength = validation.getMaxLength() != null ? validation.getMaxLength() : LengthRange.UNBOUNDED;
+        if (minLength > maxLength) {
+            throw new IllegalArgumentException("Validation can never pass: minLength " + minLength
+                    + " is greater than maxLength " + maxLength);
         }
-
-        // Truncate from the end if value exceeds max length
-        return value.substring(0, maxLength);
-    }
-
-    /**
-     * Validate the formatted value
-     */
-    private boolean validateValue(String value, ValidationRule validation) {
-        if (validation == null) {
-            return true;
+        if (lengths.max() < minLength || lengths.min() > maxLength) {
+            throw new IllegalArgumentException("Validation can never pass: values are " + lengths
+                    + " characters long, but must be " + new LengthRange(minLength, maxLength));
         }
-
-        try {
-            // Length validation
-            if (validation.getMinLength() != null && value.length() < validation.getMinLength()) {
-                return false;
+        if (!lengths.within(minLength, maxLength)) {
+            if (minLength > 0) {
+                checks.add(value -> value.length() >= minLength);
             }
-            if (validation.getMaxLength() != null && value.length() > validation.getMaxLength()) {
-                return false;
+            if (maxLength != LengthRange.UNBOUNDED) {
+                checks.add(value -> value.length() <= maxLength);
             }
+        } else if (validation.getMinLength() != null || validation.getMaxLength() != null) {
+            log.debug("Length validation always passes for values {} characters long", lengths);
+        }
 
-            // Pattern validation
-            if (validation.getPattern() != null && !validation.getPattern().isEmpty()) {
-                Pattern pattern = Pattern.compile(validation.getPattern());
-                if (!pattern.matcher(value).matches()) {
-                    return false;
+        // Pattern validation
+        if (validation.getPattern() != null && !validation.getPattern().isEmpty()) {
+            try {
+                SafePattern pattern = SafePattern.compile(validation.getPattern());
+                if (!pattern.getHazards().isEmpty()) {
+                    log.warn("Validation pattern '{}' is unsafe to backtrack ({}), matching it with the {} engine",
+                            validation.getPattern(), String.join(", ", pattern.getHazards()), pattern.getEngine());
                 }
+                checks.add(pattern::matches);
+            } catch (PatternSyntaxException e) {
+                log.warn("Invalid validation pattern '{}', every value will fail validation: {}",
+                        validation.getPattern(), e.getDescription());
+                checks.add(value -> false);
             }
+        }
 
-            // Custom validation rules
-            if (validation.getCustomRules() != null) {
-                for (String rule : validation.getCustomRules()) {
-                    if (!evaluateCustomRule(value, rule)) {
-                        return false;
-                    }
+        // Custom validation rules
+        if (validation.getCustomRules() != null) {
+            for (String rule : validation.getCustomRules()) {
+                Predicate<CharSequence> check = ValidationRules.customRule(rule);
+                if (check != null) {
+                    checks.add(check);
                 }
             }
-
-        } catch (Exception e) {
-            log.warn("Error during validation: {}", e.getMessage());
-            return false;
         }
 
-        return true;
+        return combine(checks);
     }
 
-    /**
-     * Evaluate custom validation rules
-     */
-    private boolean evaluateCustomRule(String value, String rule) {
-        if (rule == null || rule.trim().isEmpty()) {
-            return true;
+    private Predicate<CharSequence> combine(List<Predicate<CharSequence>> checks) {
+        if (checks.isEmpty()) {
+            return null;
         }
-
-        try {
-            rule = rule.toLowerCase().trim();
-
-            // Simple built-in rules
-            switch (rule) {
-                case "not_empty":
-                    return !value.trim().isEmpty();
-                case "no_spaces":
-                    return !value.contains(" ");
-                case "alphanumeric":
-                    return value.matches("[a-zA-Z0-9]+");
-                case "alphabetic":
-                    return value.matches("[a-zA-Z]+");
-                case "numeric":
-                    return value.matches("[0-9]+");
-                case "email_format":
-                    return value.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
-                case "phone_format":
-                    return value.matches("^[+]?[0-9\\-\\(\\)\\s]{10,}$");
-                default:
-                    log.warn("Unknown validation rule: {}", rule);
-                    return true;
-            }
-
-        } catch (Exception e) {
-            log.warn("Error evaluating custom rule '{}': {}", rule, e.getMessage());
-            return true; // Don't fail validation on rule evaluation errors
+        if (checks.size() == 1) {
+            return checks.get(0);
         }
+        return value -> {
+            for (Predicate<CharSequence> check : checks) {
+                if (!check.test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
     }
 
     /**
@@ -386,6 +221,10 @@ public class FieldFormatter {
             descriptions.add("Validation: enabled");
         }
 
+        if (options.getAllowedCharacters() != null) {
+            descriptions.add("Characters: restricted");
+        }
+
         return descriptions.isEmpty() ? "No formatting applied" : String.join(", ", descriptions);
     }
 }
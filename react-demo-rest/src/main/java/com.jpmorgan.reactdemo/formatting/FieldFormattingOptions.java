@@ -2,6 +2,7 @@ package com.jpmorgan.reactdemo.formatting;
 
 import com.jpmorgan.reactdemo.dto.ValidationRule;
 import com.jpmorgan.reactdemo.formatting.enums.CaseTransform;
+import com.jpmorgan.reactdemo.formatting.schema.CharacterSet;
 import lombok.Data;
 
 @Data
@@ -10,5 +11,7 @@ public class FieldFormattingOptions {
     private CaseTransform caseTransform;
     private String prefix;
     private String suffix;
+    private Integer maxLength;
     private ValidationRule validation;
+    private CharacterSet allowedCharacters; // Characters values may contain; fails validation otherwise
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * A fixed-point number pattern in the DecimalFormat subset "[prefix]#,##0.00#[suffix]": minimum integer
+ * digits ('0'), an optional grouping separator, minimum ('0') and maximum ('#') fraction digits, and
+ * literal text around the number. Rounds half-even, and keeps the sign of a negative value that rounds
+ * to zero ("-0.00"), like DecimalFormat.
+ *
+ * Immutable and thread-safe; formats with long arithmetic into the caller's buffer instead of going
+ * through DecimalFormat.
+ */
+public final class FixedPointFormat {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // Largest scaled double whose integer part is exact
+    private static final double MAX_EXACT_DOUBLE = 0x1p53;
+
+    private final String pattern;
+    private final String prefix;
+    private final String suffix;
+    private final int minIntegerDigits;
+    private final int groupingSize; // 0 for no grouping
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+    private final boolean decimalPointAlwaysShown; // "#." patterns
+
+    private FixedPointFormat(String pattern, String prefix, String suffix, int minIntegerDigits, int groupingSize,
+            int minFractionDigits, int maxFractionDigits, boolean decimalPointAlwaysShown) {
+        this.pattern = pattern;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.minIntegerDigits = minIntegerDigits;
+        this.groupingSize = groupingSize;
+        this.minFractionDigits = minFractionDigits;
+        this.maxFractionDigits = maxFractionDigits;
+        this.decimalPointAlwaysShown = decimalPointAlwaysShown;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is not a fixed-point pattern this class supports
+     */
+    public static FixedPointFormat compile(String pattern) {
+        int start = 0;
+        while (start < pattern.length() && !isNumberChar(pattern.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < pattern.length() && isNumberChar(pattern.charAt(end))) {
+            end++;
+        }
+        String number = pattern.substring(start, end);
+        String prefix = pattern.substring(0, start);
+        String suffix = pattern.substring(end);
+        if (number.isEmpty() || number.indexOf('#') < 0 && number.indexOf('0') < 0) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' has no digits");
+        }
+        if ((prefix + suffix).chars().anyMatch(c -> "#0,.;%\u2030'\u00A4".indexOf(c) >= 0)) {
+            throw new IllegalArgumentException("Number format '" + pattern
+                    + "' is not supported: only literal text around one #,##0.00 number is allowed");
+        }
+
+        int point = number.indexOf('.');
+        if (point != number.lastIndexOf('.')) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' has more than one decimal point");
+        }
+        String integerPart = point < 0 ? number : number.substring(0, point);
+        String fractionPart = point < 0 ? "" : number.substring(point + 1);
+
+        if (!integerPart.matches("[#,]*[0,]*")) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' has '#' after '0' in the integer part");
+        }
+        if (!fractionPart.matches("0*#*")) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' has a malformed fraction part");
+        }
+        int lastComma = integerPart.lastIndexOf(',');
+        int groupingSize = lastComma < 0 ? 0 : integerPart.length() - lastComma - 1;
+        if (lastComma >= 0 && groupingSize == 0) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' ends its integer part with a grouping separator");
+        }
+        int minIntegerDigits = (int) integerPart.chars().filter(c -> c == '0').count();
+        int minFractionDigits = (int) fractionPart.chars().filter(c -> c == '0').count();
+        int maxFractionDigits = fractionPart.length();
+        if (point >= 0 && minIntegerDigits == 0 && minFractionDigits == 0) {
+            // As DecimalFormat: "#.##" means "#0.##", and ".##" means ".0#"
+            if (integerPart.indexOf('#') >= 0) {
+                minIntegerDigits = 1;
+            } else if (maxFractionDigits > 0) {
+                minFractionDigits = 1;
+            }
+        }
+        if (maxFractionDigits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Number format '" + pattern + "' has more than "
+                    + (POWERS_OF_TEN.length - 1) + " fraction digits");
+        }
+
+        return new FixedPointFormat(pattern, prefix, suffix, minIntegerDigits, groupingSize,
+                minFractionDigits, maxFractionDigits, point >= 0 && fractionPart.isEmpty());
+    }
+
+    private static boolean isNumberChar(char c) {
+        return c == '#' || c == '0' || c == ',' || c == '.';
+    }
+
+    public String format(Number value) {
+        StringBuilder out = new StringBuilder(24);
+        appendTo(value, out);
+        return out.toString();
+    }
+
+    /**
+     * Integral types are formatted exactly; float and double are rounded from their binary value
+     */
+    public void appendTo(Number value, StringBuilder out) {
+        switch (value) {
+            case Long l -> appendTo(l.longValue(), out);
+            case Integer i -> appendTo(i.longValue(), out);
+            case Short s -> appendTo(s.longValue(), out);
+            case Byte b -> appendTo(b.longValue(), out);
+            case BigDecimal decimal -> appendTo(decimal, out);
+            case BigInteger integer -> appendTo(new BigDecimal(integer), out);
+            default -> appendTo(value.doubleValue(), out);
+        }
+    }
+
+    public void appendTo(long value, StringBuilder out) {
+        if (value == Long.MIN_VALUE) {
+            appendTo(BigDecimal.valueOf(value), out);
+            return;
+        }
+        appendDigits(value < 0, Math.abs(value), 0, out);
+    }
+
+    /**
+     * Rounded from the exact binary value: with two fraction digits 4.205 (stored as 4.20500000000000007...)
+     * is "4.21", and 1.005 (stored as 1.00499999999999989...) is "1.00". DecimalFormat rounds the shortest
+     * decimal representation instead, so the two differ when the pattern has more fraction digits than that
+     * representation: with "0.###", 8.88972150874605E12 (stored as 8889721508746.05078125) is "8889721508746.051"
+     * here and "8889721508746.05" from DecimalFormat.
+     */
+    public void appendTo(double value, StringBuilder out) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        double scaled = Math.abs(value) * POWERS_OF_TEN[maxFractionDigits];
+        // The product is within half an ulp of the exact scaled value, so it rounds the same way unless it is near a tie
+        if (scaled >= MAX_EXACT_DOUBLE || Math.abs(scaled - Math.floor(scaled) - 0.5) <= Math.ulp(scaled)) {
+            appendTo(new BigDecimal(value), out);
+            return;
+        }
+        long rounded = (long) Math.rint(scaled);
+        long unit = POWERS_OF_TEN[maxFractionDigits];
+        appendDigits(value < 0 || value == 0 && 1 / value < 0, rounded / unit, rounded % unit, out);
+    }
+
+    public void appendTo(BigDecimal value, StringBuilder out) {
+        BigDecimal rounded = value.setScale(maxFractionDigits, RoundingMode.HALF_EVEN);
+        BigInteger unscaled = rounded.unscaledValue().abs();
+        if (unscaled.bitLength() < 63) {
+            long unit = POWERS_OF_TEN[maxFractionDigits];
+            long digits = unscaled.longValue();
+            appendDigits(value.signum() < 0, digits / unit, digits % unit, out);
+            return;
+        }
+
+        String digits = unscaled.toString();
+        String integerDigits = digits.substring(0, digits.length() - maxFractionDigits);
+        if (value.signum() < 0) {
+            out.append('-');
+        }
+        out.append(prefix);
+        boolean hasInteger = appendInteger(integerDigits, out);
+        appendFraction(Long.parseLong("0" + digits.substring(digits.length() - maxFractionDigits)), hasInteger, out);
+        out.append(suffix);
+    }
+
+    private void appendDigits(boolean negative, long integer, long fraction, StringBuilder out) {
+        if (negative) {
+            out.append('-');
+        }
+        out.append(prefix);
+        boolean hasInteger = appendInteger(integer == 0 ? "" : Long.toString(integer), out);
+        appendFraction(fraction, hasInteger, out);
+        out.append(suffix);
+    }
+
+    /**
+     * Whether any digit was written
+     */
+    private boolean appendInteger(String digits, StringBuilder out) {
+        int length = Math.max(digits.length(), minIntegerDigits);
+        for (int i = 0; i < length; i++) {
+            int digitIndex = i - (length - digits.length());
+            out.append(digitIndex < 0 ? '0' : digits.charAt(digitIndex));
+            int remaining = length - i - 1;
+            if (groupingSize > 0 && remaining > 0 && remaining % groupingSize == 0) {
+                out.append(',');
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * The fraction digits of {@code fraction} (scaled by 10^maxFractionDigits), trailing zeros dropped
+     * down to the minimum. A number with no digits at all is written as "0".
+     */
+    private void appendFraction(long fraction, boolean hasInteger, StringBuilder out) {
+        int digits = maxFractionDigits;
+        while (digits > minFractionDigits && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        if (digits == 0) {
+            if (!hasInteger) {
+                out.append('0');
+            }
+            if (decimalPointAlwaysShown) {
+                out.append('.');
+            }
+            return;
+        }
+        out.append('.');
+        for (int i = digits - 1; i >= 0; i--) {
+            out.append((char) ('0' + fraction / POWERS_OF_TEN[i] % 10));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,166 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import com.jpmorgan.reactdemo.formatting.enums.CaseTransform;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Predicate;
+
+/**
+ * FieldFormattingOptions compiled by {@link FieldFormatter#compile}. Compile once per field, apply once per value.
+ *
+ * A value is formatted in a single pass into a reusable per-thread buffer: the case transform is written
+ * to a scratch buffer, then the window of {@code [padding][prefix][value][suffix][padding]} that survives
+ * fixed length and maximum length is computed arithmetically and only those characters are copied.
+ * Formatting a value allocates at most the result String, and nothing when the value is unchanged.
+ */
+@Slf4j
+public class FormattingPipeline {
+
+    public static final String VALIDATION_FAILED = "[VALIDATION_FAILED]";
+    public static final String FORMAT_ERROR = "[FORMAT_ERROR]";
+
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> OUTPUT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<StringBuilder> SCRATCH_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private static final FormattingPipeline IDENTITY =
+            new FormattingPipeline(null, "", "", 0, false, false, ' ', 0, null);
+
+    private final CaseTransform caseTransform; // null for none
+    private final String prefix;
+    private final String suffix;
+    private final int fixedLength; // 0 for none
+    private final boolean truncateFromStart;
+    private final boolean padLeft;
+    private final String padTemplate; // fixedLength pad characters
+    private final int maxLength; // 0 for none
+    private final Predicate<CharSequence> validation; // null when there is nothing to validate
+
+    FormattingPipeline(CaseTransform caseTransform, String prefix, String suffix, int fixedLength,
+            boolean truncateFromStart, boolean padLeft, char padChar, int maxLength,
+            Predicate<CharSequence> validation) {
+        this.caseTransform = caseTransform;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.fixedLength = Math.max(0, fixedLength);
+        this.truncateFromStart = truncateFromStart;
+        this.padLeft = padLeft;
+        this.padTemplate = String.valueOf(padChar).repeat(this.fixedLength);
+        this.maxLength = Math.max(0, maxLength);
+        this.validation = validation;
+    }
+
+    static FormattingPipeline identity() {
+        return IDENTITY;
+    }
+
+    public boolean isIdentity() {
+        return caseTransform == null && prefix.isEmpty() && suffix.isEmpty()
+                && fixedLength == 0 && maxLength == 0 && validation == null;
+    }
+
+    public boolean hasValidation() {
+        return validation != null;
+    }
+
+    public String apply(String value) {
+        String formatted = format(value);
+        if (formatted == null) {
+            log.warn("Value '{}' failed validation", value);
+            return VALIDATION_FAILED;
+        }
+        return formatted;
+    }
+
+    /**
+     * The formatted value, or null if it fails validation
+     */
+    public String format(String value) {
+        if (value == null) {
+            value = "";
+        }
+        if (isIdentity()) {
+            return value;
+        }
+
+        StringBuilder buffer = OUTPUT_BUFFER.get();
+        buffer.setLength(0);
+        try {
+            if (!appendTo(value, buffer)) {
+                return null;
+            }
+            return value.contentEquals(buffer) ? value : buffer.toString();
+        } catch (Exception e) {
+            log.error("Error applying formatting to value '{}': {}", value, e.getMessage(), e);
+            return FORMAT_ERROR;
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                OUTPUT_BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Append the formatted value to {@code out} without creating a String, for writers that accept
+     * CharSequences. Returns false (leaving the formatted value in {@code out}) if validation fails.
+     */
+    public boolean appendTo(CharSequence value, StringBuilder out) {
+        CharSequence body = value;
+        StringBuilder scratch = null;
+        if (caseTransform != null && value.length() > 0) {
+            scratch = SCRATCH_BUFFER.get();
+            scratch.setLength(0);
+            CaseTransformer.append(value, caseTransform, scratch);
+            body = scratch;
+        }
+
+        // Window of the virtual [padBefore][prefix][body][suffix][padAfter] that is kept
+        int length = prefix.length() + body.length() + suffix.length();
+        int padBefore = 0;
+        int padAfter = 0;
+        int from = 0;
+        int to = length;
+        if (fixedLength > 0) {
+            if (length > fixedLength) {
+                from = truncateFromStart ? length - fixedLength : 0;
+                to = from + fixedLength;
+            } else if (padLeft) {
+                padBefore = fixedLength - length;
+                to = fixedLength;
+            } else {
+                padAfter = fixedLength - length;
+                to = fixedLength;
+            }
+        }
+        if (maxLength > 0) {
+            to = Math.min(to, from + maxLength);
+        }
+
+        int start = out.length();
+        int position = appendWindow(out, padTemplate, padBefore, 0, from, to);
+        position = appendWindow(out, prefix, prefix.length(), position, from, to);
+        position = appendWindow(out, body, body.length(), position, from, to);
+        position = appendWindow(out, suffix, suffix.length(), position, from, to);
+        appendWindow(out, padTemplate, padAfter, position, from, to);
+        if (scratch != null && scratch.capacity() > MAX_RETAINED_BUFFER) {
+            SCRATCH_BUFFER.remove();
+        }
+
+        if (validation == null) {
+            return true;
+        }
+        return validation.test(start == 0 ? out : out.subSequence(start, out.length()));
+    }
+
+    /**
+     * Append the part of a segment occupying [position, position + length) that falls inside [from, to)
+     */
+    private static int appendWindow(StringBuilder out, CharSequence segment, int length, int position, int from, int to) {
+        int begin = Math.max(position, from);
+        int end = Math.min(position + length, to);
+        if (begin < end) {
+            out.append(segment, begin - position, end - position);
+        }
+        return position + length;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jpmorgan.reactdemo.formatting;
+
+/**
+ * Bounds on the length (in chars) of the values a generator can produce, used to check validation
+ * rules when a schema is compiled. {@link #UNBOUNDED} as max means no upper bound.
+ */
+public record LengthRange(int min, int max) {
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public static LengthRange exactly(int length) {
+        return new LengthRange(length, length);
+    }
+
+    public LengthRange plus(int length) {
+        return new LengthRange(min + length, max == UNBOUNDED ? UNBOUNDED : max + length);
+    }
+
+    /**
+     * Lengths after truncation to at most the given length
+     */
+    public LengthRange truncatedTo(int length) {
+        return new LengthRange(Math.min(min, length), Math.min(max, length));
+    }
+
+    public boolean within(int lower, int upper) {
+        return min >= lower && max <= upper;
+    }
+
+    @Override
+    public String toString() {
+        if (min == max) {
+            return String.valueOf(min);
+        }
+        return max == UNBOUNDED ? min + " or more" : min + " to " + max;
+    }
+}
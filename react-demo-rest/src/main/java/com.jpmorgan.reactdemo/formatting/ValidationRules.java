@@ -0,0 +1,195 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import com.jpmorgan.reactdemo.formatting.schema.CharacterSet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Built-in custom validation rules and CharacterSet restrictions, compiled into predicates
+ * that test characters through {@link CharacterClass} lookup tables instead of regular expressions.
+ * Each built-in rule accepts exactly what its original regex accepted.
+ */
+@Slf4j
+final class ValidationRules {
+
+    private static final CharacterClass ASCII_LETTERS = CharacterClass.asciiRange('a', 'z').or(CharacterClass.asciiRange('A', 'Z'));
+    private static final CharacterClass ASCII_DIGITS = CharacterClass.asciiRange('0', '9');
+    private static final CharacterClass ASCII_ALPHANUMERIC = ASCII_LETTERS.or(ASCII_DIGITS);
+    // [A-Za-z0-9+_.-] and [A-Za-z0-9.-]
+    private static final CharacterClass EMAIL_LOCAL = ASCII_ALPHANUMERIC.or(CharacterClass.ascii("+_.-"));
+    private static final CharacterClass EMAIL_DOMAIN = ASCII_ALPHANUMERIC.or(CharacterClass.ascii(".-"));
+    // [0-9\-\(\)\s]
+    private static final CharacterClass PHONE = ASCII_DIGITS.or(CharacterClass.ascii("-() \t\n\u000B\f\r"));
+    private static final CharacterClass SPACE = CharacterClass.ascii(" ");
+
+    private ValidationRules() {
+    }
+
+    /**
+     * A built-in rule by name (case-insensitive), or null for blank and unknown rules, which always pass
+     */
+    static Predicate<CharSequence> customRule(String rule) {
+        if (rule == null || rule.trim().isEmpty()) {
+            return null;
+        }
+
+        switch (rule.toLowerCase(Locale.ROOT).trim()) {
+            case "not_empty":
+                return value -> !isBlank(value);
+            case "no_spaces":
+                return value -> !SPACE.containsAny(value);
+            case "alphanumeric":
+                return value -> value.length() > 0 && ASCII_ALPHANUMERIC.containsAll(value);
+            case "alphabetic":
+                return value -> value.length() > 0 && ASCII_LETTERS.containsAll(value);
+            case "numeric":
+                return value -> value.length() > 0 && ASCII_DIGITS.containsAll(value);
+            case "email_format":
+                return ValidationRules::isEmail;
+            case "phone_format":
+                return ValidationRules::isPhone;
+            default:
+                log.warn("Unknown validation rule: {}", rule);
+                return null;
+        }
+    }
+
+    /**
+     * Characters a value may contain: any of the allowed classes (or customPattern) and none of the
+     * forbidden ones. Returns null when the set restricts nothing.
+     */
+    static Predicate<CharSequence> characterSet(CharacterSet characterSet) {
+        if (characterSet == null) {
+            return null;
+        }
+
+        CharacterClass allowed = null;
+        if (characterSet.getAllowed() != null) {
+            for (String name : characterSet.getAllowed()) {
+                allowed = union(allowed, namedClass(name));
+            }
+        }
+        if (characterSet.getCustomPattern() != null && !characterSet.getCustomPattern().isEmpty()) {
+            allowed = union(allowed, patternClass(characterSet.getCustomPattern()));
+        }
+
+        CharacterClass forbidden = null;
+        if (characterSet.getForbidden() != null) {
+            for (String name : characterSet.getForbidden()) {
+                forbidden = union(forbidden, namedClass(name));
+            }
+        }
+
+        CharacterClass allowedClass = allowed;
+        CharacterClass forbiddenClass = forbidden;
+        if (allowedClass != null && forbiddenClass != null) {
+            return value -> allowedClass.containsAll(value) && !forbiddenClass.containsAny(value);
+        } else if (allowedClass != null) {
+            return allowedClass::containsAll;
+        } else if (forbiddenClass != null) {
+            return value -> !forbiddenClass.containsAny(value);
+        }
+        return null;
+    }
+
+    /**
+     * ^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\.[A-Za-z]{2,})$ : the domain's top level follows its last dot,
+     * because it cannot contain one
+     */
+    private static boolean isEmail(CharSequence value) {
+        int at = -1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            }
+        }
+        if (at <= 0) {
+            return false;
+        }
+
+        int lastDot = -1;
+        for (int i = at + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!EMAIL_DOMAIN.contains(c)) {
+                return false;
+            }
+            if (c == '.') {
+                lastDot = i;
+            }
+        }
+        if (lastDot <= at + 1 || value.length() - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < value.length(); i++) {
+            if (!ASCII_LETTERS.contains(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        for (int i = 0; i < at; i++) {
+            if (!EMAIL_LOCAL.contains(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * ^[+]?[0-9\-\(\)\s]{10,}$
+     */
+    private static boolean isPhone(CharSequence value) {
+        int start = value.length() > 0 && value.charAt(0) == '+' ? 1 : 0;
+        if (value.length() - start < 10) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            if (!PHONE.contains(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code value.toString().trim().isEmpty()}
+     */
+    private static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CharacterClass namedClass(String name) {
+        CharacterClass characterClass = CharacterClass.named(name);
+        if (characterClass == null) {
+            log.warn("Unknown character class '{}' in character set, ignoring it", name);
+        }
+        return characterClass;
+    }
+
+    private static CharacterClass patternClass(String customPattern) {
+        try {
+            return CharacterClass.ofPattern(Pattern.compile(customPattern));
+        } catch (PatternSyntaxException e) {
+            log.warn("Invalid character set pattern '{}', ignoring it: {}", customPattern, e.getDescription());
+            return null;
+        }
+    }
+
+    private static CharacterClass union(CharacterClass current, CharacterClass next) {
+        if (next == null) {
+            return current;
+        }
+        return current == null ? next : current.or(next);
+    }
+}
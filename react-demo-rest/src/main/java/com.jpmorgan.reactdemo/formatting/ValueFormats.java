@@ -0,0 +1,86 @@
+package com.jpmorgan.reactdemo.formatting;
+
+import com.jpmorgan.reactdemo.formatting.schema.GlobalFormattingRule;
+import com.jpmorgan.reactdemo.generator.ValueType;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+/**
+ * The schema-wide date and number formats ({@link GlobalFormattingRule#getDateFormat()} and
+ * {@link GlobalFormattingRule#getNumberFormat()}), compiled once per rule set.
+ * Turns the typed values generators hand over into text without a parse round-trip. Thread-safe.
+ */
+public final class ValueFormats {
+
+    public static final ValueFormats DEFAULT = new ValueFormats(null, null);
+
+    private final DateTimeFormatter dateFormatter; // null: ISO-8601
+    private final FixedPointFormat numberFormat; // null: plain decimal
+
+    private ValueFormats(DateTimeFormatter dateFormatter, FixedPointFormat numberFormat) {
+        this.dateFormatter = dateFormatter;
+        this.numberFormat = numberFormat;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a format is not a valid pattern
+     */
+    public static ValueFormats compile(GlobalFormattingRule global) {
+        if (global == null || isBlank(global.getDateFormat()) && isBlank(global.getNumberFormat())) {
+            return DEFAULT;
+        }
+        DateTimeFormatter dateFormatter = isBlank(global.getDateFormat()) ? null : compileDateFormat(global.getDateFormat());
+        FixedPointFormat numberFormat = isBlank(global.getNumberFormat()) ? null : FixedPointFormat.compile(global.getNumberFormat());
+        return new ValueFormats(dateFormatter, numberFormat);
+    }
+
+    private static DateTimeFormatter compileDateFormat(String pattern) {
+        DateTimeFormatter formatter;
+        try {
+            formatter = DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid date format '" + pattern + "': " + e.getMessage());
+        }
+        // Date generators hand over LocalDates, so a pattern with time fields could never format one
+        try {
+            formatter.format(LocalDate.EPOCH);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Date format '" + pattern + "' cannot format a date: " + e.getMessage());
+        }
+        return formatter;
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    /**
+     * Whether values of this type are written as text in a schema format rather than as they are
+     */
+    public boolean reformats(ValueType type) {
+        return type.isTemporal() && dateFormatter != null || type.isNumeric() && numberFormat != null;
+    }
+
+    /**
+     * Text of a generated value: dates and numbers in the schema's formats, booleans as True/False
+     * (as the Boolean generator has always written them), anything else as is
+     */
+    public String toText(Object value) {
+        return switch (value) {
+            case null -> null;
+            case String text -> text;
+            case LocalDateTime dateTime -> (dateFormatter != null ? dateFormatter : DateTimeFormatter.ISO_LOCAL_DATE_TIME).format(dateTime);
+            case TemporalAccessor temporal -> dateFormatter != null ? dateFormatter.format(temporal) : temporal.toString();
+            case Boolean bool -> bool ? "True" : "False";
+            case BigDecimal decimal -> numberFormat != null ? numberFormat.format(decimal) : decimal.toPlainString();
+            case Number number -> numberFormat != null ? numberFormat.format(number) : number.toString();
+            default -> value.toString();
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.jpmorgan.reactdemo.formatting.enums;
+
+/**
+ * How the null cells of a field with a null rate are written
+ */
+public enum NullRepresentation {
+    NULL,  // The format's own null: SQL NULL, JSON null, an empty CSV cell
+    EMPTY  // An empty string
+}
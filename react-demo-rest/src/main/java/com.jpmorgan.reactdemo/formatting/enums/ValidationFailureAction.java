@@ -0,0 +1,9 @@
+package com.jpmorgan.reactdemo.formatting.enums;
+
+/**
+ * What happens to a value that still fails validation once its retries are used up
+ */
+public enum ValidationFailureAction {
+    MARK,  // Write [VALIDATION_FAILED] in its place
+    FAIL   // Stop generating and fail the request
+}
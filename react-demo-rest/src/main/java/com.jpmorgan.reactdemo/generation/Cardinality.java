@@ -0,0 +1,59 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.github.javafaker.service.RandomService;
+
+/**
+ * How many items an array gets: a count drawn uniformly from [min, max], or from a Poisson or geometric
+ * distribution with the given mean and clamped to [min, max]. Immutable.
+ */
+public record Cardinality(int min, int max, Distribution distribution, double mean) {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    public enum Distribution {
+        UNIFORM,
+        POISSON, // Counts cluster around the mean
+        GEOMETRIC // Small counts are the most likely, with a long tail
+    }
+
+    public Cardinality {
+        if (min < 0 || min > max || max > MAX_ITEMS) {
+            throw new IllegalArgumentException("Array sizes must satisfy 0 <= min <= max <= " + MAX_ITEMS + ".");
+        }
+        if (distribution != Distribution.UNIFORM && !(mean >= min && mean <= max)) {
+            throw new IllegalArgumentException("Array size mean must be between " + min + " and " + max + ".");
+        }
+    }
+
+    public int sample(RandomService random) {
+        int count = switch (distribution) {
+            case UNIFORM -> min + random.nextInt(max - min + 1);
+            case POISSON -> poisson(random);
+            case GEOMETRIC -> geometric(random);
+        };
+        return Math.max(min, Math.min(max, count));
+    }
+
+    private int poisson(RandomService random) {
+        if (mean > 30) { // Normal approximation; multiplying uniforms underflows for large means
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            return (int) Math.round(mean + Math.sqrt(mean) * gaussian);
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private int geometric(RandomService random) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double failure = mean / (1 + mean); // Failures before the first success average the mean
+        return (int) Math.min(MAX_ITEMS, Math.floor(Math.log(1 - random.nextDouble()) / Math.log(failure)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.github.javafaker.Faker;
+import com.jpmorgan.reactdemo.dto.EnhancedFieldOptions;
+import com.jpmorgan.reactdemo.dto.FieldDefinitionDto;
+import com.jpmorgan.reactdemo.dto.ValidationRule;
+import com.jpmorgan.reactdemo.formatting.FieldFormattingOptions;
+import com.jpmorgan.reactdemo.formatting.FormattingPipeline;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.formatting.enums.NullRepresentation;
+import com.jpmorgan.reactdemo.formatting.enums.ValidationFailureAction;
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
+import lombok.Data;
+
+import java.util.function.Supplier;
+
+/**
+ * A field whose options, generator and effective formatting have been resolved once per request,
+ * so that generating a cell does not have to re-parse anything.
+ */
+@Data
+public class CompiledField {
+    private final FieldDefinitionDto definition;
+    private final EnhancedFieldOptions options;
+    private final DataTypeGenerator generator;
+    private final String generatorKey;
+    private final String generatorOptions; // Options handed to the generator for every value
+    private final ValueSource valueSource; // generator bound to generatorOptions; null for expression fields
+    private final FieldFormattingOptions formatting; // Fully resolved (global → field) formatting
+    private final FormattingPipeline formatter; // formatting compiled into steps
+    private final ValueFormats valueFormats; // schema-wide date and number formats
+    private final ValueType valueType; // STRING unless typed values reach the writers unformatted
+    private final boolean referenced; // read by other fields' expressions or dependencies
+    private final double nullRate; // probability that a cell is null, drawn before anything is generated
+    private final FieldValidationStats validationStats = new FieldValidationStats();
+
+    public String getName() {
+        return definition.getName();
+    }
+
+    /**
+     * Whether generated values are stored as they are, because no formatting applies to them
+     */
+    public boolean isTyped() {
+        return valueType != ValueType.STRING;
+    }
+
+    /**
+     * Whether values can be generated a whole column at a time straight into primitive buffers:
+     * they are typed, come unboxed, and no other field reads them from the row
+     */
+    public boolean isColumnar() {
+        return isTyped() && !referenced && valueSource instanceof PrimitiveValueSource;
+    }
+
+    /**
+     * Whether this is a Nested.object or Nested.array field, whose values are {@link NestedValue}s
+     */
+    public boolean isNested() {
+        return valueSource instanceof NestedValueSource;
+    }
+
+    /**
+     * Decide whether the next cell is null. Null cells are decided before the value would be generated,
+     * so the generator does not run for them.
+     */
+    public boolean drawNull(Faker faker) {
+        return nullRate > 0 && faker.random().nextDouble() < nullRate;
+    }
+
+    /**
+     * Whether null cells are written as empty strings rather than as the format's null
+     */
+    public boolean isNullAsEmpty() {
+        return nullRate > 0 && options.getNullAs() == NullRepresentation.EMPTY;
+    }
+
+    /**
+     * What a null cell holds: an empty string, or null for the chunk's null mask
+     */
+    public String nullValue() {
+        return isNullAsEmpty() ? "" : null;
+    }
+
+    public String getExpression() {
+        return options.getDependency() != null ? options.getDependency().getExpression() : null;
+    }
+
+    public int getMaxRetries() {
+        ValidationRule validation = formatting != null ? formatting.getValidation() : null;
+        return validation != null && validation.getMaxRetries() != null ? validation.getMaxRetries() : 0;
+    }
+
+    public ValidationFailureAction getOnValidationFailure() {
+        ValidationRule validation = formatting != null ? formatting.getValidation() : null;
+        return validation != null && validation.getOnFailure() != null ? validation.getOnFailure() : ValidationFailureAction.MARK;
+    }
+
+    /**
+     * Text of a typed generated value, in the schema's date and number formats
+     */
+    public String toText(Object value) {
+        return valueFormats.toText(value);
+    }
+
+    /**
+     * Format values drawn from source until one passes validation, regenerating up to the field's
+     * retry budget. A value that never passes becomes [VALIDATION_FAILED], or fails the request.
+     * @throws FieldValidationException if no value passed and the field is set to FAIL
+     */
+    public String formatValid(Supplier<String> source) {
+        String formatted = formatter.format(source.get());
+        if (!formatter.hasValidation()) {
+            return formatted;
+        }
+
+        validationStats.recordAttempt(formatted != null);
+        int maxRetries = getMaxRetries();
+        for (int retry = 0; formatted == null && retry < maxRetries; retry++) {
+            formatted = formatter.format(source.get());
+            validationStats.recordAttempt(formatted != null);
+        }
+        if (formatted != null) {
+            return formatted;
+        }
+
+        validationStats.recordExhausted();
+        if (getOnValidationFailure() == ValidationFailureAction.FAIL) {
+            throw new FieldValidationException("Field '" + getName() + "' produced no valid value in "
+                    + (maxRetries + 1) + " attempts");
+        }
+        return FormattingPipeline.VALIDATION_FAILED;
+    }
+}
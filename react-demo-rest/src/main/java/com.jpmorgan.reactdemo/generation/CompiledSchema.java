@@ -0,0 +1,51 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.jpmorgan.reactdemo.generator.ValueType;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request schema prepared for generation.
+ * Fields are kept in two orders: dependency order (the order values have to be generated in)
+ * and declared order (the order columns are written in).
+ */
+@Data
+public class CompiledSchema {
+    private final List<CompiledField> generationOrder;
+    private final List<CompiledField> columns;
+
+    public List<String> getColumnNames() {
+        return columns.stream().map(CompiledField::getName).toList();
+    }
+
+    public List<ValueType> getColumnTypes() {
+        return columns.stream().map(CompiledField::getValueType).toList();
+    }
+
+    /**
+     * Fields generated row by row, in dependency order; the others are generated a column at a time
+     */
+    public List<CompiledField> getRowFields() {
+        return generationOrder.stream().filter(field -> !field.isColumnar()).toList();
+    }
+
+    public boolean hasNestedFields() {
+        return columns.stream().anyMatch(CompiledField::isNested);
+    }
+
+    /**
+     * Live validation counters of the fields that validate their values, by field name
+     */
+    public Map<String, FieldValidationStats> getValidationStats() {
+        Map<String, FieldValidationStats> stats = new LinkedHashMap<>();
+        for (CompiledField field : columns) {
+            if (field.getFormatter().hasValidation()) {
+                stats.put(field.getName(), field.getValidationStats());
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,261 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.jpmorgan.reactdemo.generator.ValueType;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A contiguous block of generated rows, stored column by column in declared column order.
+ * Chunks are independent of each other, which lets workers generate and write them in parallel.
+ *
+ * Typed columns are stored unboxed: LONG values and DATE_TIME epoch seconds in a long[], DATE epoch days
+ * in an int[], DOUBLE values in a double[] and BOOLEAN values in a bit set. A typed column that receives
+ * any other value (an error marker, say) falls back to boxed storage for the rest of the chunk, so
+ * writers check {@link #getColumnType} before reading a column unboxed.
+ * Null cells are marked in a bit set per column instead of being stored, so a typed column with nulls stays
+ * unboxed; writers check {@link #isNull} before reading a cell unboxed.
+ * A chunk can be refilled with {@link #reuse} once it has been written.
+ */
+public class DataChunk {
+
+    @Getter
+    private final List<String> columnNames;
+    private final ValueType[] declaredTypes;
+    private final ValueType[] storedTypes; // declared type, or STRING once a column has fallen back to boxed values
+    private final long[][] longs;
+    private final int[][] epochDays;
+    private final double[][] doubles;
+    private final BitSet[] booleans;
+    private final Object[][] objects; // STRING and DECIMAL columns, and typed columns that fell back
+    private final BitSet[] nulls; // null cells of each column; allocated on a column's first null
+    private final int capacity;
+    @Getter
+    private int startRow; // Index of the first row of this chunk within the whole dataset
+    @Getter
+    private int size;
+
+    public DataChunk(List<String> columnNames, List<ValueType> columnTypes, int startRow, int size) {
+        int columnCount = columnNames.size();
+        this.columnNames = columnNames;
+        this.declaredTypes = columnTypes.toArray(new ValueType[0]);
+        this.storedTypes = declaredTypes.clone();
+        this.longs = new long[columnCount][];
+        this.epochDays = new int[columnCount][];
+        this.doubles = new double[columnCount][];
+        this.booleans = new BitSet[columnCount];
+        this.objects = new Object[columnCount][];
+        this.nulls = new BitSet[columnCount];
+        this.capacity = size;
+        this.startRow = startRow;
+        this.size = size;
+
+        for (int c = 0; c < columnCount; c++) {
+            switch (declaredTypes[c]) {
+                case LONG, DATE_TIME -> longs[c] = new long[size];
+                case DATE -> epochDays[c] = new int[size];
+                case DOUBLE -> doubles[c] = new double[size];
+                case BOOLEAN -> booleans[c] = new BitSet(size);
+                case DECIMAL, STRING -> objects[c] = new Object[size];
+            }
+        }
+    }
+
+    /**
+     * Refill this chunk with rows [startRow, startRow + size), keeping its buffers.
+     * Every value must be set again; the previous rows' values are overwritten, not cleared,
+     * while their null cells are.
+     * @return this chunk
+     */
+    public DataChunk reuse(int startRow, int size) {
+        if (size > capacity) {
+            throw new IllegalArgumentException("Chunk of " + capacity + " rows cannot hold " + size + " rows");
+        }
+        this.startRow = startRow;
+        this.size = size;
+        System.arraycopy(declaredTypes, 0, storedTypes, 0, declaredTypes.length);
+        for (BitSet columnNulls : nulls) {
+            if (columnNulls != null) {
+                columnNulls.clear();
+            }
+        }
+        return this;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getColumnCount() {
+        return storedTypes.length;
+    }
+
+    /**
+     * How a column is stored in this chunk: its declared type, or STRING if its values are boxed
+     */
+    public ValueType getColumnType(int column) {
+        return storedTypes[column];
+    }
+
+    public boolean isNull(int column, int row) {
+        return nulls[column] != null && nulls[column].get(row);
+    }
+
+    /**
+     * A value, boxed: Long, Double, Boolean, LocalDate and LocalDateTime for typed columns; null for a null cell
+     */
+    public Object get(int column, int row) {
+        if (isNull(column, row)) {
+            return null;
+        }
+        return switch (storedTypes[column]) {
+            case LONG -> longs[column][row];
+            case DATE_TIME -> LocalDateTime.ofEpochSecond(longs[column][row], 0, ZoneOffset.UTC);
+            case DATE -> LocalDate.ofEpochDay(epochDays[column][row]);
+            case DOUBLE -> doubles[column][row];
+            case BOOLEAN -> booleans[column].get(row);
+            case DECIMAL, STRING -> objects[column][row];
+        };
+    }
+
+    /**
+     * Value of a LONG column, or epoch second of a DATE_TIME column
+     */
+    public long getLong(int column, int row) {
+        return longs[column][row];
+    }
+
+    /**
+     * Value of a DATE column
+     */
+    public int getEpochDay(int column, int row) {
+        return epochDays[column][row];
+    }
+
+    public double getDouble(int column, int row) {
+        return doubles[column][row];
+    }
+
+    public boolean getBoolean(int column, int row) {
+        return booleans[column].get(row);
+    }
+
+    public void set(int column, int row, Object value) {
+        if (value == null) {
+            setNull(column, row);
+            return;
+        }
+        if (storePrimitive(column, row, value)) {
+            return;
+        }
+        if (storedTypes[column] != ValueType.STRING && storedTypes[column] != ValueType.DECIMAL) {
+            fallBackToBoxed(column);
+        }
+        objects[column][row] = value;
+    }
+
+    /**
+     * Mark a cell null, in a column of any type
+     */
+    public void setNull(int column, int row) {
+        if (nulls[column] == null) {
+            nulls[column] = new BitSet(capacity);
+        }
+        nulls[column].set(row);
+    }
+
+    /**
+     * Store a value of a LONG column, an epoch day of a DATE column or an epoch second of a DATE_TIME column
+     */
+    public void setLong(int column, int row, long value) {
+        switch (storedTypes[column]) {
+            case LONG, DATE_TIME -> longs[column][row] = value;
+            case DATE -> epochDays[column][row] = Math.toIntExact(value);
+            default -> objects[column][row] = switch (declaredTypes[column]) {
+                case DATE -> LocalDate.ofEpochDay(value);
+                case DATE_TIME -> LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+                default -> value;
+            };
+        }
+    }
+
+    public void setDouble(int column, int row, double value) {
+        if (storedTypes[column] == ValueType.DOUBLE) {
+            doubles[column][row] = value;
+        } else {
+            objects[column][row] = value;
+        }
+    }
+
+    public void setBoolean(int column, int row, boolean value) {
+        if (storedTypes[column] == ValueType.BOOLEAN) {
+            booleans[column].set(row, value);
+        } else {
+            objects[column][row] = value;
+        }
+    }
+
+    private boolean storePrimitive(int column, int row, Object value) {
+        switch (storedTypes[column]) {
+            case LONG -> {
+                if (value instanceof Long number) {
+                    longs[column][row] = number;
+                    return true;
+                }
+            }
+            case DATE_TIME -> {
+                if (value instanceof LocalDateTime dateTime && dateTime.getNano() == 0) {
+                    longs[column][row] = dateTime.toEpochSecond(ZoneOffset.UTC);
+                    return true;
+                }
+            }
+            case DATE -> {
+                if (value instanceof LocalDate date) {
+                    epochDays[column][row] = Math.toIntExact(date.toEpochDay());
+                    return true;
+                }
+            }
+            case DOUBLE -> {
+                if (value instanceof Double number) {
+                    doubles[column][row] = number;
+                    return true;
+                }
+            }
+            case BOOLEAN -> {
+                if (value instanceof Boolean bool) {
+                    booleans[column].set(row, bool);
+                    return true;
+                }
+            }
+            case DECIMAL, STRING -> {
+            }
+        }
+        return false;
+    }
+
+    private void fallBackToBoxed(int column) {
+        Object[] values = objects[column] != null ? objects[column] : new Object[capacity];
+        for (int r = 0; r < size; r++) {
+            values[r] = get(column, r);
+        }
+        objects[column] = values;
+        storedTypes[column] = ValueType.STRING;
+    }
+
+    /**
+     * Row view for consumers that still work with maps (preview, in-memory formatting)
+     */
+    public Map<String, Object> getRow(int row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int c = 0; c < storedTypes.length; c++) {
+            values.put(columnNames.get(c), get(c, row));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,13 @@
+package com.jpmorgan.reactdemo.generation;
+
+/**
+ * A field configured to fail the request produced no valid value within its retries
+ */
+public class FieldValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FieldValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jpmorgan.reactdemo.generation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Validation outcomes of one field over a request, updated concurrently by generation workers.
+ * Every generated value (first tries and retries) is one attempt.
+ */
+public class FieldValidationStats {
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    void recordAttempt(boolean passed) {
+        attempts.increment();
+        if (!passed) {
+            rejections.increment();
+        }
+    }
+
+    void recordExhausted() {
+        exhausted.increment();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Values that still failed once their retries were used up
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    public double getRejectionRate() {
+        long total = attempts.sum();
+        return total == 0 ? 0 : (double) rejections.sum() / total;
+    }
+}
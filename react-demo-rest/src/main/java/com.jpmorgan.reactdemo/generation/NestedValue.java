@@ -0,0 +1,156 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The value of a nested field for one row: a document recorded as a flat list of depth-first events
+ * (start object, field name, scalar value, ...) rather than as a tree of maps and lists. Writers replay
+ * the events straight into their output through a {@link Visitor}.
+ *
+ * Filled by {@link NestedValueSource} while a row is generated, and not changed after.
+ */
+public final class NestedValue implements JsonSerializable {
+
+    private static final byte START_OBJECT = 0;
+    private static final byte END_OBJECT = 1;
+    private static final byte START_ARRAY = 2; // Argument: the element name of the array's items
+    private static final byte END_ARRAY = 3;
+    private static final byte FIELD = 4; // Argument: the field name
+    private static final byte VALUE = 5; // Argument: the scalar value
+
+    private byte[] events = new byte[16];
+    private Object[] arguments = new Object[16];
+    private int size;
+
+    /**
+     * Receives the events of a nested value in document order
+     */
+    public interface Visitor {
+        void startObject() throws IOException;
+
+        void endObject() throws IOException;
+
+        /**
+         * @param itemName element name of the array's items, for formats that name them
+         */
+        void startArray(String itemName) throws IOException;
+
+        void endArray() throws IOException;
+
+        void field(String name) throws IOException;
+
+        void value(Object value) throws IOException;
+    }
+
+    public void accept(Visitor visitor) throws IOException {
+        for (int i = 0; i < size; i++) {
+            switch (events[i]) {
+                case START_OBJECT -> visitor.startObject();
+                case END_OBJECT -> visitor.endObject();
+                case START_ARRAY -> visitor.startArray((String) arguments[i]);
+                case END_ARRAY -> visitor.endArray();
+                case FIELD -> visitor.field((String) arguments[i]);
+                default -> visitor.value(arguments[i]);
+            }
+        }
+    }
+
+    void startObject() {
+        add(START_OBJECT, null);
+    }
+
+    void endObject() {
+        add(END_OBJECT, null);
+    }
+
+    void startArray(String itemName) {
+        add(START_ARRAY, itemName);
+    }
+
+    void endArray() {
+        add(END_ARRAY, null);
+    }
+
+    void field(String name) {
+        add(FIELD, name);
+    }
+
+    void value(Object value) {
+        add(VALUE, value);
+    }
+
+    /**
+     * Append the events of a nested child value
+     */
+    void append(NestedValue child) {
+        ensureCapacity(size + child.size);
+        System.arraycopy(child.events, 0, events, size, child.size);
+        System.arraycopy(child.arguments, 0, arguments, size, child.size);
+        size += child.size;
+    }
+
+    private void add(byte event, Object argument) {
+        ensureCapacity(size + 1);
+        events[size] = event;
+        arguments[size] = argument;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > events.length) {
+            int grown = Math.max(capacity, events.length * 2);
+            events = Arrays.copyOf(events, grown);
+            arguments = Arrays.copyOf(arguments, grown);
+        }
+    }
+
+    /**
+     * Serialized as the document it records, e.g. in preview responses
+     */
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        accept(new Visitor() {
+            @Override
+            public void startObject() throws IOException {
+                generator.writeStartObject();
+            }
+
+            @Override
+            public void endObject() throws IOException {
+                generator.writeEndObject();
+            }
+
+            @Override
+            public void startArray(String itemName) throws IOException {
+                generator.writeStartArray();
+            }
+
+            @Override
+            public void endArray() throws IOException {
+                generator.writeEndArray();
+            }
+
+            @Override
+            public void field(String name) throws IOException {
+                generator.writeFieldName(name);
+            }
+
+            @Override
+            public void value(Object value) throws IOException {
+                serializers.defaultSerializeValue(value, generator);
+            }
+        });
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+}
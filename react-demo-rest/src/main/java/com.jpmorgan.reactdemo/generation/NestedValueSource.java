@@ -0,0 +1,104 @@
+package com.jpmorgan.reactdemo.generation;
+
+import com.github.javafaker.Faker;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+
+import java.util.Map;
+
+/**
+ * Generates the {@link NestedValue} of a Nested.object or Nested.array field, depth first: each object's
+ * child fields are generated like the fields of a row, in dependency order and with the object as their
+ * row context, then recorded in declared order. Nested children record their own events, which are
+ * appended to their parent's. Every object and array item of a row is generated with the row's index.
+ * Immutable.
+ */
+public final class NestedValueSource implements ValueSource {
+
+    /**
+     * Generates the values of some fields for one object, as the generation service does for a row
+     */
+    @FunctionalInterface
+    public interface ObjectGenerator {
+        Map<String, Object> generate(CompiledSchema fields, long rowIndex, Faker faker);
+    }
+
+    private final CompiledSchema children;
+    private final ObjectGenerator objects;
+    private final Cardinality cardinality; // null for an object
+    private final String itemName;
+    private final boolean values; // Items are the values of the single child, not objects
+
+    private NestedValueSource(CompiledSchema children, ObjectGenerator objects, Cardinality cardinality,
+            String itemName, boolean values) {
+        this.children = children;
+        this.objects = objects;
+        this.cardinality = cardinality;
+        this.itemName = itemName;
+        this.values = values;
+    }
+
+    public static NestedValueSource object(CompiledSchema children, ObjectGenerator objects) {
+        return new NestedValueSource(children, objects, null, null, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the items are values and there is not exactly one child field
+     */
+    public static NestedValueSource array(CompiledSchema children, ObjectGenerator objects, Cardinality cardinality,
+            String itemName, boolean values) {
+        if (values && children.getColumns().size() != 1) {
+            throw new IllegalArgumentException("An array of values needs exactly one child field.");
+        }
+        return new NestedValueSource(children, objects, cardinality, itemName, values);
+    }
+
+    public CompiledSchema getChildren() {
+        return children;
+    }
+
+    /**
+     * Whether this is a Nested.array field, whose items all share their row's index
+     */
+    public boolean isArray() {
+        return cardinality != null;
+    }
+
+    @Override
+    public NestedValue next(Faker faker, long rowIndex, Map<String, Object> rowContext) {
+        NestedValue value = new NestedValue();
+        if (cardinality == null) {
+            writeObject(value, faker, rowIndex);
+            return value;
+        }
+
+        int count = cardinality.sample(faker.random());
+        value.startArray(itemName);
+        for (int i = 0; i < count; i++) {
+            if (values) {
+                writeValue(value, objects.generate(children, rowIndex, faker).get(children.getColumns().get(0).getName()));
+            } else {
+                writeObject(value, faker, rowIndex);
+            }
+        }
+        value.endArray();
+        return value;
+    }
+
+    private void writeObject(NestedValue value, Faker faker, long rowIndex) {
+        Map<String, Object> object = objects.generate(children, rowIndex, faker);
+        value.startObject();
+        for (CompiledField child : children.getColumns()) {
+            value.field(child.getName());
+            writeValue(value, object.get(child.getName()));
+        }
+        value.endObject();
+    }
+
+    private void writeValue(NestedValue value, Object child) {
+        if (child instanceof NestedValue nested) {
+            value.append(nested);
+        } else {
+            value.value(child);
+        }
+    }
+}
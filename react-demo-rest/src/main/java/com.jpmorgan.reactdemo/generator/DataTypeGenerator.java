@@ -1,6 +1,7 @@
 package com.jpmorgan.reactdemo.generator;
 
 import com.github.javafaker.Faker;
+import com.jpmorgan.reactdemo.formatting.LengthRange;
 import java.util.Map;
 
 //TODO: Create currency gen module in impl folder to test format settings and utilize new enhanced gen service
@@ -22,6 +23,47 @@ public interface DataTypeGenerator {
      */
     String getCategory();
 
+    /**
+     * Type of the values {@link #generateValue} returns.
+     */
+    default ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    /**
+     * Type of the values generated with these options, for generators whose options can change it.
+     */
+    default ValueType getValueType(String options) {
+        return getValueType();
+    }
+
+    /**
+     * Checks options once when a schema is compiled, before any value is generated.
+     * @param options The field's generator options.
+     * @throws IllegalArgumentException if the options can never produce a value.
+     */
+    default void validateOptions(String options) {
+    }
+
+    /**
+     * Binds the generator to a field's options once when a schema is compiled. Generators whose options
+     * are costly to interpret per value override this; the default validates the options and defers
+     * to {@link #generateValue}.
+     * @throws IllegalArgumentException if the options can never produce a value.
+     */
+    default ValueSource compile(String options) {
+        validateOptions(options);
+        return (faker, rowIndex, rowContext) -> generateValue(faker, options, rowContext);
+    }
+
+    /**
+     * Lengths of the values generated with these options, or null if unknown.
+     * Lets validation rules that can never pass be rejected when a schema is compiled.
+     */
+    default LengthRange valueLengths(String options) {
+        return null;
+    }
+
     /**
      * Generates a fake data value.
      * @param faker The Faker instance.
@@ -34,6 +76,15 @@ public interface DataTypeGenerator {
         return generate(faker, options);
     }
 
+    /**
+     * Generates a fake data value in its natural type, so that it can be formatted without a parse
+     * round-trip, as the Java type {@link #getValueType()} declares.
+     * Defaults to the String from {@link #generate(Faker, String, Map)}.
+     */
+    default Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return generate(faker, options, rowContext);
+    }
+
     /**
      * Generates a fake data value (simplified version).
      * @param faker The Faker instance.
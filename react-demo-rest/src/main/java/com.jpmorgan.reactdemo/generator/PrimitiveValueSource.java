@@ -0,0 +1,46 @@
+package com.jpmorgan.reactdemo.generator;
+
+import com.github.javafaker.Faker;
+
+import java.util.Map;
+
+/**
+ * A {@link ValueSource} that can hand over its values unboxed, so that chunks can fill primitive
+ * column buffers without allocating. Primitive values need no row context.
+ */
+public sealed interface PrimitiveValueSource extends ValueSource {
+
+    /**
+     * Values of a LONG field, epoch days of a DATE field, or epoch seconds (on the local timeline)
+     * of a DATE_TIME field. Sources of dates override {@link #next} to box them as such.
+     */
+    @FunctionalInterface
+    non-sealed interface OfLong extends PrimitiveValueSource {
+        long nextLong(Faker faker, long rowIndex);
+
+        @Override
+        default Object next(Faker faker, long rowIndex, Map<String, Object> rowContext) {
+            return nextLong(faker, rowIndex);
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfDouble extends PrimitiveValueSource {
+        double nextDouble(Faker faker, long rowIndex);
+
+        @Override
+        default Object next(Faker faker, long rowIndex, Map<String, Object> rowContext) {
+            return nextDouble(faker, rowIndex);
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfBoolean extends PrimitiveValueSource {
+        boolean nextBoolean(Faker faker, long rowIndex);
+
+        @Override
+        default Object next(Faker faker, long rowIndex, Map<String, Object> rowContext) {
+            return nextBoolean(faker, rowIndex);
+        }
+    }
+}
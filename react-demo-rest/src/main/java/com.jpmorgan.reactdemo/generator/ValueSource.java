@@ -0,0 +1,20 @@
+package com.jpmorgan.reactdemo.generator;
+
+import com.github.javafaker.Faker;
+
+import java.util.Map;
+
+/**
+ * A generator bound to one field's options by {@link DataTypeGenerator#compile(String)}, so that
+ * options are parsed once per schema rather than once per value. Must be safe to share between threads:
+ * anything that varies from row to row is derived from the Faker or the row index, never kept in the source.
+ */
+@FunctionalInterface
+public interface ValueSource {
+
+    /**
+     * The value for a row, typed as by {@link DataTypeGenerator#generateValue}
+     * @param rowIndex index of the row within the whole dataset, whichever chunk it is generated in
+     */
+    Object next(Faker faker, long rowIndex, Map<String, Object> rowContext);
+}
@@ -0,0 +1,23 @@
+package com.jpmorgan.reactdemo.generator;
+
+/**
+ * The Java type of the values a generator hands over from {@link DataTypeGenerator#generateValue},
+ * so that writers can write numbers, booleans and dates natively instead of guessing from text.
+ */
+public enum ValueType {
+    LONG,       // Long
+    DOUBLE,     // Double
+    DECIMAL,    // BigDecimal
+    BOOLEAN,    // Boolean
+    DATE,       // LocalDate
+    DATE_TIME,  // LocalDateTime
+    STRING;     // String
+
+    public boolean isNumeric() {
+        return this == LONG || this == DOUBLE || this == DECIMAL;
+    }
+
+    public boolean isTemporal() {
+        return this == DATE || this == DATE_TIME;
+    }
+}
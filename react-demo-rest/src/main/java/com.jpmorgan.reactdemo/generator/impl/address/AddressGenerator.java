@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.address;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component // Register as a Spring bean
 public class AddressGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{streetAddress}");
+
     @Override
     public String getKey() {
         return "Address.streetAddress";
@@ -14,7 +17,7 @@ public class AddressGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        return faker.address().streetAddress();
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
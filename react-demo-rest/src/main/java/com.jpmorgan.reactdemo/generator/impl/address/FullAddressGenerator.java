@@ -1,20 +1,35 @@
 package com.jpmorgan.reactdemo.generator.impl.address;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.geography.GeographyTable;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component // Register as a Spring bean
 public class FullAddressGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate STREET = CompositeTemplate.compile("{secondaryAddress?} {streetAddress}");
+    private static final GeographyTable GEOGRAPHY = GeographyTable.get();
+
     @Override
     public String getKey() {
         return "Address.fullAddress";
     }
 
+    @Override
+    public String generate(Faker faker, String options, Map<String, Object> rowContext) {
+        // City, state and ZIP code agree with each other and with the row's other geography fields
+        GeographyTable.Place place = GEOGRAPHY.placeOf(rowContext, faker.random());
+        return STREET.generate(faker.random()) + ", " + GEOGRAPHY.city(place) + ", "
+                + GEOGRAPHY.stateAbbreviation(place) + " " + GEOGRAPHY.zipCode(place);
+    }
+
     @Override
     public String generate(Faker faker, String options) {
-        return faker.address().fullAddress();
+        return generate(faker, options, null);
     }
 
     @Override
@@ -1,20 +1,30 @@
 package com.jpmorgan.reactdemo.generator.impl.address;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.geography.GeographyTable;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component
 public class StateAbbreviationGenerator implements DataTypeGenerator {
 
+    private static final GeographyTable GEOGRAPHY = GeographyTable.get();
+
     @Override
     public String getKey() {
         return "Address.stateAbbreviation";
     }
 
+    @Override
+    public String generate(Faker faker, String options, Map<String, Object> rowContext) {
+        return GEOGRAPHY.stateAbbreviation(GEOGRAPHY.placeOf(rowContext, faker.random()));
+    }
+
     @Override
     public String generate(Faker faker, String options) {
-        return faker.address().stateAbbr();
+        return generate(faker, options, null);
     }
 
     @Override
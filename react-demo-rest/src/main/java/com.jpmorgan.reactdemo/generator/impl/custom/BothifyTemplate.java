@@ -0,0 +1,60 @@
+package com.jpmorgan.reactdemo.generator.impl.custom;
+
+import com.github.javafaker.service.RandomService;
+
+/**
+ * A bothify pattern compiled once: the pattern's chars with the positions of its '#' (digit) and
+ * '?' (lowercase letter) slots, filled with one RNG draw each, as Faker.bothify would. Immutable.
+ */
+final class BothifyTemplate {
+
+    private final char[] chars;
+    private final int[] digitSlots;
+    private final int[] letterSlots;
+
+    private BothifyTemplate(char[] chars, int[] digitSlots, int[] letterSlots) {
+        this.chars = chars;
+        this.digitSlots = digitSlots;
+        this.letterSlots = letterSlots;
+    }
+
+    static BothifyTemplate compile(String pattern) {
+        char[] chars = pattern == null ? new char[0] : pattern.toCharArray();
+        int digits = 0;
+        int letters = 0;
+        for (char c : chars) {
+            if (c == '#') {
+                digits++;
+            } else if (c == '?') {
+                letters++;
+            }
+        }
+
+        int[] digitSlots = new int[digits];
+        int[] letterSlots = new int[letters];
+        digits = 0;
+        letters = 0;
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] == '#') {
+                digitSlots[digits++] = i;
+            } else if (chars[i] == '?') {
+                letterSlots[letters++] = i;
+            }
+        }
+        return new BothifyTemplate(chars, digitSlots, letterSlots);
+    }
+
+    String generate(RandomService random) {
+        if (digitSlots.length == 0 && letterSlots.length == 0) {
+            return new String(chars);
+        }
+        char[] value = chars.clone();
+        for (int slot : digitSlots) {
+            value[slot] = (char) ('0' + random.nextInt(10));
+        }
+        for (int slot : letterSlots) {
+            value[slot] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(value);
+    }
+}
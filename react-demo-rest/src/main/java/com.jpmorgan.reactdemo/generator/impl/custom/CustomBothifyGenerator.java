@@ -1,9 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.custom;
 
+import com.jpmorgan.reactdemo.formatting.LengthRange;
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+/**
+ * Faker's bothify patterns: each '#' becomes a digit and each '?' a lowercase letter.
+ * The pattern is compiled once per field into a {@link BothifyTemplate}.
+ */
 @Component // Register as a Spring bean
 public class CustomBothifyGenerator implements DataTypeGenerator {
 
@@ -12,13 +18,22 @@ public class CustomBothifyGenerator implements DataTypeGenerator {
         return "Custom.bothify";
     }
 
+    @Override
+    public LengthRange valueLengths(String options) {
+        // Each '#' and '?' is replaced by one character
+        return LengthRange.exactly(options == null ? 0 : options.length());
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        BothifyTemplate template = BothifyTemplate.compile(options);
+        return (faker, rowIndex, rowContext) -> template.generate(faker.random());
+    }
+
     @Override
     public String generate(Faker faker, String options) {
         // Use the options string as a pattern for bothify
-        if (options == null || options.isEmpty()) {
-            return "";
-        }
-        return faker.bothify(options);
+        return BothifyTemplate.compile(options).generate(faker.random());
     }
 
     @Override
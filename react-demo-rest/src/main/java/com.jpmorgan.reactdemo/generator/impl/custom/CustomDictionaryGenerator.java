@@ -0,0 +1,70 @@
+package com.jpmorgan.reactdemo.generator.impl.custom;
+
+import com.jpmorgan.reactdemo.dictionary.MappedDictionary;
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.service.DictionaryService;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Values drawn uniformly from an uploaded dictionary file; the options are the dictionary's id
+ * (see /api/dictionaries). The dictionary is looked up once per field and read in place.
+ */
+@Component // Register as a Spring bean
+public class CustomDictionaryGenerator implements DataTypeGenerator {
+
+    private final DictionaryService dictionaryService;
+
+    public CustomDictionaryGenerator(DictionaryService dictionaryService) {
+        this.dictionaryService = dictionaryService;
+    }
+
+    @Override
+    public String getKey() {
+        return "Custom.dictionary";
+    }
+
+    @Override
+    public void validateOptions(String options) {
+        dictionary(options);
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        MappedDictionary dictionary = dictionary(options);
+        return (faker, rowIndex, rowContext) -> dictionary.sample(faker.random());
+    }
+
+    private MappedDictionary dictionary(String options) {
+        if (options == null || options.isBlank()) {
+            throw new IllegalArgumentException("Options must contain the id of an uploaded dictionary.");
+        }
+        try {
+            return dictionaryService.getDictionary(options.strip());
+        } catch (NoSuchElementException e) {
+            throw new IllegalArgumentException("Unknown dictionary '" + options.strip() + "'.");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read dictionary " + options.strip(), e);
+        }
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return dictionary(options).sample(faker.random());
+    }
+
+    @Override
+    public String getName() {
+        return "Dictionary File";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Custom";
+    }
+}
@@ -1,9 +1,16 @@
 package com.jpmorgan.reactdemo.generator.impl.custom;
 
+import com.jpmorgan.reactdemo.formatting.LengthRange;
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.regex.RegexTemplate;
+import com.jpmorgan.reactdemo.regex.SafePattern;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+/**
+ * Strings matching a regex pattern, generated from a {@link RegexTemplate} compiled once per field
+ */
 @Component // Register as a Spring bean
 public class CustomRegexGenerator implements DataTypeGenerator {
 
@@ -13,12 +20,32 @@ public class CustomRegexGenerator implements DataTypeGenerator {
     }
 
     @Override
-    public String generate(Faker faker, String options) {
-        // Use the options string as a regex pattern
+    public void validateOptions(String options) {
+        compileTemplate(options);
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        RegexTemplate template = compileTemplate(options);
+        return (faker, rowIndex, rowContext) -> template.generate(faker.random());
+    }
+
+    private static RegexTemplate compileTemplate(String options) {
         if (options == null || options.isEmpty()) {
             throw new IllegalArgumentException("Options must contain a valid regex pattern.");
         }
-        return faker.regexify(options);
+        return RegexTemplate.compile(options);
+    }
+
+    @Override
+    public LengthRange valueLengths(String options) {
+        return options == null || options.isEmpty() ? null : SafePattern.lengthRange(options);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        // Use the options string as a regex pattern
+        return compileTemplate(options).generate(faker.random());
     }
 
     @Override
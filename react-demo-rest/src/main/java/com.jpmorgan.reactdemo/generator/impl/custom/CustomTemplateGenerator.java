@@ -0,0 +1,53 @@
+package com.jpmorgan.reactdemo.generator.impl.custom;
+
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+/**
+ * Composite values defined by the field's options, e.g. {@code {lastName}, {firstName} <{companyName}>}.
+ * The template is compiled once per field into a {@link CompositeTemplate}.
+ */
+@Component // Register as a Spring bean
+public class CustomTemplateGenerator implements DataTypeGenerator {
+
+    @Override
+    public String getKey() {
+        return "Custom.template";
+    }
+
+    @Override
+    public void validateOptions(String options) {
+        compileTemplate(options);
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        CompositeTemplate template = compileTemplate(options);
+        return (faker, rowIndex, rowContext) -> template.generate(faker.random());
+    }
+
+    private static CompositeTemplate compileTemplate(String options) {
+        if (options == null || options.isEmpty()) {
+            throw new IllegalArgumentException("Options must contain a template such as '{firstName} {lastName}'.");
+        }
+        return CompositeTemplate.compile(options);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return compileTemplate(options).generate(faker.random());
+    }
+
+    @Override
+    public String getName() {
+        return "Custom Template";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Custom";
+    }
+}
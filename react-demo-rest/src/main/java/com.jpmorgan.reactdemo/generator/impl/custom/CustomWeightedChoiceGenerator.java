@@ -0,0 +1,99 @@
+package com.jpmorgan.reactdemo.generator.impl.custom;
+
+import com.jpmorgan.reactdemo.formatting.LengthRange;
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.util.WeightedChoice;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enum-style values picked from a comma-separated list of options, uniformly ({@code OPEN, CLOSED}) or
+ * by weight ({@code 'OPEN':70, 'PENDING':25, 'CLOSED':5}). Quote an option to use commas in it.
+ * The options are compiled once per field into a {@link WeightedChoice}.
+ */
+@Component // Register as a Spring bean
+public class CustomWeightedChoiceGenerator implements DataTypeGenerator {
+
+    @Override
+    public String getKey() {
+        return "Custom.weightedChoice";
+    }
+
+    @Override
+    public void validateOptions(String options) {
+        compileChoice(options);
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        WeightedChoice choice = compileChoice(options);
+        return (faker, rowIndex, rowContext) -> choice.sample(faker.random());
+    }
+
+    @Override
+    public LengthRange valueLengths(String options) {
+        if (options == null || options.isBlank()) {
+            return null;
+        }
+        List<String> labels = compileChoice(options).getLabels();
+        return new LengthRange(labels.stream().mapToInt(String::length).min().orElse(0),
+                labels.stream().mapToInt(String::length).max().orElse(0));
+    }
+
+    private static WeightedChoice compileChoice(String options) {
+        if (options == null || options.isBlank()) {
+            throw new IllegalArgumentException("Options must list the values to choose from, e.g. 'OPEN':70, 'CLOSED':30.");
+        }
+        return WeightedChoice.parse(splitOptions(options));
+    }
+
+    /**
+     * Options separated by commas outside quotes, with the quotes around an unweighted option removed
+     */
+    private static List<String> splitOptions(String options) {
+        List<String> items = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < options.length(); i++) {
+            char c = options.charAt(i);
+            if (quote == 0 && c == ',') {
+                items.add(unquote(current.toString().strip()));
+                current.setLength(0);
+                continue;
+            }
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+            current.append(c);
+        }
+        items.add(unquote(current.toString().strip()));
+        return items;
+    }
+
+    private static String unquote(String item) {
+        boolean quoted = item.length() >= 2 && (item.charAt(0) == '\'' || item.charAt(0) == '"')
+                && item.charAt(item.length() - 1) == item.charAt(0);
+        return quoted ? item.substring(1, item.length() - 1) : item;
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return compileChoice(options).sample(faker.random());
+    }
+
+    @Override
+    public String getName() {
+        return "Weighted Choice";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Custom";
+    }
+}
@@ -1,15 +1,19 @@
 package com.jpmorgan.reactdemo.generator.impl.date;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
+/**
+ * Dates after a reference date (today by default), up to a year later, or within an explicit range.
+ * Options: {@code [date | start..end] [uniform|businessDays|recent]}, see {@link TemporalRange}.
+ */
 @Component
 public class DateGeneratorAfterDate implements DataTypeGenerator {
 
@@ -28,10 +32,23 @@ public class DateGeneratorAfterDate implements DataTypeGenerator {
         return "Date";
     }
 
+    @Override
+    public ValueType getValueType() {
+        return ValueType.DATE;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        return TemporalRange.ofDays(options, LocalDate.now(ZoneId.systemDefault()), TemporalRange.Reference.AFTER);
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
+    }
+
     @Override
     public String generate(Faker faker, String options) {
-        LocalDate generatedDate = faker.date().future(365, TimeUnit.DAYS).toInstant().atZone(
-                ZoneId.of(TimeZone.getDefault().getID())).toLocalDate();
-        return generatedDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return generateValue(faker, options, null).toString(); // ISO-8601
     }
 }
@@ -0,0 +1,58 @@
+package com.jpmorgan.reactdemo.generator.impl.date;
+
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Date-times to the second, in the year up to now by default.
+ * Options: {@code [start..end] [uniform|businessDays|recent]}, see {@link TemporalRange}; a date
+ * bound covers that whole day.
+ */
+@Component
+public class DateTimeBetweenGenerator implements DataTypeGenerator {
+
+    @Override
+    public String getKey() {
+        return "Date.dateTimeBetween";
+    }
+
+    @Override
+    public String getName() {
+        return "Date Time Between Generator";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Date";
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.DATE_TIME;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS);
+        return TemporalRange.ofSeconds(options, now);
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format((LocalDateTime) generateValue(faker, options, null));
+    }
+}
@@ -1,11 +1,14 @@
 package com.jpmorgan.reactdemo.generator.impl.date;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
+import java.util.Map;
 
 @Component
 public class SystemDateGenerator implements DataTypeGenerator {
@@ -25,9 +28,25 @@ public class SystemDateGenerator implements DataTypeGenerator {
         return "Date";
     }
 
+    @Override
+    public ValueType getValueType() {
+        return ValueType.DATE;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        // The date a request started, shared by all of its rows
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        return (faker, rowIndex, rowContext) -> today;
+    }
+
     @Override
     public String generate(Faker faker, String options) {
-        LocalDate currentDate = LocalDate.now();
-        return currentDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return LocalDate.now().toString(); // ISO-8601
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return LocalDate.now();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package com.jpmorgan.reactdemo.generator.impl.date;
+
+import com.github.javafaker.Faker;
+import com.github.javafaker.service.RandomService;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An inclusive range of epoch days (or epoch seconds, on the local timeline) parsed from date generator
+ * options, sampled with plain arithmetic on the RNG.
+ *
+ * Options are {@code [start][..end] [uniform|businessDays|recent]}. A bound is an ISO date (or date-time),
+ * {@code today}/{@code now}, or an offset from today such as {@code -30d}, {@code +2w}, {@code -6m}, {@code +1y}.
+ * A single bound without ".." is the reference date of an after/before generator; a missing side of a
+ * range is one year from the other.
+ * As a value source it hands over LocalDates (or LocalDateTimes), unboxed as epoch days (or seconds).
+ */
+final class TemporalRange implements PrimitiveValueSource.OfLong {
+
+    enum Distribution {
+        UNIFORM,
+        BUSINESS_DAYS, // Monday to Friday only
+        RECENT // density rising linearly towards the end of the range
+    }
+
+    /**
+     * What a single bound means
+     */
+    enum Reference {
+        AFTER,
+        BEFORE,
+        AROUND
+    }
+
+    static final long SECONDS_PER_DAY = 86_400;
+
+    private static final int DEFAULT_SPAN_DAYS = 365;
+    private static final Pattern OFFSET = Pattern.compile("([+-]\\d{1,6})([dwmy])");
+
+    private final long first;
+    private final long last;
+    private final Distribution distribution;
+    private final boolean seconds;
+
+    private TemporalRange(long first, long last, Distribution distribution, boolean seconds) {
+        this.first = first;
+        this.last = last;
+        this.distribution = distribution;
+        this.seconds = seconds;
+    }
+
+    /**
+     * A range of dates. Without options: the year after or before today.
+     * @throws IllegalArgumentException if the options are malformed or the range is empty
+     */
+    static TemporalRange ofDays(String options, LocalDate today, Reference reference) {
+        Parsed parsed = Parsed.of(options);
+        LocalDate start = parsed.start == null ? null : parseDate(parsed.start, today, options);
+        LocalDate end = parsed.end == null ? null : parseDate(parsed.end, today, options);
+        if (!parsed.range) {
+            LocalDate pivot = start != null ? start : today;
+            switch (reference) {
+                case AFTER -> {
+                    start = pivot.plusDays(1);
+                    end = pivot.plusDays(DEFAULT_SPAN_DAYS);
+                }
+                case BEFORE -> {
+                    start = pivot.minusDays(DEFAULT_SPAN_DAYS);
+                    end = pivot.minusDays(1);
+                }
+                case AROUND -> {
+                    start = pivot.minusDays(DEFAULT_SPAN_DAYS);
+                    end = pivot;
+                }
+            }
+        } else if (start == null && end == null) {
+            throw new IllegalArgumentException("Date range '" + options + "' has no bounds");
+        } else if (start == null) {
+            start = end.minusDays(DEFAULT_SPAN_DAYS);
+        } else if (end == null) {
+            end = start.plusDays(DEFAULT_SPAN_DAYS);
+        }
+        return checked(new TemporalRange(start.toEpochDay(), end.toEpochDay(), parsed.distribution, false), options);
+    }
+
+    /**
+     * A range of date-times, to the second. Without options: the year up to now.
+     * @throws IllegalArgumentException if the options are malformed or the range is empty
+     */
+    static TemporalRange ofSeconds(String options, LocalDateTime now) {
+        Parsed parsed = Parsed.of(options);
+        if (!parsed.range && parsed.start != null) {
+            throw new IllegalArgumentException("Date-time options '" + options + "' need a range such as 2024-01-01..2024-12-31");
+        }
+        LocalDateTime start = parsed.start == null ? null : parseDateTime(parsed.start, now, options, LocalTime.MIDNIGHT);
+        LocalDateTime end = parsed.end == null ? null : parseDateTime(parsed.end, now, options, LocalTime.of(23, 59, 59));
+        if (start == null && end == null) {
+            end = now;
+        }
+        if (start == null) {
+            start = end.minusDays(DEFAULT_SPAN_DAYS);
+        } else if (end == null) {
+            end = start.plusDays(DEFAULT_SPAN_DAYS);
+        }
+        return checked(new TemporalRange(start.toEpochSecond(ZoneOffset.UTC), end.toEpochSecond(ZoneOffset.UTC),
+                parsed.distribution, true), options);
+    }
+
+    private static TemporalRange checked(TemporalRange range, String options) {
+        if (range.first > range.last) {
+            throw new IllegalArgumentException("Date range '" + options + "' ends before it starts");
+        }
+        if (range.distribution == Distribution.BUSINESS_DAYS
+                && businessDaysBefore(range.lastDay() + 1) == businessDaysBefore(range.firstDay())) {
+            throw new IllegalArgumentException("Date range '" + options + "' contains no business days");
+        }
+        return range;
+    }
+
+    @Override
+    public long nextLong(Faker faker, long rowIndex) {
+        return sample(faker.random());
+    }
+
+    @Override
+    public Object next(Faker faker, long rowIndex, Map<String, Object> rowContext) {
+        long value = sample(faker.random());
+        return seconds ? LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC) : LocalDate.ofEpochDay(value);
+    }
+
+    /**
+     * An epoch day, or an epoch second for ranges of date-times
+     */
+    long sample(RandomService random) {
+        return switch (distribution) {
+            case UNIFORM -> first + random.nextLong(last - first + 1);
+            case RECENT -> first + (long) ((last - first + 1) * Math.sqrt(random.nextDouble()));
+            case BUSINESS_DAYS -> {
+                long from = businessDaysBefore(firstDay());
+                long day = nthBusinessDay(from + random.nextLong(businessDaysBefore(lastDay() + 1) - from));
+                if (!seconds) {
+                    yield day;
+                }
+                long dayStart = Math.max(first, day * SECONDS_PER_DAY);
+                long dayEnd = Math.min(last, day * SECONDS_PER_DAY + SECONDS_PER_DAY - 1);
+                yield dayStart + random.nextLong(dayEnd - dayStart + 1);
+            }
+        };
+    }
+
+    private long firstDay() {
+        return seconds ? Math.floorDiv(first, SECONDS_PER_DAY) : first;
+    }
+
+    private long lastDay() {
+        return seconds ? Math.floorDiv(last, SECONDS_PER_DAY) : last;
+    }
+
+    /**
+     * Weekdays in [1969-12-29, epochDay); 1969-12-29 was a Monday
+     */
+    private static long businessDaysBefore(long epochDay) {
+        long fromMonday = epochDay + 3;
+        return Math.floorDiv(fromMonday, 7) * 5 + Math.min(Math.floorMod(fromMonday, 7), 5);
+    }
+
+    private static long nthBusinessDay(long index) {
+        return Math.floorDiv(index, 5) * 7 + Math.floorMod(index, 5) - 3;
+    }
+
+    private static LocalDate parseDate(String bound, LocalDate today, String options) {
+        String lower = bound.toLowerCase(Locale.ROOT);
+        if (lower.equals("today") || lower.equals("now")) {
+            return today;
+        }
+        Matcher offset = OFFSET.matcher(lower);
+        if (offset.matches()) {
+            long amount = Long.parseLong(offset.group(1));
+            return switch (offset.group(2)) {
+                case "d" -> today.plusDays(amount);
+                case "w" -> today.plusWeeks(amount);
+                case "m" -> today.plusMonths(amount);
+                default -> today.plusYears(amount);
+            };
+        }
+        try {
+            return LocalDate.parse(bound);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + bound + "' in options '" + options
+                    + "': expected yyyy-MM-dd, today, or an offset such as -30d");
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String bound, LocalDateTime now, String options, LocalTime timeOfDay) {
+        String lower = bound.toLowerCase(Locale.ROOT);
+        if (lower.equals("now")) {
+            return now;
+        }
+        if (bound.indexOf('T') > 0) {
+            try {
+                return LocalDateTime.parse(bound);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date-time '" + bound + "' in options '" + options
+                        + "': expected yyyy-MM-ddTHH:mm[:ss]");
+            }
+        }
+        if (OFFSET.matcher(lower).matches()) {
+            return parseDate(bound, now.toLocalDate(), options).atTime(now.toLocalTime());
+        }
+        return parseDate(bound, now.toLocalDate(), options).atTime(timeOfDay);
+    }
+
+    /**
+     * Options split into bounds and distribution
+     */
+    private record Parsed(String start, String end, boolean range, Distribution distribution) {
+
+        static Parsed of(String options) {
+            String start = null;
+            String end = null;
+            boolean range = false;
+            Distribution distribution = Distribution.UNIFORM;
+            if (options == null) {
+                return new Parsed(null, null, false, distribution);
+            }
+            for (String token : options.trim().split("[\\s,]+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                Distribution named = distribution(token);
+                if (named != null) {
+                    distribution = named;
+                } else if (range || start != null) {
+                    throw new IllegalArgumentException("Unexpected '" + token + "' in date options '" + options
+                            + "': expected [start][..end] [uniform|businessDays|recent]");
+                } else if (token.contains("..")) {
+                    int dots = token.indexOf("..");
+                    range = true;
+                    start = dots == 0 ? null : token.substring(0, dots);
+                    end = dots + 2 == token.length() ? null : token.substring(dots + 2);
+                } else {
+                    start = token;
+                }
+            }
+            return new Parsed(start, end, range, distribution);
+        }
+
+        private static Distribution distribution(String token) {
+            return switch (token.toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "uniform" -> Distribution.UNIFORM;
+                case "businessdays", "weekdays" -> Distribution.BUSINESS_DAYS;
+                case "recent" -> Distribution.RECENT;
+                default -> null;
+            };
+        }
+    }
+}
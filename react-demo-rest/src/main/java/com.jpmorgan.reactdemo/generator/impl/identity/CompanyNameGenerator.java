@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.identity;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CompanyNameGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{companyName}");
+
     @Override
     public String getKey() {
         return "Business.companyName";
@@ -14,7 +17,7 @@ public class CompanyNameGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        return faker.company().name();
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
@@ -0,0 +1,60 @@
+package com.jpmorgan.reactdemo.generator.impl.key;
+
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
+import com.jpmorgan.reactdemo.relational.ForeignKey;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keys of a parent table's rows, spread over the child rows as {@link ForeignKey} describes.
+ * Options: {@code table=T [fanout=uniform|skewed|fixed] [skew=N] [children=N]}, where T is a table of the same
+ * multi-table request with a Key.primary field. Outside one, the parent's key space is given directly
+ * with {@code rows=N [start=N] [seed=N]}, matching the parent's Key.primary options.
+ */
+@Component // Register as a Spring bean
+public class ForeignKeyGenerator implements DataTypeGenerator {
+
+    public static final String KEY = "Key.foreign";
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.LONG;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        ForeignKey foreignKey = ForeignKey.parse(options);
+        PrimitiveValueSource.OfLong source = (faker, rowIndex) -> foreignKey.keyOf(rowIndex, faker.random());
+        return source;
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return String.valueOf(generateValue(faker, options, null));
+    }
+
+    @Override
+    public String getName() {
+        return "Foreign Key";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Key";
+    }
+}
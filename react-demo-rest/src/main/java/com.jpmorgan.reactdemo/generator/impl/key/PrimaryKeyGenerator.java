@@ -0,0 +1,63 @@
+package com.jpmorgan.reactdemo.generator.impl.key;
+
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
+import com.jpmorgan.reactdemo.relational.KeyOptions;
+import com.jpmorgan.reactdemo.relational.KeySpace;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Unique keys computed from the row index (see {@link KeySpace}), which Key.foreign fields of other tables
+ * can reference. Options: {@code [start=N] [rows=N] [seed=N]}; with a seed the keys of rows 0..rows-1 are
+ * start..start+rows-1 in a shuffled order. In a multi-table request rows= is the table's row count.
+ */
+@Component // Register as a Spring bean
+public class PrimaryKeyGenerator implements DataTypeGenerator {
+
+    public static final String KEY = "Key.primary";
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.LONG;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        KeySpace keys = KeySpace.of(KeyOptions.parse(options, KeySpace.OPTION_NAMES));
+        PrimitiveValueSource.OfLong source = (faker, rowIndex) -> keys.keyAt(rowIndex);
+        return source;
+    }
+
+    /**
+     * Without a row index: the key of the first row
+     */
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        return String.valueOf(generateValue(faker, options, null));
+    }
+
+    @Override
+    public String getName() {
+        return "Primary Key";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Key";
+    }
+}
@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.name;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component // Register as a Spring bean
 public class FirstNameGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{firstName}");
+
     @Override
     public String getKey() {
         return "Name.firstName";
@@ -14,7 +17,7 @@ public class FirstNameGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        return faker.name().firstName();
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.name;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FullNameGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{firstName} {middleInitial?}. {lastName}");
+
     @Override
     public String getKey() {
         return "Name.fullName";
@@ -14,16 +17,7 @@ public class FullNameGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        String firstName = faker.name().firstName();
-        String lastName = faker.name().lastName();
-        boolean includeMiddleInitial = faker.bool().bool();
-
-        if (includeMiddleInitial) {
-            char middleInitial = (char) ('A' + faker.random().nextInt(26));
-            return String.format("%s %c. %s", firstName, middleInitial, lastName);
-        } else {
-            return String.format("%s %s", firstName, lastName);
-        }
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.name;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component // Register as a Spring bean
 public class LastNameGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{lastName}");
+
     @Override
     public String getKey() {
         return "Name.lastName";
@@ -14,7 +17,7 @@ public class LastNameGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        return faker.name().lastName();
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
@@ -1,12 +1,15 @@
 package com.jpmorgan.reactdemo.generator.impl.name;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.template.CompositeTemplate;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
 @Component
 public class MiddleInitialGenerator implements DataTypeGenerator {
 
+    private static final CompositeTemplate TEMPLATE = CompositeTemplate.compile("{middleInitial}");
+
     @Override
     public String getKey() {
         return "Name.middleInitial";
@@ -14,8 +17,7 @@ public class MiddleInitialGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
-        char middleInitial = (char) ('A' + faker.random().nextInt(26));
-        return String.valueOf(middleInitial);
+        return TEMPLATE.generate(faker.random());
     }
 
     @Override
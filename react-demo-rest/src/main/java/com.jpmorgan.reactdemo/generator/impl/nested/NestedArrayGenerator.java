@@ -0,0 +1,99 @@
+package com.jpmorgan.reactdemo.generator.impl.nested;
+
+import com.jpmorgan.reactdemo.generation.Cardinality;
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An array of objects made of the field's child fields, or with {@code values}, of the values of its
+ * single child field. Options: {@code [min-max] [uniform|poisson|geometric] [mean=N] [item=name] [values]},
+ * e.g. {@code 0-10 poisson mean=2 item=account}. The size defaults to 0-3, uniformly; {@code item} names
+ * the XML element of each item and defaults to "item".
+ * Items are generated with their row's index, so child fields whose values are computed from it
+ * (Key.primary, Number.incremental) are rejected: they would repeat one value in every item.
+ */
+@Component // Register as a Spring bean
+public class NestedArrayGenerator implements DataTypeGenerator {
+
+    public static final String KEY = "Nested.array";
+
+    private static final Pattern RANGE = Pattern.compile("(\\d{1,5})(?:-(\\d{1,5}))?");
+
+    /**
+     * Parsed array options
+     * @param values whether items are the values of the single child field rather than objects
+     */
+    public record Options(Cardinality cardinality, String itemName, boolean values) {
+
+        private static final String USAGE = "expected [min-max] [uniform|poisson|geometric] [mean=N] [item=name] [values]";
+
+        /**
+         * @throws IllegalArgumentException if the options are malformed
+         */
+        public static Options parse(String options) {
+            int min = 0;
+            int max = 3;
+            Cardinality.Distribution distribution = Cardinality.Distribution.UNIFORM;
+            Double mean = null;
+            String itemName = "item";
+            boolean values = false;
+
+            for (String token : options == null ? new String[0] : options.trim().split("[\\s,]+")) {
+                String lower = token.toLowerCase(Locale.ROOT);
+                Matcher range = RANGE.matcher(token);
+                if (token.isEmpty()) {
+                    continue;
+                } else if (range.matches()) {
+                    min = Integer.parseInt(range.group(1));
+                    max = range.group(2) != null ? Integer.parseInt(range.group(2)) : min;
+                } else if (lower.equals("uniform") || lower.equals("poisson") || lower.equals("geometric")) {
+                    distribution = Cardinality.Distribution.valueOf(lower.toUpperCase(Locale.ROOT));
+                } else if (lower.startsWith("mean=")) {
+                    try {
+                        mean = Double.parseDouble(token.substring(5));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Array size mean must be a number: '" + token + "'.", e);
+                    }
+                } else if (lower.startsWith("item=") && token.length() > 5) {
+                    itemName = token.substring(5);
+                } else if (lower.equals("values")) {
+                    values = true;
+                } else {
+                    throw new IllegalArgumentException("Unexpected '" + token + "' in array options '" + options + "': " + USAGE);
+                }
+            }
+            return new Options(new Cardinality(min, max, distribution, mean != null ? mean : (min + max) / 2.0),
+                    itemName, values);
+        }
+    }
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+
+    @Override
+    public void validateOptions(String options) {
+        Options.parse(options);
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        throw new IllegalArgumentException("Nested arrays are generated from their child fields.");
+    }
+
+    @Override
+    public String getName() {
+        return "Nested Array";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Nested";
+    }
+}
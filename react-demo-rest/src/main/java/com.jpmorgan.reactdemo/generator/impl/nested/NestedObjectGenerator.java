@@ -0,0 +1,36 @@
+package com.jpmorgan.reactdemo.generator.impl.nested;
+
+import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.github.javafaker.Faker;
+import org.springframework.stereotype.Component;
+
+/**
+ * An object whose members are the field's child fields, generated like the fields of a row.
+ * Values are built by the generation service from the children; this bean registers the type.
+ * Nested fields can be written as JSON or XML.
+ */
+@Component // Register as a Spring bean
+public class NestedObjectGenerator implements DataTypeGenerator {
+
+    public static final String KEY = "Nested.object";
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+
+    @Override
+    public String generate(Faker faker, String options) {
+        throw new IllegalArgumentException("Nested objects are generated from their child fields.");
+    }
+
+    @Override
+    public String getName() {
+        return "Nested Object";
+    }
+
+    @Override
+    public String getCategory() {
+        return "Nested";
+    }
+}
@@ -1,56 +1,69 @@
 package com.jpmorgan.reactdemo.generator.impl.number;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
 import org.springframework.stereotype.Component;
 import com.github.javafaker.Faker;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sequential numbers. Each value is computed from its row index (start + rowIndex * step), so every field of
+ * every request has its own sequence and chunks generated in parallel never share a counter.
+ * Options: {@code [start[-end]] [step=N] [wrap] [pad=N]}, e.g. {@code 1000-9999 step=5 wrap}. Without an end
+ * the sequence runs until it leaves the range of long values; with one, it fails past the end unless it
+ * wraps around to the start. A negative step counts down from the end. {@code pad=N} zero-pads values to
+ * N digits, which makes them text. The former {@code RESET} keyword is accepted and has no effect.
+ */
 @Component // Register as a Spring bean
 public class IncrementalNumberGenerator implements DataTypeGenerator {
 
-    // Static variable to track the last generated number
-    private static int lastGeneratedNumber = 0;
+    public static final String KEY = "Number.incremental";
+
+    private static final Pattern RANGE = Pattern.compile("(-?\\d{1,19})(?:(?:\\.\\.|-)(-?\\d{1,19}))?");
+    private static final int MAX_PADDING = 32;
 
     @Override
     public String getKey() {
-        return "Number.incremental";
+        return KEY;
     }
 
     @Override
     public String generate(Faker faker, String options) {
-        if (options == null || options.isEmpty()) {
-            throw new IllegalArgumentException("Options must contain a valid number range in the format 'min-max'. Optionally, use 'RESET' to restart the sequence.");
-        }
-
-        boolean reset = options.contains("RESET");
-        options = options.replace("RESET", "").trim(); // Remove the keyword for processing
-
-        String[] range = options.split("-");
-        if (range.length != 2) {
-            throw new IllegalArgumentException("Options must contain a valid number range in the format 'min-max'.");
-        }
-
-        try {
-            int min = Integer.parseInt(range[0].trim());
-            int max = Integer.parseInt(range[1].trim());
-
-            if (min > max) {
-                throw new IllegalArgumentException("Minimum value cannot be greater than maximum value.");
-            }
+        return String.valueOf(generateValue(faker, options, null));
+    }
 
-            if (reset || lastGeneratedNumber == 0 || lastGeneratedNumber < min) {
-                lastGeneratedNumber = min; // Reset or start from min
-            } else {
-                lastGeneratedNumber++; // Increment
-            }
+    @Override
+    public ValueType getValueType() {
+        return ValueType.LONG;
+    }
 
-            if (lastGeneratedNumber > max) {
-                throw new IllegalArgumentException("Exceeded maximum value in incremental mode.");
-            }
+    @Override
+    public ValueType getValueType(String options) {
+        return Sequence.parse(options).padding > 0 ? ValueType.STRING : ValueType.LONG;
+    }
 
-            return String.valueOf(lastGeneratedNumber);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Options must contain valid integers.", e);
+    @Override
+    public ValueSource compile(String options) {
+        Sequence sequence = Sequence.parse(options);
+        if (sequence.padding > 0) {
+            return (faker, rowIndex, rowContext) -> sequence.padded(sequence.valueAt(rowIndex));
         }
+        PrimitiveValueSource.OfLong source = (faker, rowIndex) -> sequence.valueAt(rowIndex);
+        return source;
+    }
+
+    /**
+     * Without a row index: the first value of the sequence
+     */
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
     }
 
     @Override
@@ -62,4 +75,105 @@ public class IncrementalNumberGenerator implements DataTypeGenerator {
     public String getCategory() {
         return "Number";
     }
-}
\ No newline at end of file
+
+    /**
+     * A parsed sequence; immutable, so one instance serves every chunk of a field
+     */
+    private record Sequence(long first, long step, long length, boolean wrap, int padding) {
+
+        private static final String USAGE = "expected [start[-end]] [step=N] [wrap] [pad=N]";
+
+        /**
+         * @throws IllegalArgumentException if the options are malformed or describe an empty sequence
+         */
+        static Sequence parse(String options) {
+            long start = 1;
+            Long end = null;
+            long step = 1;
+            boolean wrap = false;
+            int padding = 0;
+            boolean hasRange = false;
+
+            for (String token : options == null ? new String[0] : options.trim().split("[\\s,]+")) {
+                String lower = token.toLowerCase(Locale.ROOT);
+                Matcher range = RANGE.matcher(token);
+                if (token.isEmpty() || lower.equals("reset")) {
+                    continue;
+                } else if (lower.equals("wrap")) {
+                    wrap = true;
+                } else if (lower.startsWith("step=")) {
+                    step = parseLong(token.substring(5), options);
+                } else if (lower.startsWith("pad=")) {
+                    padding = (int) parseLong(token.substring(4), options);
+                } else if (!hasRange && range.matches()) {
+                    hasRange = true;
+                    start = parseLong(range.group(1), options);
+                    end = range.group(2) != null ? parseLong(range.group(2), options) : null;
+                } else {
+                    throw new IllegalArgumentException("Unexpected '" + token + "' in incremental options '" + options
+                            + "': " + USAGE);
+                }
+            }
+
+            if (step == 0 || step == Long.MIN_VALUE) {
+                throw new IllegalArgumentException("Incremental step must be a non-zero long.");
+            }
+            if (padding < 0 || padding > MAX_PADDING) {
+                throw new IllegalArgumentException("Incremental padding must be between 0 and " + MAX_PADDING + " digits.");
+            }
+            if (end == null) {
+                if (wrap) {
+                    throw new IllegalArgumentException("Incremental option 'wrap' needs an end, e.g. 1-100 wrap.");
+                }
+                return new Sequence(start, step, -1, false, padding);
+            }
+            if (start > end) {
+                throw new IllegalArgumentException("Minimum value cannot be greater than maximum value.");
+            }
+            long width;
+            try {
+                width = Math.subtractExact(end, start);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Incremental range " + start + "-" + end + " is too wide.");
+            }
+            long length = width / Math.abs(step) + 1;
+            return new Sequence(step > 0 ? start : end, step, length, wrap, padding);
+        }
+
+        private static long parseLong(String text, String options) {
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Options must contain valid integers: '" + options + "'; " + USAGE, e);
+            }
+        }
+
+        long valueAt(long rowIndex) {
+            long index = rowIndex;
+            if (length > 0 && index >= length) {
+                if (!wrap) {
+                    throw new IllegalArgumentException("Exceeded maximum value in incremental mode.");
+                }
+                index %= length;
+            }
+            try {
+                return Math.addExact(first, Math.multiplyExact(index, step));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Incremental sequence left the range of long values.");
+            }
+        }
+
+        String padded(long value) {
+            String text = Long.toString(value);
+            int sign = value < 0 ? 1 : 0;
+            int digits = text.length() - sign;
+            if (digits >= padding) {
+                return text;
+            }
+            StringBuilder result = new StringBuilder(padding + sign);
+            result.append(text, 0, sign);
+            result.repeat('0', padding - digits);
+            return result.append(text, sign, text.length()).toString();
+        }
+    }
+}
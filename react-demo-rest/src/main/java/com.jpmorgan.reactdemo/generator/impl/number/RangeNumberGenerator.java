@@ -1,9 +1,14 @@
 package com.jpmorgan.reactdemo.generator.impl.number;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component // Register as a Spring bean
 public class RangeNumberGenerator implements DataTypeGenerator {
 
@@ -14,6 +19,29 @@ public class RangeNumberGenerator implements DataTypeGenerator {
 
     @Override
     public String generate(Faker faker, String options) {
+        return String.valueOf(generateValue(faker, options, null));
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.LONG;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        int[] range = parseRange(options);
+        int min = range[0];
+        long span = (long) range[1] - min + 1;
+        PrimitiveValueSource.OfLong source = (faker, rowIndex) -> min + faker.random().nextLong(span);
+        return source;
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return compile(options).next(faker, 0, rowContext);
+    }
+
+    private int[] parseRange(String options) {
         if (options == null || options.isEmpty()) {
             throw new IllegalArgumentException("Options must contain a valid number range in the format 'min-max'.");
         }
@@ -31,7 +59,7 @@ public class RangeNumberGenerator implements DataTypeGenerator {
                 throw new IllegalArgumentException("Minimum value cannot be greater than maximum value.");
             }
 
-            return String.valueOf(faker.number().numberBetween(min, max + 1));
+            return new int[] {min, max};
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Options must contain valid integers.", e);
         }
@@ -1,9 +1,14 @@
 package com.jpmorgan.reactdemo.generator.impl.values;
 
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
 import com.github.javafaker.Faker;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component // Register as a Spring bean
 public class TrueFalseGenerator implements DataTypeGenerator {
 
@@ -17,6 +22,22 @@ public class TrueFalseGenerator implements DataTypeGenerator {
         return faker.bool().bool() ? "True" : "False";
     }
 
+    @Override
+    public ValueType getValueType() {
+        return ValueType.BOOLEAN;
+    }
+
+    @Override
+    public ValueSource compile(String options) {
+        PrimitiveValueSource.OfBoolean source = (faker, rowIndex) -> faker.bool().bool();
+        return source;
+    }
+
+    @Override
+    public Object generateValue(Faker faker, String options, Map<String, Object> rowContext) {
+        return faker.bool().bool();
+    }
+
     @Override
     public String getName() {
         return "True/False";
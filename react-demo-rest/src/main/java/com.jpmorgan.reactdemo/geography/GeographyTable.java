@@ -0,0 +1,153 @@
+package com.jpmorgan.reactdemo.geography;
+
+import com.github.javafaker.service.RandomService;
+import com.jpmorgan.reactdemo.util.AliasTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * US cities with their state and ZIP code range, bundled as {@code geography/us-cities.csv} and loaded
+ * once into column arrays. Cities are drawn in proportion to their population, and ZIP codes uniformly
+ * from the drawn city's range, so that the city, state and ZIP code of a place always agree.
+ *
+ * Fields of one row share a {@link Place}: the first geography field generated for a row draws it and
+ * keeps it in the row's map, and the others reuse it, which gives one draw per row instead of one per
+ * field. Each nested object has a row map, and so a place, of its own. Thread-safe.
+ */
+public final class GeographyTable {
+
+    private static final String RESOURCE = "geography/us-cities.csv";
+
+    /**
+     * Key of a row's place in its row map; not a field name, and removed once the row is generated
+     */
+    public static final String PLACE_KEY = "\0place";
+
+    private final String[] cities;
+    private final int[] cityStates; // Index into stateNames and stateAbbreviations
+    private final int[] zipFirst;
+    private final int[] zipCount;
+    private final String[] stateNames;
+    private final String[] stateAbbreviations;
+    private final AliasTable byPopulation;
+
+    /**
+     * A city of the table and a ZIP code within its range
+     */
+    public record Place(int city, int zipCode) {
+    }
+
+    private GeographyTable(String[] cities, int[] cityStates, int[] zipFirst, int[] zipCount,
+            String[] stateNames, String[] stateAbbreviations, AliasTable byPopulation) {
+        this.cities = cities;
+        this.cityStates = cityStates;
+        this.zipFirst = zipFirst;
+        this.zipCount = zipCount;
+        this.stateNames = stateNames;
+        this.stateAbbreviations = stateAbbreviations;
+        this.byPopulation = byPopulation;
+    }
+
+    public static GeographyTable get() {
+        return Holder.TABLE;
+    }
+
+    private static final class Holder {
+        private static final GeographyTable TABLE = load();
+    }
+
+    /**
+     * The place of a row: drawn for the first geography field of the row, then reused by the others.
+     * Without a row, every call draws a new place.
+     */
+    public Place placeOf(Map<String, Object> row, RandomService random) {
+        if (row == null) {
+            return draw(random);
+        }
+        if (row.get(PLACE_KEY) instanceof Place place) {
+            return place;
+        }
+        Place place = draw(random);
+        row.put(PLACE_KEY, place);
+        return place;
+    }
+
+    public Place draw(RandomService random) {
+        int city = byPopulation.sample(random);
+        return new Place(city, zipFirst[city] + random.nextInt(zipCount[city]));
+    }
+
+    public String city(Place place) {
+        return cities[place.city()];
+    }
+
+    public String state(Place place) {
+        return stateNames[cityStates[place.city()]];
+    }
+
+    public String stateAbbreviation(Place place) {
+        return stateAbbreviations[cityStates[place.city()]];
+    }
+
+    public String zipCode(Place place) {
+        String digits = Integer.toString(place.zipCode());
+        return "00000".substring(digits.length()) + digits;
+    }
+
+    public int size() {
+        return cities.length;
+    }
+
+    private static GeographyTable load() {
+        InputStream in = GeographyTable.class.getClassLoader().getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("Missing geography reference table " + RESOURCE);
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            reader.readLine(); // Header
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    rows.add(line.split(",", -1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read geography reference table " + RESOURCE, e);
+        }
+
+        int n = rows.size();
+        String[] cities = new String[n];
+        int[] cityStates = new int[n];
+        int[] zipFirst = new int[n];
+        int[] zipCount = new int[n];
+        double[] populations = new double[n];
+        Map<String, Integer> states = new LinkedHashMap<>();
+        List<String> stateNames = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String[] row = rows.get(i);
+            if (row.length != 6) {
+                throw new IllegalStateException("Invalid line " + (i + 2) + " in " + RESOURCE);
+            }
+            cities[i] = row[0];
+            cityStates[i] = states.computeIfAbsent(row[1], abbreviation -> {
+                stateNames.add(row[2]);
+                return stateNames.size() - 1;
+            });
+            zipFirst[i] = Integer.parseInt(row[3]);
+            zipCount[i] = Integer.parseInt(row[4]) - zipFirst[i] + 1;
+            populations[i] = Double.parseDouble(row[5]);
+        }
+        return new GeographyTable(cities, cityStates, zipFirst, zipCount, stateNames.toArray(new String[0]),
+                states.keySet().toArray(new String[0]), AliasTable.of(populations));
+    }
+}
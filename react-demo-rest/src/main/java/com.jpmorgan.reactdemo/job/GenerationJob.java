@@ -0,0 +1,32 @@
+package com.jpmorgan.reactdemo.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jpmorgan.reactdemo.generation.FieldValidationStats;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A generation request whose output is written to a file on local disk
+ */
+@Data
+public class GenerationJob {
+    private String id;
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private String format;
+    private long rowCount; // Of all tables, for a multi-table job
+    private String fileName; // Suggested download name
+    private String contentType;
+    private String fingerprint; // Content hash of the request, used as the download's strong ETag
+    private Long sizeBytes;
+    private String errorMessage;
+    private Map<String, FieldValidationStats> validation; // Per-field rejections, updated while the job runs
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @JsonIgnore
+    private Path outputPath;
+}
@@ -0,0 +1,8 @@
+package com.jpmorgan.reactdemo.job;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -19,6 +19,9 @@ public class FieldDefinition {
     private String options; // Optional constraints (JSON string, regex, date format, etc.)
     private int fieldOrder; // To maintain column order
 
+    @Column(columnDefinition = "TEXT")
+    private String fields; // JSON child fields of Nested.object and Nested.array fields
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "schema_definition_id")
     @ToString.Exclude // Avoid circular reference issues in toString
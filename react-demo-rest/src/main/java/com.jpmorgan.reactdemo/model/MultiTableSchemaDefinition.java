@@ -0,0 +1,27 @@
+package com.jpmorgan.reactdemo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A saved multi-table schema. Its tables are kept as one JSON document, since they are only ever
+ * read and written whole.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class MultiTableSchemaDefinition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String tables; // JSON list of TableDefinitionDto
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,15 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+
+/**
+ * Produces the rows of one chunk; called concurrently from several workers
+ */
+@FunctionalInterface
+public interface ChunkSource {
+
+    /**
+     * @param recycled a chunk that has been written and may be refilled instead of allocating one, or null
+     */
+    DataChunk generate(int startRow, int size, DataChunk recycled);
+}
@@ -0,0 +1,39 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hands every chunk to several writers, so rows generated once can be written in several formats
+ */
+public class FanOutRecordWriter implements RecordWriter {
+
+    private final List<RecordWriter> writers;
+
+    public FanOutRecordWriter(List<RecordWriter> writers) {
+        this.writers = writers;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        for (RecordWriter writer : writers) {
+            writer.begin();
+        }
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        for (RecordWriter writer : writers) {
+            writer.writeChunk(chunk);
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        for (RecordWriter writer : writers) {
+            writer.end();
+        }
+    }
+}
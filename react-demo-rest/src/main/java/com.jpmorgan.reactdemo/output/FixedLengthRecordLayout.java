@@ -0,0 +1,130 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.formatting.FieldFormattingOptions;
+import com.jpmorgan.reactdemo.generation.CompiledField;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Byte layout of an output format in which every record has the same length.
+ * Record i then starts at {@code header.length + i * recordLength}, which lets
+ * independent workers write their rows straight into their own region of the file.
+ *
+ * Records are written one byte per character (ISO-8859-1); characters outside that
+ * range are replaced with '?' so that a record can never grow past its width.
+ */
+@Getter
+public class FixedLengthRecordLayout {
+
+    public static final String FIXED_WIDTH_FORMAT = "FIXEDWIDTH";
+    private static final String PLAIN_TEXT_FORMAT = "PLAINTEXT";
+
+    private static final byte PAD_BYTE = ' ';
+    private static final byte REPLACEMENT_BYTE = '?';
+    private static final byte LINE_TERMINATOR = '\n';
+
+    private final int[] widths;
+    private final byte[] separator;
+    private final byte[] header;
+    private final int recordLength;
+
+    private FixedLengthRecordLayout(int[] widths, byte[] separator, byte[] header) {
+        this.widths = widths;
+        this.separator = separator;
+        this.header = header;
+
+        int length = 1; // Line terminator
+        for (int width : widths) {
+            length += width;
+        }
+        length += Math.max(0, widths.length - 1) * separator.length;
+        this.recordLength = length;
+    }
+
+    /**
+     * Build the layout for a format, if the format and the schema's resolved formatting
+     * pin every record to a fixed length.
+     * FIXEDWIDTH writes columns back to back; PLAINTEXT keeps its header line and tab separators.
+     */
+    public static Optional<FixedLengthRecordLayout> forSchema(String format, CompiledSchema schema) {
+        if (format == null) {
+            return Optional.empty();
+        }
+
+        List<CompiledField> columns = schema.getColumns();
+        int[] widths = new int[columns.size()];
+        for (int i = 0; i < widths.length; i++) {
+            Integer width = fixedWidthOf(columns.get(i).getFormatting());
+            if (width == null) {
+                return Optional.empty();
+            }
+            widths[i] = width;
+        }
+
+        switch (format.toUpperCase()) {
+            case FIXED_WIDTH_FORMAT:
+                return Optional.of(new FixedLengthRecordLayout(widths, new byte[0], new byte[0]));
+            case PLAIN_TEXT_FORMAT:
+                String headerLine = String.join("\t", schema.getColumnNames()) + "\n";
+                return Optional.of(new FixedLengthRecordLayout(
+                        widths, new byte[]{'\t'}, headerLine.getBytes(StandardCharsets.ISO_8859_1)));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * The width a field always has after formatting, or null if its length can vary
+     */
+    private static Integer fixedWidthOf(FieldFormattingOptions formatting) {
+        if (formatting == null || formatting.getFixedLength() == null || formatting.getFixedLength().getLength() <= 0) {
+            return null;
+        }
+
+        int width = formatting.getFixedLength().getLength();
+        if (formatting.getMaxLength() != null && formatting.getMaxLength() > 0) {
+            width = Math.min(width, formatting.getMaxLength()); // Max length is applied after fixed length
+        }
+        return width;
+    }
+
+    /**
+     * Write one record of a chunk at the buffer's current position.
+     * Values are padded or cut to their column width, so error markers cannot shift later records.
+     */
+    public void writeRecord(DataChunk chunk, int row, ByteBuffer target) {
+        for (int c = 0; c < widths.length; c++) {
+            if (c > 0) {
+                target.put(separator);
+            }
+
+            Object value = chunk.get(c, row);
+            String text = value != null ? ValueFormats.DEFAULT.toText(value) : "";
+            int width = widths[c];
+            int length = Math.min(text.length(), width);
+
+            for (int i = 0; i < length; i++) {
+                char ch = text.charAt(i);
+                target.put(ch < 256 ? (byte) ch : REPLACEMENT_BYTE);
+            }
+            for (int i = length; i < width; i++) {
+                target.put(PAD_BYTE);
+            }
+        }
+        target.put(LINE_TERMINATOR);
+    }
+
+    /**
+     * Total file size for a given number of records
+     */
+    public long fileLength(long rowCount) {
+        return header.length + rowCount * recordLength;
+    }
+}
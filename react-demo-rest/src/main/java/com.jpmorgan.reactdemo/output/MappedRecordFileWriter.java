@@ -0,0 +1,101 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Writes fixed-length records to a preallocated file in parallel.
+ * Each chunk of rows owns a disjoint, memory-mapped region of the file, so workers
+ * never coordinate with each other and rows never need to be reordered.
+ */
+@Slf4j
+public class MappedRecordFileWriter {
+
+    private final FixedLengthRecordLayout layout;
+    private final ExecutorService executor;
+    private final int chunkRows;
+
+    public MappedRecordFileWriter(FixedLengthRecordLayout layout, ExecutorService executor, int chunkRows) {
+        this.layout = layout;
+        this.executor = executor;
+        // A single mapping cannot exceed Integer.MAX_VALUE bytes
+        this.chunkRows = Math.max(1, Math.min(chunkRows, Integer.MAX_VALUE / layout.getRecordLength()));
+    }
+
+    /**
+     * Generate and write rowCount records to target, replacing any existing file.
+     * @return the size of the written file in bytes
+     */
+    public long write(Path target, int rowCount, ChunkSource source) throws IOException {
+        long fileLength = layout.fileLength(rowCount);
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            // Preallocate up front so that workers only ever map regions inside the file
+            if (fileLength > 0) {
+                channel.write(ByteBuffer.wrap(new byte[1]), fileLength - 1);
+            }
+            channel.write(ByteBuffer.wrap(layout.getHeader()), 0);
+
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int start = 0; start < rowCount; start += chunkRows) {
+                int chunkStart = start;
+                int size = Math.min(chunkRows, rowCount - start);
+                chunks.add(executor.submit(() -> {
+                    writeChunk(channel, source.generate(chunkStart, size, null));
+                    return null;
+                }));
+            }
+
+            awaitAll(chunks);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        log.debug("Wrote {} fixed-length records ({} bytes) to {}", rowCount, fileLength, target);
+        return fileLength;
+    }
+
+    private void writeChunk(FileChannel channel, DataChunk chunk) throws IOException {
+        long offset = layout.fileLength(chunk.getStartRow());
+        long length = (long) chunk.getSize() * layout.getRecordLength();
+
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, offset, length);
+        for (int row = 0; row < chunk.getSize(); row++) {
+            layout.writeRecord(chunk, row, region);
+        }
+    }
+
+    private void awaitAll(List<Future<?>> chunks) throws IOException {
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing records", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to write records: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
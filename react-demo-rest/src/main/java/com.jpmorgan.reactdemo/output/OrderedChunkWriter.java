@@ -0,0 +1,59 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Generates chunks on parallel workers and hands them to a writer strictly in row order.
+ * At most maxInFlight chunks are generated ahead of the writer, which bounds memory use.
+ * Written chunks are handed back to the source to be refilled, so their buffers are allocated once.
+ */
+public class OrderedChunkWriter {
+
+    private final ExecutorService executor;
+    private final int chunkRows;
+    private final int maxInFlight;
+
+    public OrderedChunkWriter(ExecutorService executor, int chunkRows, int maxInFlight) {
+        this.executor = executor;
+        this.chunkRows = Math.max(1, chunkRows);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public void write(int rowCount, ChunkSource source, RecordWriter writer) throws IOException {
+        Deque<Future<DataChunk>> inFlight = new ArrayDeque<>();
+        Deque<DataChunk> written = new ArrayDeque<>();
+        int nextRow = 0;
+
+        try {
+            while (nextRow < rowCount || !inFlight.isEmpty()) {
+                while (nextRow < rowCount && inFlight.size() < maxInFlight) {
+                    int startRow = nextRow;
+                    int size = Math.min(chunkRows, rowCount - nextRow);
+                    DataChunk recycled = written.poll();
+                    inFlight.add(executor.submit(() -> source.generate(startRow, size, recycled)));
+                    nextRow += size;
+                }
+                DataChunk chunk = inFlight.poll().get();
+                writer.writeChunk(chunk);
+                written.add(chunk);
+            }
+        } catch (InterruptedException e) {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating rows", e);
+        } catch (ExecutionException e) {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+            throw new IOException("Failed to generate rows: " + e.getCause().getMessage(), e.getCause());
+        } catch (IOException | RuntimeException e) {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+            throw e;
+        }
+    }
+}
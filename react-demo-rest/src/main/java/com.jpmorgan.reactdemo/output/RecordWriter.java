@@ -0,0 +1,26 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+
+import java.io.IOException;
+
+/**
+ * Streams generated rows in one output format.
+ * Rows arrive chunk by chunk and in order; nothing is buffered beyond the current chunk,
+ * so output size is not limited by the heap.
+ */
+public interface RecordWriter {
+
+    /**
+     * Write anything that precedes the first row (header, opening bracket, ...)
+     */
+    void begin() throws IOException;
+
+    void writeChunk(DataChunk chunk) throws IOException;
+
+    /**
+     * Write anything that follows the last row and flush.
+     * The underlying stream is left open; it belongs to the caller.
+     */
+    void end() throws IOException;
+}
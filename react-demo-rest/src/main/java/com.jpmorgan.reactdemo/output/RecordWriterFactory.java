@@ -0,0 +1,106 @@
+package com.jpmorgan.reactdemo.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.jpmorgan.reactdemo.config.OutputProperties;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.output.writer.CsvRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.FixedWidthRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.JsonRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.ParquetRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.PlainTextRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.SqlRecordWriter;
+import com.jpmorgan.reactdemo.output.writer.XmlRecordWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the streaming {@link RecordWriter} for an output format
+ */
+@Component
+public class RecordWriterFactory {
+
+    private static final Set<String> SUPPORTED_FORMATS =
+            Set.of("CSV", "JSON", "XML", "SQL", "PLAINTEXT", "PARQUET", FixedLengthRecordLayout.FIXED_WIDTH_FORMAT);
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final XmlMapper xmlMapper;
+    private final OutputProperties outputProperties;
+
+    public RecordWriterFactory(ObjectMapper objectMapper, CsvMapper csvMapper, XmlMapper xmlMapper,
+            OutputProperties outputProperties) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = csvMapper;
+        this.xmlMapper = xmlMapper;
+        this.outputProperties = outputProperties;
+    }
+
+    /**
+     * Check that a writer can be created, so bad requests fail before any output is sent
+     */
+    public void validate(String format, CompiledSchema schema, String tableName) {
+        String normalized = normalize(format);
+        if (!SUPPORTED_FORMATS.contains(normalized)) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        if (schema.hasNestedFields() && !normalized.equals("JSON") && !normalized.equals("XML")) {
+            throw new IllegalArgumentException("Nested fields can only be written as JSON or XML.");
+        }
+        if (normalized.equals("SQL") && (tableName == null || tableName.isBlank())) {
+            throw new IllegalArgumentException("Table name is required for SQL format.");
+        }
+        if (normalized.equals(FixedLengthRecordLayout.FIXED_WIDTH_FORMAT)
+                && FixedLengthRecordLayout.forSchema(normalized, schema).isEmpty()) {
+            throw new IllegalArgumentException("FIXEDWIDTH output requires a fixed length on every field.");
+        }
+    }
+
+    public RecordWriter create(String format, CompiledSchema schema, String tableName, OutputStream out)
+            throws IOException {
+        validate(format, schema, tableName);
+        List<String> columnNames = schema.getColumnNames();
+
+        return switch (normalize(format)) {
+            case "CSV" -> new CsvRecordWriter(csvMapper, columnNames, out);
+            case "JSON" -> new JsonRecordWriter(objectMapper, columnNames, out);
+            case "XML" -> new XmlRecordWriter(xmlMapper, columnNames, out);
+            case "SQL" -> new SqlRecordWriter(tableName, columnNames, out);
+            case "PLAINTEXT" -> new PlainTextRecordWriter(columnNames, out);
+            case "PARQUET" -> new ParquetRecordWriter(schema, outputProperties.getParquetRowGroupRows(), out);
+            default -> new FixedWidthRecordWriter(
+                    FixedLengthRecordLayout.forSchema(FixedLengthRecordLayout.FIXED_WIDTH_FORMAT, schema).orElseThrow(), out);
+        };
+    }
+
+    public String contentType(String format) {
+        return switch (normalize(format)) {
+            case "CSV" -> "text/csv";
+            case "JSON" -> "application/json";
+            case "XML" -> "application/xml";
+            case "SQL" -> "application/sql";
+            case "PARQUET" -> "application/vnd.apache.parquet";
+            default -> "text/plain";
+        };
+    }
+
+    public String fileExtension(String format) {
+        return switch (normalize(format)) {
+            case "PLAINTEXT" -> "txt";
+            case "FIXEDWIDTH" -> "dat";
+            default -> normalize(format).toLowerCase();
+        };
+    }
+
+    private String normalize(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Output format is required.");
+        }
+        return format.toUpperCase();
+    }
+}
@@ -0,0 +1,29 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A compression stage placed between a record writer and its target stream.
+ * Implementations are Spring beans, so new codecs are picked up by {@link CompressionCodecRegistry}
+ * without changes to the export code.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Name used in requests and in the Content-Encoding / Accept-Encoding headers (e.g. "gzip")
+     */
+    String getName();
+
+    String getFileExtension();
+
+    /**
+     * Content type of a standalone compressed file (job outputs, explicit compression)
+     */
+    String getMediaType();
+
+    /**
+     * Wrap a stream. Closing the returned stream finishes the compressed data and closes {@code out}.
+     */
+    OutputStream compress(OutputStream out, CompressionSettings settings) throws IOException;
+}
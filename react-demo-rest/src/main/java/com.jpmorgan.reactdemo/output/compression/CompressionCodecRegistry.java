@@ -0,0 +1,86 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * All available codecs, and Accept-Encoding negotiation over them
+ */
+@Component
+public class CompressionCodecRegistry {
+
+    public static final String NONE = "none";
+
+    private final List<CompressionCodec> codecs; // In preference order (@Order)
+
+    public CompressionCodecRegistry(List<CompressionCodec> codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Codec by name; empty for null, blank, "none" or "identity"
+     * @throws IllegalArgumentException for an unknown codec name
+     */
+    public Optional<CompressionCodec> find(String name) {
+        if (name == null || name.isBlank() || name.equalsIgnoreCase(NONE) || name.equalsIgnoreCase("identity")) {
+            return Optional.empty();
+        }
+        CompressionCodec codec = codecs.stream()
+                .filter(candidate -> candidate.getName().equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported compression: " + name
+                        + ". Supported: " + codecs.stream().map(CompressionCodec::getName).toList()));
+        return Optional.of(codec);
+    }
+
+    /**
+     * Pick the codec with the highest q-value in an Accept-Encoding header.
+     * Ties go to the codec registered first; "*" applies to codecs not listed explicitly.
+     */
+    public Optional<CompressionCodec> negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Optional.empty();
+        }
+
+        CompressionCodec best = null;
+        double bestQuality = 0;
+        for (CompressionCodec codec : codecs) {
+            double quality = quality(acceptEncoding, codec.getName());
+            if (quality > bestQuality) {
+                best = codec;
+                bestQuality = quality;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private double quality(String acceptEncoding, String codecName) {
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+
+            if (coding.equals(codecName)) {
+                return q;
+            }
+            if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard != null ? wildcard : 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import lombok.Data;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * How a codec should compress one output
+ */
+@Data
+public class CompressionSettings {
+    private final int level; // 1 (fastest) .. 9 (smallest)
+    private final boolean parallel; // Compress blocks on several cores
+    private final int blockSize; // Uncompressed bytes per block in parallel mode
+    private final ExecutorService executor; // Workers for parallel mode
+}
@@ -0,0 +1,60 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * HTTP "deflate", which is the zlib format (RFC 1950), not raw deflate
+ */
+@Component
+@Order(2)
+public class DeflateCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public String getName() {
+        return "deflate";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "zz";
+    }
+
+    @Override
+    public String getMediaType() {
+        return "application/zlib";
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionSettings settings) throws IOException {
+        if (settings.isParallel()) {
+            return new ParallelDeflateOutputStream(out, ParallelDeflateOutputStream.Container.ZLIB, settings);
+        }
+        return new ZlibOutputStream(out, new Deflater(settings.getLevel()));
+    }
+
+    /**
+     * DeflaterOutputStream does not release a Deflater it was given, so do it on close
+     */
+    private static class ZlibOutputStream extends DeflaterOutputStream {
+        ZlibOutputStream(OutputStream out, Deflater deflater) {
+            super(out, deflater, BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip (RFC 1952), preferred when a client accepts several encodings equally
+ */
+@Component
+@Order(1)
+public class GzipCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public String getName() {
+        return "gzip";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "gz";
+    }
+
+    @Override
+    public String getMediaType() {
+        return "application/gzip";
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionSettings settings) throws IOException {
+        if (settings.isParallel()) {
+            return new ParallelDeflateOutputStream(out, ParallelDeflateOutputStream.Container.GZIP, settings);
+        }
+        return new LevelGzipOutputStream(out, settings.getLevel());
+    }
+
+    private static class LevelGzipOutputStream extends GZIPOutputStream {
+        LevelGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
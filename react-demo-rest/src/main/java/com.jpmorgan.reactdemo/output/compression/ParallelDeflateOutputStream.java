@@ -0,0 +1,227 @@
+package com.jpmorgan.reactdemo.output.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * Block-parallel deflate in the style of pigz.
+ *
+ * Input is cut into fixed-size blocks that are compressed as raw deflate on the executor.
+ * Each block is primed with the last 32 KiB of the block before it, so the ratio stays close
+ * to single-threaded deflate. Every block but the last ends on a sync flush (byte-aligned,
+ * not final), so the compressed blocks simply concatenate into one valid deflate stream.
+ * The container header and trailer (gzip or zlib) and the checksum over the uncompressed
+ * data are written on the calling thread, in order.
+ */
+public class ParallelDeflateOutputStream extends FilterOutputStream {
+
+    public enum Container { GZIP, ZLIB }
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int MIN_BLOCK_SIZE = 64 * 1024;
+
+    private final Container container;
+    private final int level;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Checksum checksum;
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength;
+    private byte[] dictionary; // Tail of the previous block
+    private long totalIn;
+    private boolean closed;
+
+    public ParallelDeflateOutputStream(OutputStream out, Container container, CompressionSettings settings)
+            throws IOException {
+        super(out);
+        this.container = container;
+        this.level = settings.getLevel();
+        this.executor = settings.getExecutor();
+        this.maxInFlight = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        this.checksum = container == Container.GZIP ? new CRC32() : new Adler32();
+        this.block = new byte[Math.max(MIN_BLOCK_SIZE, settings.getBlockSize())];
+        writeHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        checksum.update(b, off, len);
+        totalIn += len;
+
+        while (len > 0) {
+            int n = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, n);
+            blockLength += n;
+            off += n;
+            len -= n;
+            if (blockLength == block.length) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Only writes out blocks that are already compressed. Forcing a partial block out
+     * would cost ratio for every small flush a writer does.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+            out.write(await(inFlight.poll()));
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            submitBlock(true);
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.poll()));
+            }
+            writeTrailer();
+            out.flush();
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = Arrays.copyOf(block, blockLength);
+        byte[] dict = dictionary;
+        inFlight.add(executor.submit(() -> compressBlock(data, dict, last)));
+
+        if (data.length > 0) {
+            int dictLength = Math.min(DICTIONARY_SIZE, data.length);
+            dictionary = Arrays.copyOfRange(data, data.length - dictLength, data.length);
+        }
+        blockLength = 0;
+
+        // Bound memory: write out the oldest block once enough are queued
+        while (inFlight.size() >= maxInFlight) {
+            out.write(await(inFlight.poll()));
+        }
+    }
+
+    private byte[] compressBlock(byte[] data, byte[] dict, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dict != null) {
+                deflater.setDictionary(dict);
+            }
+            deflater.setInput(data);
+
+            byte[] buffer = new byte[Math.max(1024, data.length / 2)];
+            ByteArrayBuilder result = new ByteArrayBuilder(buffer.length);
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.append(buffer, deflater.deflate(buffer));
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.append(buffer, n);
+                } while (n == buffer.length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] await(Future<byte[]> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compression failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (container == Container.GZIP) {
+            // ID1 ID2, CM=deflate, no flags, no mtime, no extra flags, OS=unknown
+            out.write(new byte[]{0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff});
+        } else {
+            // CM=deflate with a 32K window, default-level hint, header check bits
+            out.write(new byte[]{0x78, (byte) 0x9c});
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        long value = checksum.getValue();
+        if (container == Container.GZIP) {
+            writeIntLittleEndian(value);
+            writeIntLittleEndian(totalIn);
+        } else {
+            out.write((int) (value >>> 24) & 0xff);
+            out.write((int) (value >>> 16) & 0xff);
+            out.write((int) (value >>> 8) & 0xff);
+            out.write((int) value & 0xff);
+        }
+    }
+
+    private void writeIntLittleEndian(long value) throws IOException {
+        out.write((int) value & 0xff);
+        out.write((int) (value >>> 8) & 0xff);
+        out.write((int) (value >>> 16) & 0xff);
+        out.write((int) (value >>> 24) & 0xff);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static class ByteArrayBuilder {
+        private byte[] bytes;
+        private int length;
+
+        ByteArrayBuilder(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void append(byte[] source, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+            System.arraycopy(source, 0, bytes, length, count);
+            length += count;
+        }
+
+        byte[] toByteArray() {
+            return bytes.length == length ? bytes : Arrays.copyOf(bytes, length);
+        }
+    }
+}
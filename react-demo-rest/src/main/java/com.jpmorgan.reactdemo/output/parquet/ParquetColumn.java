@@ -0,0 +1,333 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.generator.ValueType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One OPTIONAL column: buffers the values of the current row group and writes them as a
+ * gzip-compressed column chunk (an optional dictionary page followed by one data page).
+ * Values that chunks store unboxed as the column type are buffered unboxed too, in their
+ * physical representation.
+ */
+class ParquetColumn {
+
+    // Page types and encodings from parquet.thrift
+    private static final int DATA_PAGE = 0;
+    private static final int DICTIONARY_PAGE = 2;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_PLAIN_DICTIONARY = 2;
+    private static final int ENCODING_RLE = 3;
+    static final int CODEC_GZIP = 2;
+
+    private static final int MAX_DICTIONARY_ENTRIES = 65_536;
+    private static final int MAX_DICTIONARY_BYTES = 1024 * 1024;
+    private static final Object UNBOXED = new Object(); // the value is in unboxed[i]
+
+    private final String name;
+    private final ParquetColumnType type;
+    private Object[] values = new Object[1024];
+    private long[] unboxed; // longs, epoch days, epoch millis, double bits or 0/1; null for STRING columns
+    private int size;
+
+    ParquetColumn(String name, ParquetColumnType type) {
+        this.name = name;
+        this.type = type;
+        this.unboxed = type.getChunkType() != null ? new long[values.length] : null;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ParquetColumnType getType() {
+        return type;
+    }
+
+    void add(Object value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    /**
+     * Buffer rows [from, to) of a chunk column, without boxing them when the chunk stores them as the column type
+     */
+    void addAll(DataChunk chunk, int column, int from, int to) {
+        ValueType chunkType = chunk.getColumnType(column);
+        if (chunkType != type.getChunkType()) {
+            for (int r = from; r < to; r++) {
+                add(chunk.get(column, r));
+            }
+            return;
+        }
+
+        ensureCapacity(size + to - from);
+        for (int r = from; r < to; r++) {
+            if (chunk.isNull(column, r)) {
+                values[size++] = null;
+                continue;
+            }
+            unboxed[size] = switch (chunkType) {
+                case LONG -> chunk.getLong(column, r);
+                case DATE_TIME -> chunk.getLong(column, r) * 1000; // epoch seconds to millis
+                case DATE -> chunk.getEpochDay(column, r);
+                case DOUBLE -> Double.doubleToRawLongBits(chunk.getDouble(column, r));
+                case BOOLEAN -> chunk.getBoolean(column, r) ? 1 : 0;
+                case DECIMAL, STRING -> throw new IllegalStateException("Column '" + name + "' is not unboxed");
+            };
+            values[size++] = UNBOXED;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            int length = Math.max(capacity, values.length * 2);
+            values = Arrays.copyOf(values, length);
+            if (unboxed != null) {
+                unboxed = Arrays.copyOf(unboxed, length);
+            }
+        }
+    }
+
+    /**
+     * Boxed form of an unboxed value, as the chunk would have handed it over
+     */
+    private Object box(long value) {
+        return switch (type) {
+            case INT64 -> value;
+            case TIMESTAMP -> LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1000), 0, ZoneOffset.UTC);
+            case DATE -> LocalDate.ofEpochDay(value);
+            case DOUBLE -> Double.longBitsToDouble(value);
+            case BOOLEAN -> value != 0;
+            case STRING -> throw new IllegalStateException("Column '" + name + "' has no unboxed values");
+        };
+    }
+
+    /**
+     * Write the buffered values as one column chunk and clear the buffer. In a typed column, the only
+     * values not of its type are the [ERROR] markers of values that failed to generate; they are written as null.
+     */
+    ColumnChunkMetadata writeChunk(PositionOutputStream out) throws IOException {
+        int[] definitionLevels = new int[size];
+        int nonNull = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null && values[i] != UNBOXED && !type.accepts(values[i])) {
+                values[i] = null;
+            }
+            if (values[i] != null) {
+                if (type == ParquetColumnType.STRING) {
+                    values[i] = ValueFormats.DEFAULT.toText(values[i] == UNBOXED ? box(unboxed[i]) : values[i]);
+                }
+                definitionLevels[i] = 1;
+                nonNull++;
+            }
+        }
+
+        long chunkStart = out.getPosition();
+        long dictionaryPageOffset = -1;
+        long uncompressedSize = 0;
+        int valueEncoding = ENCODING_PLAIN;
+        byte[] valueBytes;
+
+        Map<String, Integer> dictionary = type == ParquetColumnType.STRING ? buildDictionary(nonNull) : null;
+        if (dictionary != null) {
+            dictionaryPageOffset = chunkStart;
+            uncompressedSize += writePage(out, DICTIONARY_PAGE, encodeDictionary(dictionary), dictionary.size());
+            valueBytes = encodeIndices(dictionary, nonNull);
+            valueEncoding = ENCODING_PLAIN_DICTIONARY;
+        } else {
+            valueBytes = encodePlain(nonNull);
+        }
+
+        long dataPageOffset = out.getPosition();
+        byte[] levels = RleBitPackedEncoder.encode(definitionLevels, size, 1);
+        ByteBuffer page = ByteBuffer.allocate(4 + levels.length + valueBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        page.putInt(levels.length).put(levels).put(valueBytes);
+        uncompressedSize += writeDataPage(out, page.array(), valueEncoding);
+
+        ColumnChunkMetadata metadata = new ColumnChunkMetadata(name, type, size,
+                dictionary != null ? List.of(ENCODING_PLAIN_DICTIONARY, ENCODING_RLE) : List.of(ENCODING_PLAIN, ENCODING_RLE),
+                chunkStart, dataPageOffset, dictionaryPageOffset, uncompressedSize, out.getPosition() - chunkStart);
+
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        return metadata;
+    }
+
+    /**
+     * Dictionary of distinct values in first-seen order, or null when the column is not low-cardinality enough
+     */
+    private Map<String, Integer> buildDictionary(int nonNull) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        long dictionaryBytes = 0;
+        for (int i = 0; i < size; i++) {
+            String value = (String) values[i];
+            if (value != null && !dictionary.containsKey(value)) {
+                dictionary.put(value, dictionary.size());
+                dictionaryBytes += 4 + value.length();
+                if (dictionary.size() > MAX_DICTIONARY_ENTRIES || dictionaryBytes > MAX_DICTIONARY_BYTES) {
+                    return null;
+                }
+            }
+        }
+        return !dictionary.isEmpty() && dictionary.size() * 2 <= nonNull ? dictionary : null;
+    }
+
+    private byte[] encodeDictionary(Map<String, Integer> dictionary) {
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, index) -> entries[index] = value);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String entry : entries) {
+            writePlainString(out, entry);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] encodeIndices(Map<String, Integer> dictionary, int nonNull) {
+        int[] indices = new int[nonNull];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null) {
+                indices[n++] = dictionary.get(values[i]);
+            }
+        }
+
+        int bitWidth = RleBitPackedEncoder.bitWidth(dictionary.size() - 1);
+        byte[] encoded = RleBitPackedEncoder.encode(indices, nonNull, bitWidth);
+        byte[] result = new byte[encoded.length + 1];
+        result[0] = (byte) bitWidth;
+        System.arraycopy(encoded, 0, result, 1, encoded.length);
+        return result;
+    }
+
+    private byte[] encodePlain(int nonNull) {
+        switch (type) {
+            case INT64, TIMESTAMP -> {
+                ByteBuffer buffer = ByteBuffer.allocate(nonNull * 8).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != null) {
+                        buffer.putLong(values[i] == UNBOXED ? unboxed[i] : ParquetColumnType.toLong(values[i]));
+                    }
+                }
+                return buffer.array();
+            }
+            case DOUBLE -> {
+                ByteBuffer buffer = ByteBuffer.allocate(nonNull * 8).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != null) {
+                        buffer.putDouble(values[i] == UNBOXED ? Double.longBitsToDouble(unboxed[i]) : (Double) values[i]);
+                    }
+                }
+                return buffer.array();
+            }
+            case BOOLEAN -> {
+                // Bit-packed, least significant bit first
+                byte[] bits = new byte[(nonNull + 7) / 8];
+                int n = 0;
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != null) {
+                        if (values[i] == UNBOXED ? unboxed[i] != 0 : (Boolean) values[i]) {
+                            bits[n >>> 3] |= (byte) (1 << (n & 7));
+                        }
+                        n++;
+                    }
+                }
+                return bits;
+            }
+            case DATE -> {
+                ByteBuffer buffer = ByteBuffer.allocate(nonNull * 4).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != null) {
+                        buffer.putInt(values[i] == UNBOXED ? (int) unboxed[i] : ParquetColumnType.toEpochDay(values[i]));
+                    }
+                }
+                return buffer.array();
+            }
+            default -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != null) {
+                        writePlainString(out, (String) values[i]);
+                    }
+                }
+                return out.toByteArray();
+            }
+        }
+    }
+
+    private long writeDataPage(PositionOutputStream out, byte[] body, int valueEncoding) throws IOException {
+        byte[] compressed = gzip(body);
+        byte[] header = new ThriftCompactWriter()
+                .i32Field(1, DATA_PAGE)
+                .i32Field(2, body.length)
+                .i32Field(3, compressed.length)
+                .structField(5)
+                .i32Field(1, size)
+                .i32Field(2, valueEncoding)
+                .i32Field(3, ENCODING_RLE)
+                .i32Field(4, ENCODING_RLE)
+                .endStruct()
+                .toByteArray();
+        out.write(header);
+        out.write(compressed);
+        return header.length + body.length;
+    }
+
+    private long writePage(PositionOutputStream out, int pageType, byte[] body, int valueCount) throws IOException {
+        byte[] compressed = gzip(body);
+        byte[] header = new ThriftCompactWriter()
+                .i32Field(1, pageType)
+                .i32Field(2, body.length)
+                .i32Field(3, compressed.length)
+                .structField(7)
+                .i32Field(1, valueCount)
+                .i32Field(2, ENCODING_PLAIN_DICTIONARY)
+                .endStruct()
+                .toByteArray();
+        out.write(header);
+        out.write(compressed);
+        return header.length + body.length;
+    }
+
+    private static void writePlainString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length & 0xff);
+        out.write((bytes.length >>> 8) & 0xff);
+        out.write((bytes.length >>> 16) & 0xff);
+        out.write((bytes.length >>> 24) & 0xff);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (OutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * What the footer needs to know about a written column chunk
+     */
+    record ColumnChunkMetadata(String name, ParquetColumnType type, long valueCount, List<Integer> encodings,
+            long chunkStart, long dataPageOffset, long dictionaryPageOffset,
+            long uncompressedSize, long compressedSize) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import com.jpmorgan.reactdemo.generator.ValueType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Column types written to Parquet, with the physical and converted types used in the footer schema
+ */
+public enum ParquetColumnType {
+    STRING(6, 0, null),                     // BYTE_ARRAY, UTF8
+    INT64(2, -1, ValueType.LONG),           // INT64
+    DOUBLE(5, -1, ValueType.DOUBLE),        // DOUBLE
+    BOOLEAN(0, -1, ValueType.BOOLEAN),      // BOOLEAN
+    DATE(1, 6, ValueType.DATE),             // INT32 days since epoch, DATE
+    TIMESTAMP(2, -1, ValueType.DATE_TIME);  // INT64 milliseconds since epoch of a local date-time, TIMESTAMP(MILLIS, not UTC-adjusted)
+
+    private final int physicalType;
+    private final int convertedType; // -1 when none
+    private final ValueType chunkType; // chunk columns whose unboxed values this type takes as they are
+
+    ParquetColumnType(int physicalType, int convertedType, ValueType chunkType) {
+        this.physicalType = physicalType;
+        this.convertedType = convertedType;
+        this.chunkType = chunkType;
+    }
+
+    int getPhysicalType() {
+        return physicalType;
+    }
+
+    int getConvertedType() {
+        return convertedType;
+    }
+
+    ValueType getChunkType() {
+        return chunkType;
+    }
+
+    /**
+     * Whether a generated value is of this type. Text is only of the STRING type.
+     */
+    boolean accepts(Object value) {
+        return switch (this) {
+            case STRING -> true;
+            case INT64 -> value instanceof Long || value instanceof Integer;
+            case DOUBLE -> value instanceof Double;
+            case BOOLEAN -> value instanceof Boolean;
+            case DATE -> value instanceof LocalDate;
+            case TIMESTAMP -> value instanceof LocalDateTime;
+        };
+    }
+
+    /**
+     * INT64 or TIMESTAMP value of an accepted value
+     */
+    static long toLong(Object value) {
+        return switch (value) {
+            case LocalDateTime dateTime -> dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+            default -> ((Number) value).longValue();
+        };
+    }
+
+    /**
+     * DATE value of an accepted value
+     */
+    static int toEpochDay(Object value) {
+        return (int) ((LocalDate) value).toEpochDay();
+    }
+}
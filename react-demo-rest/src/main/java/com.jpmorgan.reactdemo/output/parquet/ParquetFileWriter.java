@@ -0,0 +1,168 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an Apache Parquet file to a stream, without the Hadoop-based parquet-mr libraries.
+ *
+ * Rows are appended column by column into per-column buffers; every {@code rowGroupRows} rows the
+ * buffers are written as one row group (a gzip-compressed column chunk per column). Low-cardinality
+ * text columns are dictionary encoded. Column types are fixed up front by the caller, never guessed
+ * from the values.
+ * The footer (Thrift compact FileMetaData) is written by {@link #finish()}.
+ */
+public class ParquetFileWriter {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final int OPTIONAL = 1;
+    private static final String CREATED_BY = "TDGi6 parquet writer";
+
+    private final List<ParquetColumn> columns = new ArrayList<>();
+    private final int rowGroupRows;
+    private final PositionOutputStream out;
+    private final List<RowGroupMetadata> rowGroups = new ArrayList<>();
+    private int bufferedRows;
+    private long totalRows;
+
+    /**
+     * @param types type of each column
+     */
+    public ParquetFileWriter(List<String> columnNames, List<ParquetColumnType> types,
+            int rowGroupRows, OutputStream out) {
+        for (int c = 0; c < columnNames.size(); c++) {
+            columns.add(new ParquetColumn(columnNames.get(c), types.get(c)));
+        }
+        this.rowGroupRows = Math.max(1, rowGroupRows);
+        this.out = new PositionOutputStream(out);
+    }
+
+    public void start() throws IOException {
+        out.write(MAGIC);
+    }
+
+    public void write(DataChunk chunk) throws IOException {
+        int row = 0;
+        while (row < chunk.getSize()) {
+            int count = Math.min(chunk.getSize() - row, rowGroupRows - bufferedRows);
+            for (int c = 0; c < columns.size(); c++) {
+                columns.get(c).addAll(chunk, c, row, row + count);
+            }
+            bufferedRows += count;
+            row += count;
+
+            if (bufferedRows == rowGroupRows) {
+                writeRowGroup();
+            }
+        }
+    }
+
+    /**
+     * Write the last row group and the footer, and flush. The underlying stream is left open.
+     */
+    public void finish() throws IOException {
+        if (bufferedRows > 0) {
+            writeRowGroup();
+        }
+
+        byte[] footer = fileMetadata();
+        out.write(footer);
+        out.write(footer.length & 0xff);
+        out.write((footer.length >>> 8) & 0xff);
+        out.write((footer.length >>> 16) & 0xff);
+        out.write((footer.length >>> 24) & 0xff);
+        out.write(MAGIC);
+        out.flush();
+    }
+
+    private void writeRowGroup() throws IOException {
+        List<ParquetColumn.ColumnChunkMetadata> chunks = new ArrayList<>();
+        long byteSize = 0;
+        for (ParquetColumn column : columns) {
+            ParquetColumn.ColumnChunkMetadata chunk = column.writeChunk(out);
+            chunks.add(chunk);
+            byteSize += chunk.uncompressedSize();
+        }
+
+        rowGroups.add(new RowGroupMetadata(chunks, byteSize, bufferedRows));
+        totalRows += bufferedRows;
+        bufferedRows = 0;
+    }
+
+    private byte[] fileMetadata() {
+        ThriftCompactWriter writer = new ThriftCompactWriter()
+                .i32Field(1, 1)
+                .listField(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+
+        writer.beginStruct()
+                .stringField(4, "schema")
+                .i32Field(5, columns.size())
+                .endStruct();
+        for (ParquetColumn column : columns) {
+            ParquetColumnType type = column.getType();
+            writer.beginStruct()
+                    .i32Field(1, type.getPhysicalType())
+                    .i32Field(3, OPTIONAL)
+                    .stringField(4, column.getName());
+            if (type.getConvertedType() >= 0) {
+                writer.i32Field(6, type.getConvertedType());
+            }
+            // LogicalType union: 1 = STRING, 6 = DATE, 8 = TIMESTAMP (isAdjustedToUTC, unit: 1 = MILLIS)
+            switch (type) {
+                case STRING, DATE -> writer.structField(10)
+                        .structField(type == ParquetColumnType.STRING ? 1 : 6).endStruct()
+                        .endStruct();
+                case TIMESTAMP -> writer.structField(10)
+                        .structField(8).boolField(1, false).structField(2).structField(1).endStruct().endStruct().endStruct()
+                        .endStruct();
+                default -> {
+                }
+            }
+            writer.endStruct();
+        }
+
+        writer.i64Field(3, totalRows)
+                .listField(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroupMetadata rowGroup : rowGroups) {
+            writer.beginStruct()
+                    .listField(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.chunks().size());
+            for (ParquetColumn.ColumnChunkMetadata chunk : rowGroup.chunks()) {
+                writer.beginStruct()
+                        .i64Field(2, chunk.chunkStart())
+                        .structField(3);
+                writeColumnMetadata(writer, chunk);
+                writer.endStruct()
+                        .endStruct();
+            }
+            writer.i64Field(2, rowGroup.byteSize())
+                    .i64Field(3, rowGroup.rowCount())
+                    .endStruct();
+        }
+
+        return writer.stringField(6, CREATED_BY).toByteArray();
+    }
+
+    private void writeColumnMetadata(ThriftCompactWriter writer, ParquetColumn.ColumnChunkMetadata chunk) {
+        writer.i32Field(1, chunk.type().getPhysicalType())
+                .listField(2, ThriftCompactWriter.TYPE_I32, chunk.encodings().size());
+        chunk.encodings().forEach(writer::i32Element);
+        writer.listField(3, ThriftCompactWriter.TYPE_BINARY, 1)
+                .stringElement(chunk.name())
+                .i32Field(4, ParquetColumn.CODEC_GZIP)
+                .i64Field(5, chunk.valueCount())
+                .i64Field(6, chunk.uncompressedSize())
+                .i64Field(7, chunk.compressedSize())
+                .i64Field(9, chunk.dataPageOffset());
+        if (chunk.dictionaryPageOffset() >= 0) {
+            writer.i64Field(11, chunk.dictionaryPageOffset());
+        }
+    }
+
+    private record RowGroupMetadata(List<ParquetColumn.ColumnChunkMetadata> chunks, long byteSize, long rowCount) {
+    }
+}
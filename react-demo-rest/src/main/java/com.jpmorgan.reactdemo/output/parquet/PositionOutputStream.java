@@ -0,0 +1,38 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Tracks how many bytes have been written, for the offsets recorded in the Parquet footer
+ */
+class PositionOutputStream extends FilterOutputStream {
+
+    private long position;
+
+    PositionOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        position++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        position += len;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush(); // The underlying stream belongs to the caller
+    }
+}
@@ -0,0 +1,67 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Parquet's RLE / bit-packed hybrid encoding, used for definition levels and dictionary indices.
+ * A run of one repeated value is written as a single RLE run; anything else is bit-packed.
+ */
+final class RleBitPackedEncoder {
+
+    private RleBitPackedEncoder() {
+    }
+
+    static byte[] encode(int[] values, int count, int bitWidth) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (count == 0) {
+            return out.toByteArray();
+        }
+
+        if (allEqual(values, count)) {
+            writeVarint(out, (long) count << 1);
+            int value = values[0];
+            for (int i = 0; i < (bitWidth + 7) / 8; i++) {
+                out.write((value >>> (i * 8)) & 0xff);
+            }
+            return out.toByteArray();
+        }
+
+        // One bit-packed run of 8-value groups; padding values in the last group are ignored by readers
+        int groups = (count + 7) / 8;
+        writeVarint(out, ((long) groups << 1) | 1);
+        long buffer = 0;
+        int bufferedBits = 0;
+        for (int i = 0; i < groups * 8; i++) {
+            long value = i < count ? values[i] : 0;
+            buffer |= value << bufferedBits;
+            bufferedBits += bitWidth;
+            while (bufferedBits >= 8) {
+                out.write((int) (buffer & 0xff));
+                buffer >>>= 8;
+                bufferedBits -= 8;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static int bitWidth(int maxValue) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    }
+
+    private static boolean allEqual(int[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            if (values[i] != values[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,133 @@
+package com.jpmorgan.reactdemo.output.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Just enough of Thrift's compact protocol to write Parquet page headers and the file footer.
+ * Callers write fields in increasing id order and close every struct they open.
+ */
+class ThriftCompactWriter {
+
+    static final byte TYPE_I32 = 5;
+    static final byte TYPE_I64 = 6;
+    static final byte TYPE_BINARY = 8;
+    static final byte TYPE_LIST = 9;
+    static final byte TYPE_STRUCT = 12;
+    private static final byte TYPE_BOOLEAN_TRUE = 1;
+    private static final byte TYPE_BOOLEAN_FALSE = 2;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Deque<Short> lastFieldIds = new ArrayDeque<>();
+    private short lastFieldId;
+
+    ThriftCompactWriter i32Field(int id, int value) {
+        fieldHeader(id, TYPE_I32);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter i64Field(int id, long value) {
+        fieldHeader(id, TYPE_I64);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter boolField(int id, boolean value) {
+        fieldHeader(id, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+        return this;
+    }
+
+    ThriftCompactWriter stringField(int id, String value) {
+        fieldHeader(id, TYPE_BINARY);
+        string(value);
+        return this;
+    }
+
+    /**
+     * Start a nested struct field; end it with {@link #endStruct()}
+     */
+    ThriftCompactWriter structField(int id) {
+        fieldHeader(id, TYPE_STRUCT);
+        beginStruct();
+        return this;
+    }
+
+    /**
+     * Start a list field; follow with exactly {@code size} elements of {@code elementType}
+     */
+    ThriftCompactWriter listField(int id, byte elementType, int size) {
+        fieldHeader(id, TYPE_LIST);
+        if (size < 15) {
+            out.write((size << 4) | elementType);
+        } else {
+            out.write(0xf0 | elementType);
+            varint(size);
+        }
+        return this;
+    }
+
+    ThriftCompactWriter i32Element(int value) {
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter stringElement(String value) {
+        string(value);
+        return this;
+    }
+
+    /**
+     * Start a struct that is a list element; end it with {@link #endStruct()}
+     */
+    ThriftCompactWriter beginStruct() {
+        lastFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        return this;
+    }
+
+    ThriftCompactWriter endStruct() {
+        out.write(0); // Field stop
+        lastFieldId = lastFieldIds.pop();
+        return this;
+    }
+
+    /**
+     * Bytes of a top-level struct, closing it
+     */
+    byte[] toByteArray() {
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    private void fieldHeader(int id, byte type) {
+        int delta = id - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write((delta << 4) | type);
+        } else {
+            out.write(type);
+            varint(zigzag(id));
+        }
+        lastFieldId = (short) id;
+    }
+
+    private void string(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        varint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
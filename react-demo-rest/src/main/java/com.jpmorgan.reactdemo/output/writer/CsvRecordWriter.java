@@ -0,0 +1,64 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * CSV with a header row. Uses the same Jackson CSV generator (and therefore the same quoting rules)
+ * as the in-memory CSV output, writing each row as an array of column values.
+ */
+public class CsvRecordWriter implements RecordWriter {
+
+    private final JsonGenerator generator;
+
+    public CsvRecordWriter(CsvMapper csvMapper, List<String> columnNames, OutputStream out) throws IOException {
+        CsvSchema.Builder schemaBuilder = CsvSchema.builder();
+        for (String header : columnNames) {
+            schemaBuilder.addColumn(header);
+        }
+
+        this.generator = csvMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setSchema(schemaBuilder.build().withHeader());
+    }
+
+    @Override
+    public void begin() {
+        // Header is written by the generator together with the first row
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        for (int row = 0; row < chunk.getSize(); row++) {
+            generator.writeStartArray();
+            for (int c = 0; c < chunk.getColumnCount(); c++) {
+                if (chunk.isNull(c, row)) {
+                    generator.writeString(""); // An empty cell; writeNull() would misplace it within the row
+                    continue;
+                }
+                switch (chunk.getColumnType(c)) {
+                    case LONG -> generator.writeNumber(chunk.getLong(c, row));
+                    case BOOLEAN -> generator.writeString(chunk.getBoolean(c, row) ? "True" : "False");
+                    default -> {
+                        Object value = chunk.get(c, row);
+                        generator.writeString(value != null ? ValueFormats.DEFAULT.toText(value) : "");
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        generator.close();
+    }
+}
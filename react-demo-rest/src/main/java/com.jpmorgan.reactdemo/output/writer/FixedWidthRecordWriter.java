@@ -0,0 +1,50 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.output.FixedLengthRecordLayout;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Sequential counterpart of {@link com.jpmorgan.reactdemo.output.MappedRecordFileWriter},
+ * used when fixed-length records go to a stream (HTTP response, compressed file)
+ * instead of a preallocated file.
+ */
+public class FixedWidthRecordWriter implements RecordWriter {
+
+    private final FixedLengthRecordLayout layout;
+    private final OutputStream out;
+    private ByteBuffer buffer;
+
+    public FixedWidthRecordWriter(FixedLengthRecordLayout layout, OutputStream out) {
+        this.layout = layout;
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write(layout.getHeader());
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        int length = chunk.getSize() * layout.getRecordLength();
+        if (buffer == null || buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+        }
+
+        buffer.clear();
+        for (int row = 0; row < chunk.getSize(); row++) {
+            layout.writeRecord(chunk, row, buffer);
+        }
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+}
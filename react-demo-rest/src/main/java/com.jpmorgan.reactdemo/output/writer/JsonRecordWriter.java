@@ -0,0 +1,113 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.generation.NestedValue;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Pretty-printed JSON array of row objects, written with Jackson's streaming generator.
+ * Nested values are replayed into the generator event by event.
+ */
+public class JsonRecordWriter implements RecordWriter {
+
+    private final JsonGenerator generator;
+    private final List<String> columnNames;
+    private final NestedValue.Visitor nestedWriter = new NestedWriter();
+
+    public JsonRecordWriter(ObjectMapper objectMapper, List<String> columnNames, OutputStream out) throws IOException {
+        this.columnNames = columnNames;
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.useDefaultPrettyPrinter();
+    }
+
+    @Override
+    public void begin() throws IOException {
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        for (int row = 0; row < chunk.getSize(); row++) {
+            generator.writeStartObject();
+            for (int c = 0; c < chunk.getColumnCount(); c++) {
+                generator.writeFieldName(columnNames.get(c));
+                if (chunk.isNull(c, row)) {
+                    generator.writeNull();
+                    continue;
+                }
+                switch (chunk.getColumnType(c)) {
+                    case LONG -> generator.writeNumber(chunk.getLong(c, row));
+                    case BOOLEAN -> generator.writeBoolean(chunk.getBoolean(c, row));
+                    default -> writeValue(chunk.get(c, row));
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Numbers and booleans as JSON numbers and booleans, everything else (dates included) as strings
+     */
+    private void writeValue(Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String text -> generator.writeString(text);
+            case Long number -> generator.writeNumber(number);
+            case Integer number -> generator.writeNumber(number);
+            case Double number when Double.isFinite(number) -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case NestedValue nested -> nested.accept(nestedWriter);
+            default -> generator.writeString(ValueFormats.DEFAULT.toText(value));
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private final class NestedWriter implements NestedValue.Visitor {
+
+        @Override
+        public void startObject() throws IOException {
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void endObject() throws IOException {
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void startArray(String itemName) throws IOException {
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void endArray() throws IOException {
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void field(String name) throws IOException {
+            generator.writeFieldName(name);
+        }
+
+        @Override
+        public void value(Object value) throws IOException {
+            writeValue(value);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.jpmorgan.reactdemo.generation.CompiledField;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+import com.jpmorgan.reactdemo.output.parquet.ParquetColumnType;
+import com.jpmorgan.reactdemo.output.parquet.ParquetFileWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Apache Parquet output. Fields whose values reach the writers typed and unformatted get typed columns;
+ * every other field is a UTF8 column, whatever its text looks like.
+ */
+public class ParquetRecordWriter implements RecordWriter {
+
+    private final ParquetFileWriter fileWriter;
+
+    public ParquetRecordWriter(CompiledSchema schema, int rowGroupRows, OutputStream out) {
+        List<ParquetColumnType> types = schema.getColumns().stream()
+                .map(ParquetRecordWriter::columnType)
+                .toList();
+        this.fileWriter = new ParquetFileWriter(schema.getColumnNames(), types, rowGroupRows, out);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        fileWriter.start();
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        fileWriter.write(chunk);
+    }
+
+    @Override
+    public void end() throws IOException {
+        fileWriter.finish();
+    }
+
+    private static ParquetColumnType columnType(CompiledField field) {
+        return switch (field.getValueType()) {
+            case LONG -> ParquetColumnType.INT64;
+            case DOUBLE -> ParquetColumnType.DOUBLE;
+            case BOOLEAN -> ParquetColumnType.BOOLEAN;
+            case DATE -> ParquetColumnType.DATE;
+            case DATE_TIME -> ParquetColumnType.TIMESTAMP;
+            case DECIMAL, STRING -> ParquetColumnType.STRING;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Tab-separated values with a header line
+ */
+public class PlainTextRecordWriter implements RecordWriter {
+
+    private final Writer writer;
+    private final List<String> columnNames;
+
+    public PlainTextRecordWriter(List<String> columnNames, OutputStream out) {
+        this.columnNames = columnNames;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void begin() throws IOException {
+        writer.write(String.join("\t", columnNames));
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        for (int row = 0; row < chunk.getSize(); row++) {
+            for (int c = 0; c < chunk.getColumnCount(); c++) {
+                if (c > 0) {
+                    writer.write('\t');
+                }
+                if (!chunk.isNull(c, row)) {
+                    writer.write(ValueFormats.DEFAULT.toText(chunk.get(c, row)));
+                }
+            }
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,100 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A single multi-row INSERT statement, with value rows aligned under the first one
+ */
+public class SqlRecordWriter implements RecordWriter {
+
+    private final Writer writer;
+    private final String insertPrefix;
+    private final String continuationIndent;
+    private boolean firstRow = true;
+
+    public SqlRecordWriter(String tableName, List<String> columnNames, OutputStream out) {
+        if (tableName == null || tableName.isBlank()) {
+            throw new IllegalArgumentException("Table name is required for SQL format.");
+        }
+
+        String columns = columnNames.stream()
+                .map(SqlRecordWriter::escapeSqlIdentifier)
+                .collect(Collectors.joining(", "));
+        this.insertPrefix = "INSERT INTO " + escapeSqlIdentifier(tableName) + " (" + columns + ") VALUES ";
+        this.continuationIndent = " ".repeat(insertPrefix.length());
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void begin() {
+        // The statement prefix is written with the first row
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        for (int row = 0; row < chunk.getSize(); row++) {
+            if (firstRow) {
+                writer.write(insertPrefix);
+                firstRow = false;
+            } else {
+                writer.write(",\n");
+                writer.write(continuationIndent);
+            }
+
+            writer.write('(');
+            for (int c = 0; c < chunk.getColumnCount(); c++) {
+                if (c > 0) {
+                    writer.write(", ");
+                }
+                if (chunk.isNull(c, row)) {
+                    writer.write("NULL");
+                    continue;
+                }
+                switch (chunk.getColumnType(c)) {
+                    case LONG -> writer.write(Long.toString(chunk.getLong(c, row)));
+                    case BOOLEAN -> writer.write(chunk.getBoolean(c, row) ? "TRUE" : "FALSE");
+                    default -> writeSqlValue(chunk.get(c, row));
+                }
+            }
+            writer.write(')');
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        writer.write(firstRow ? "-- No data to generate SQL for" : ";\n");
+        writer.flush();
+    }
+
+    private void writeSqlValue(Object value) throws IOException {
+        switch (value) {
+            case null -> writer.write("NULL");
+            case BigDecimal decimal -> writer.write(decimal.toPlainString());
+            case Double number when !Double.isFinite(number) -> writer.write("NULL"); // No SQL literal
+            case Number number -> writer.write(number.toString()); // Numbers don't need quotes
+            case Boolean bool -> writer.write(bool ? "TRUE" : "FALSE");
+            default -> {
+                // Treat everything else (dates included) as string, escape single quotes
+                writer.write('\'');
+                writer.write(ValueFormats.DEFAULT.toText(value).replace("'", "''"));
+                writer.write('\'');
+            }
+        }
+    }
+
+    private static String escapeSqlIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,198 @@
+package com.jpmorgan.reactdemo.output.writer;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.generation.NestedValue;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Streams {@code <rows><row><field>value</field>...</row>...</rows>} through StAX.
+ * Field names that are not valid XML element names have the offending characters replaced by '_'.
+ * Nested objects become child elements, and each array item an element named by the array's item name.
+ * Null values are empty elements marked {@code xsi:nil="true"}.
+ */
+public class XmlRecordWriter implements RecordWriter {
+
+    private final XMLStreamWriter writer;
+    private final List<String> elementNames;
+
+    public XmlRecordWriter(XmlMapper xmlMapper, List<String> columnNames, OutputStream out) throws IOException {
+        try {
+            this.writer = xmlMapper.getFactory().getXMLOutputFactory()
+                    .createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot create XML writer: " + e.getMessage(), e);
+        }
+        this.elementNames = columnNames.stream().map(XmlRecordWriter::toElementName).toList();
+    }
+
+    @Override
+    public void begin() throws IOException {
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement("rows");
+            writer.writeNamespace("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void writeChunk(DataChunk chunk) throws IOException {
+        try {
+            for (int row = 0; row < chunk.getSize(); row++) {
+                writer.writeCharacters("\n  ");
+                writer.writeStartElement("row");
+                for (int c = 0; c < chunk.getColumnCount(); c++) {
+                    Object value = chunk.get(c, row);
+                    writer.writeCharacters("\n    ");
+                    writer.writeStartElement(elementNames.get(c));
+                    if (value instanceof NestedValue nested) {
+                        nested.accept(new NestedWriter());
+                        writer.writeCharacters("\n    ");
+                    } else {
+                        writeText(value);
+                    }
+                    writer.writeEndElement();
+                }
+                writer.writeCharacters("\n  ");
+                writer.writeEndElement();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        try {
+            writer.writeCharacters("\n");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close(); // Does not close the underlying stream
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write a scalar value as the content of the element just opened
+     */
+    private void writeText(Object value) throws XMLStreamException {
+        if (value == null) {
+            writer.writeAttribute("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "nil", "true");
+        } else {
+            writer.writeCharacters(ValueFormats.DEFAULT.toText(value));
+        }
+    }
+
+    /**
+     * Writes a nested value inside the element of its field, which is already open. An element opened for
+     * a field or an array item is closed by the value, object or array it holds.
+     */
+    private final class NestedWriter implements NestedValue.Visitor {
+
+        private final Deque<String> containers = new ArrayDeque<>(); // Item element name of each open array, "" for objects
+        private int level = 2; // Indentation level of the innermost open element, the field's to begin with
+
+        @Override
+        public void startObject() throws IOException {
+            startItem();
+            containers.push("");
+        }
+
+        @Override
+        public void endObject() throws IOException {
+            endContainer();
+        }
+
+        @Override
+        public void startArray(String itemName) throws IOException {
+            startItem();
+            containers.push(toElementName(itemName));
+        }
+
+        @Override
+        public void endArray() throws IOException {
+            endContainer();
+        }
+
+        @Override
+        public void field(String name) throws IOException {
+            startElement(toElementName(name));
+        }
+
+        @Override
+        public void value(Object value) throws IOException {
+            startItem();
+            try {
+                writeText(value);
+                writer.writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            level--;
+        }
+
+        /**
+         * Directly inside an array, open the element of the next item
+         */
+        private void startItem() throws IOException {
+            if (!containers.isEmpty() && !containers.peek().isEmpty()) {
+                startElement(containers.peek());
+            }
+        }
+
+        private void startElement(String name) throws IOException {
+            try {
+                writer.writeCharacters("\n" + "  ".repeat(++level));
+                writer.writeStartElement(name);
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        private void endContainer() throws IOException {
+            containers.pop();
+            if (containers.isEmpty()) {
+                return; // The root is held by the field's element, which the row closes
+            }
+            try {
+                writer.writeCharacters("\n" + "  ".repeat(level));
+                writer.writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            level--;
+        }
+    }
+
+    static String toElementName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "_";
+        }
+
+        StringBuilder element = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = Character.isLetter(c) || c == '_'
+                    || (i > 0 && (Character.isDigit(c) || c == '-' || c == '.'));
+            element.append(valid ? c : '_');
+        }
+        return element.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.jpmorgan.reactdemo.reference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An uploaded reference table, stored column by column with each column dictionary-encoded: its distinct
+ * values once, and an int code per row. Rows are found by their key, the value of the first column,
+ * through an open-addressing hash index over the key column's distinct values, so a lookup is a hash
+ * probe and two array reads. When a key repeats, its first row wins. Immutable.
+ */
+public final class ReferenceTable {
+
+    private final List<String> columnNames;
+    private final Map<String, Integer> columnIndexes;
+    private final String[][] columnValues; // Distinct values of each column
+    private final int[][] columnCodes; // Per column and row, the index of the row's value in columnValues
+    private final int rowCount;
+    private final int[] keySlots; // Key code + 1 of each hash slot, 0 when empty
+    private final int[] keyRows; // First row of each key code
+
+    private ReferenceTable(List<String> columnNames, String[][] columnValues, int[][] columnCodes, int rowCount) {
+        this.columnNames = columnNames;
+        this.columnIndexes = new HashMap<>();
+        for (int c = 0; c < columnNames.size(); c++) {
+            columnIndexes.putIfAbsent(columnNames.get(c), c);
+        }
+        this.columnValues = columnValues;
+        this.columnCodes = columnCodes;
+        this.rowCount = rowCount;
+
+        String[] keys = columnValues[0];
+        this.keyRows = new int[keys.length];
+        Arrays.fill(keyRows, -1);
+        for (int row = 0; row < rowCount; row++) {
+            int code = columnCodes[0][row];
+            if (keyRows[code] < 0) {
+                keyRows[code] = row;
+            }
+        }
+        this.keySlots = new int[Integer.highestOneBit(Math.max(keys.length, 1)) * 4];
+        for (int code = 0; code < keys.length; code++) {
+            int slot = slotOf(keys[code]);
+            while (keySlots[slot] != 0) {
+                slot = (slot + 1) & (keySlots.length - 1);
+            }
+            keySlots[slot] = code + 1;
+        }
+    }
+
+    /**
+     * Build a table from its header and rows
+     * @throws IllegalArgumentException if there is no column, or a row has a different number of values
+     */
+    public static ReferenceTable of(List<String> header, Iterator<String[]> rows) {
+        int columnCount = header.size();
+        if (columnCount == 0) {
+            throw new IllegalArgumentException("Reference tables need a header row naming their columns.");
+        }
+
+        List<Map<String, Integer>> encodings = new ArrayList<>();
+        for (int c = 0; c < columnCount; c++) {
+            encodings.add(new HashMap<>());
+        }
+        int[][] codes = new int[columnCount][1024];
+        int rowCount = 0;
+        while (rows.hasNext()) {
+            String[] row = rows.next();
+            if (row.length == 1 && row[0].isEmpty()) {
+                continue; // Blank line
+            }
+            if (row.length != columnCount) {
+                throw new IllegalArgumentException("Row " + (rowCount + 1) + " has " + row.length + " values but the header names "
+                        + columnCount + " columns.");
+            }
+            if (rowCount == codes[0].length) {
+                for (int c = 0; c < columnCount; c++) {
+                    codes[c] = Arrays.copyOf(codes[c], rowCount * 2);
+                }
+            }
+            for (int c = 0; c < columnCount; c++) {
+                Map<String, Integer> encoding = encodings.get(c);
+                codes[c][rowCount] = encoding.computeIfAbsent(row[c], value -> encoding.size());
+            }
+            rowCount++;
+        }
+
+        String[][] values = new String[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            values[c] = new String[encodings.get(c).size()];
+            for (Map.Entry<String, Integer> entry : encodings.get(c).entrySet()) {
+                values[c][entry.getValue()] = entry.getKey();
+            }
+            codes[c] = Arrays.copyOf(codes[c], rowCount);
+        }
+        return new ReferenceTable(List.copyOf(header), values, codes, rowCount);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the column's index, or -1 if the table has no such column
+     */
+    public int columnIndex(String column) {
+        return columnIndexes.getOrDefault(column, -1);
+    }
+
+    /**
+     * @return the first row whose key is this, or -1 if there is none
+     */
+    public int findRow(String key) {
+        String[] keys = columnValues[0];
+        for (int slot = slotOf(key); keySlots[slot] != 0; slot = (slot + 1) & (keySlots.length - 1)) {
+            int code = keySlots[slot] - 1;
+            if (keys[code].equals(key)) {
+                return keyRows[code];
+            }
+        }
+        return -1;
+    }
+
+    public String value(int row, int column) {
+        return columnValues[column][columnCodes[column][row]];
+    }
+
+    /**
+     * The value of a column in the row with this key, or null if no row has the key
+     * @throws IllegalArgumentException if the table has no such column
+     */
+    public String lookup(String key, String column) {
+        int columnIndex = columnIndex(column);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("Reference table has no column '" + column + "'. Columns: " + columnNames);
+        }
+        int row = findRow(key);
+        return row < 0 ? null : value(row, columnIndex);
+    }
+
+    private int slotOf(String key) {
+        int hash = key.hashCode() * 0x9E3779B9; // Spread the bits that String.hashCode leaves clustered
+        return (hash ^ (hash >>> 16)) & (keySlots.length - 1);
+    }
+}
@@ -0,0 +1,265 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.jpmorgan.reactdemo.formatting.CharacterClass;
+import com.jpmorgan.reactdemo.regex.RegexNode.Alternation;
+import com.jpmorgan.reactdemo.regex.RegexNode.Assertion;
+import com.jpmorgan.reactdemo.regex.RegexNode.CharSet;
+import com.jpmorgan.reactdemo.regex.RegexNode.Concat;
+import com.jpmorgan.reactdemo.regex.RegexNode.Opaque;
+import com.jpmorgan.reactdemo.regex.RegexNode.Repeat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Whole-input matching in O(input length x pattern size) time, by simulating the pattern's NFA
+ * over all positions in lockstep (a Pike VM without capture groups). No input can make it backtrack.
+ */
+final class LinearMatcher {
+
+    // Counted repetitions are unrolled, so a{1000}{1000} would be a million instructions
+    static final int MAX_INSTRUCTIONS = 20_000;
+
+    private static final int CHAR = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int INPUT_START = 3;
+    private static final int LINE_END = 4;
+    private static final int INPUT_END = 5;
+    private static final int MATCH = 6;
+
+    private final int[] opcodes;
+    private final int[] targets;      // JUMP / SPLIT target
+    private final int[] alternates;   // second SPLIT target
+    private final CharacterClass[] classes;
+
+    private LinearMatcher(Program program) {
+        int size = program.opcodes.size();
+        opcodes = new int[size];
+        targets = new int[size];
+        alternates = new int[size];
+        classes = new CharacterClass[size];
+        for (int pc = 0; pc < size; pc++) {
+            opcodes[pc] = program.opcodes.get(pc);
+            targets[pc] = program.targets.get(pc);
+            alternates[pc] = program.alternates.get(pc);
+            classes[pc] = program.classes.get(pc);
+        }
+    }
+
+    /**
+     * @throws UnsupportedRegexException for constructs that need backtracking, and patterns that
+     * unroll to more than {@link #MAX_INSTRUCTIONS} instructions
+     */
+    static LinearMatcher compile(RegexNode node) {
+        Program program = new Program();
+        program.emit(node);
+        program.add(MATCH, 0, 0, null);
+        return new LinearMatcher(program);
+    }
+
+    boolean matches(CharSequence input) {
+        int size = opcodes.length;
+        int length = input.length();
+        int[] current = new int[size];
+        int[] next = new int[size];
+        int[] marks = new int[size];
+        int[] stack = new int[2 * size + 1];
+        int generation = 1;
+
+        int currentCount = addThread(current, 0, 0, input, marks, generation, stack, 0);
+        int pos = 0;
+        while (true) {
+            if (pos == length) {
+                for (int i = 0; i < currentCount; i++) {
+                    if (opcodes[current[i]] == MATCH) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (currentCount == 0) {
+                return false;
+            }
+
+            int codePoint = Character.codePointAt(input, pos);
+            int nextPos = pos + Character.charCount(codePoint);
+            generation++;
+            int nextCount = 0;
+            for (int i = 0; i < currentCount; i++) {
+                int pc = current[i];
+                if (opcodes[pc] == CHAR && classes[pc].contains(codePoint)) {
+                    nextCount = addThread(next, nextCount, pc + 1, input, marks, generation, stack, nextPos);
+                }
+            }
+
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+            pos = nextPos;
+        }
+    }
+
+    /**
+     * Add the instruction at start, following jumps, splits and satisfied assertions, to the thread list
+     */
+    private int addThread(int[] list, int count, int start, CharSequence input, int[] marks, int generation,
+            int[] stack, int pos) {
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int pc = stack[--top];
+            if (marks[pc] == generation) {
+                continue;
+            }
+            marks[pc] = generation;
+            switch (opcodes[pc]) {
+                case JUMP -> stack[top++] = targets[pc];
+                case SPLIT -> {
+                    stack[top++] = alternates[pc];
+                    stack[top++] = targets[pc];
+                }
+                case INPUT_START -> {
+                    if (pos == 0) {
+                        stack[top++] = pc + 1;
+                    }
+                }
+                case LINE_END -> {
+                    if (atLineEnd(input, pos)) {
+                        stack[top++] = pc + 1;
+                    }
+                }
+                case INPUT_END -> {
+                    if (pos == input.length()) {
+                        stack[top++] = pc + 1;
+                    }
+                }
+                default -> list[count++] = pc;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * '$' without MULTILINE: at the end of input, or before a line terminator that ends the input
+     */
+    private static boolean atLineEnd(CharSequence input, int pos) {
+        int remaining = input.length() - pos;
+        if (remaining == 0) {
+            return true;
+        }
+        char c = input.charAt(pos);
+        if (remaining == 1) {
+            if (c == '\n') {
+                return pos == 0 || input.charAt(pos - 1) != '\r'; // not between \r and \n
+            }
+            return c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+        }
+        return remaining == 2 && c == '\r' && input.charAt(pos + 1) == '\n';
+    }
+
+    private static final class Program {
+        private final List<Integer> opcodes = new ArrayList<>();
+        private final List<Integer> targets = new ArrayList<>();
+        private final List<Integer> alternates = new ArrayList<>();
+        private final List<CharacterClass> classes = new ArrayList<>();
+
+        int add(int opcode, int target, int alternate, CharacterClass chars) {
+            if (opcodes.size() >= MAX_INSTRUCTIONS) {
+                throw new UnsupportedRegexException("pattern unrolls to more than " + MAX_INSTRUCTIONS + " states");
+            }
+            opcodes.add(opcode);
+            targets.add(target);
+            alternates.add(alternate);
+            classes.add(chars);
+            return opcodes.size() - 1;
+        }
+
+        int next() {
+            return opcodes.size();
+        }
+
+        void patch(int pc, int target, int alternate) {
+            targets.set(pc, target);
+            alternates.set(pc, alternate);
+        }
+
+        void emit(RegexNode node) {
+            switch (node) {
+                case CharSet charSet -> add(CHAR, 0, 0, charSet.chars());
+                case Concat concat -> concat.items().forEach(this::emit);
+                case Alternation alternation -> emitAlternation(alternation.branches());
+                case Repeat repeat -> emitRepeat(repeat);
+                case Assertion assertion -> add(switch (assertion.kind()) {
+                    case INPUT_START -> INPUT_START;
+                    case LINE_END -> LINE_END;
+                    case INPUT_END -> INPUT_END;
+                }, 0, 0, null);
+                case Opaque opaque -> throw new UnsupportedRegexException(opaque.construct());
+            }
+        }
+
+        private void emitAlternation(List<RegexNode> branches) {
+            List<Integer> exits = new ArrayList<>();
+            for (int i = 0; i < branches.size() - 1; i++) {
+                int split = add(SPLIT, 0, 0, null);
+                emit(branches.get(i));
+                exits.add(add(JUMP, 0, 0, null));
+                patch(split, split + 1, next());
+            }
+            emit(branches.get(branches.size() - 1));
+            for (int exit : exits) {
+                patch(exit, next(), 0);
+            }
+        }
+
+        private void emitRepeat(Repeat repeat) {
+            if (repeat.possessive()) {
+                throw new UnsupportedRegexException("possessive quantifier");
+            }
+            if (emitsNothing(repeat.node())) {
+                return; // Matches only the empty string, however often it is repeated
+            }
+            if (repeat.min() > 0) {
+                // Charge every unrolled copy before unrolling, at the size of the first
+                int start = next();
+                emit(repeat.node());
+                if (start + (long) (next() - start) * repeat.min() > MAX_INSTRUCTIONS) {
+                    throw new UnsupportedRegexException("pattern unrolls to more than " + MAX_INSTRUCTIONS + " states");
+                }
+                for (int i = 1; i < repeat.min(); i++) {
+                    emit(repeat.node());
+                }
+            }
+            if (repeat.max() == RegexNode.UNBOUNDED) {
+                // loop: split body, exit; body; jump loop
+                int loop = add(SPLIT, 0, 0, null);
+                emit(repeat.node());
+                add(JUMP, loop, 0, null);
+                patch(loop, loop + 1, next());
+            } else {
+                // x{0,k} as k optional copies: the same language as nested optionals
+                for (int i = repeat.min(); i < repeat.max(); i++) {
+                    int split = add(SPLIT, 0, 0, null);
+                    emit(repeat.node());
+                    patch(split, split + 1, next());
+                }
+            }
+        }
+
+        /**
+         * Whether emitting the node adds no instructions, such as an empty group or a repeat of one
+         */
+        private static boolean emitsNothing(RegexNode node) {
+            return switch (node) {
+                case Concat concat -> concat.items().stream().allMatch(Program::emitsNothing);
+                case Alternation alternation -> alternation.branches().size() == 1 && emitsNothing(alternation.branches().get(0));
+                case Repeat repeat -> repeat.max() == 0 || emitsNothing(repeat.node());
+                case CharSet charSet -> false;
+                case Assertion assertion -> false;
+                case Opaque opaque -> false;
+            };
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.jpmorgan.reactdemo.formatting.CharacterClass;
+import com.jpmorgan.reactdemo.regex.RegexNode.Alternation;
+import com.jpmorgan.reactdemo.regex.RegexNode.Assertion;
+import com.jpmorgan.reactdemo.regex.RegexNode.CharSet;
+import com.jpmorgan.reactdemo.regex.RegexNode.Concat;
+import com.jpmorgan.reactdemo.regex.RegexNode.Opaque;
+import com.jpmorgan.reactdemo.regex.RegexNode.Repeat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the shapes that make a backtracking matcher take exponential time (a repeated subpattern
+ * that can match the same text in more than one way) or overflow its stack (a group repeated without
+ * bound). Only explains in logs why a pattern is unsafe to backtrack: every pattern is matched on the
+ * linear-time engine or with a step budget whatever is found.
+ */
+final class RegexAnalyzer {
+
+    private static final CharacterClass ANY = CharacterClass.ascii("").negate();
+
+    // java.util.regex recurses once per iteration of a repeated group
+    private static final int MAX_GROUP_REPEATS = 1_000;
+
+    private RegexAnalyzer() {
+    }
+
+    /**
+     * Descriptions of the hazards found, empty if the pattern is safe to backtrack
+     */
+    static List<String> backtrackingHazards(RegexNode node) {
+        List<String> hazards = new ArrayList<>();
+        collect(node, hazards);
+        return hazards;
+    }
+
+    private static void collect(RegexNode node, List<String> hazards) {
+        switch (node) {
+            case Concat concat -> concat.items().forEach(item -> collect(item, hazards));
+            case Alternation alternation -> alternation.branches().forEach(branch -> collect(branch, hazards));
+            case Opaque opaque -> {
+                if (opaque.content() != null) {
+                    collect(opaque.content(), hazards);
+                }
+            }
+            case Repeat repeat -> {
+                if (repeat.max() == RegexNode.UNBOUNDED || repeat.max() > 1) {
+                    RegexNode body = repeat.node();
+                    if (nullable(body)) {
+                        hazards.add("repeated subpattern that can match the empty string");
+                    } else if (containsVariableRepeat(body)) {
+                        hazards.add("nested quantifiers");
+                    } else if (containsAmbiguousAlternation(body)) {
+                        hazards.add("repeated alternation with overlapping branches");
+                    } else if ((repeat.max() == RegexNode.UNBOUNDED || repeat.max() > MAX_GROUP_REPEATS)
+                            && !(body instanceof CharSet)) {
+                        hazards.add("unbounded repetition of a group");
+                    }
+                }
+                collect(repeat.node(), hazards);
+            }
+            case CharSet charSet -> {
+            }
+            case Assertion assertion -> {
+            }
+        }
+    }
+
+    /**
+     * Whether the node contains a quantifier whose number of repetitions can vary
+     */
+    private static boolean containsVariableRepeat(RegexNode node) {
+        return switch (node) {
+            case Repeat repeat -> repeat.min() != repeat.max() || containsVariableRepeat(repeat.node());
+            case Concat concat -> concat.items().stream().anyMatch(RegexAnalyzer::containsVariableRepeat);
+            case Alternation alternation -> alternation.branches().stream().anyMatch(RegexAnalyzer::containsVariableRepeat);
+            case Opaque opaque -> opaque.content() == null || containsVariableRepeat(opaque.content());
+            case CharSet charSet -> false;
+            case Assertion assertion -> false;
+        };
+    }
+
+    /**
+     * Whether the node contains an alternation with two branches that can start with the same character
+     */
+    private static boolean containsAmbiguousAlternation(RegexNode node) {
+        return switch (node) {
+            case Alternation alternation -> overlaps(alternation.branches())
+                    || alternation.branches().stream().anyMatch(RegexAnalyzer::containsAmbiguousAlternation);
+            case Repeat repeat -> containsAmbiguousAlternation(repeat.node());
+            case Concat concat -> concat.items().stream().anyMatch(RegexAnalyzer::containsAmbiguousAlternation);
+            case Opaque opaque -> opaque.content() == null || containsAmbiguousAlternation(opaque.content());
+            case CharSet charSet -> false;
+            case Assertion assertion -> false;
+        };
+    }
+
+    private static boolean overlaps(List<RegexNode> branches) {
+        List<CharacterClass> firsts = new ArrayList<>();
+        for (RegexNode branch : branches) {
+            if (nullable(branch)) {
+                return true;
+            }
+            CharacterClass first = first(branch);
+            for (CharacterClass other : firsts) {
+                if (first.mayIntersect(other)) {
+                    return true;
+                }
+            }
+            firsts.add(first);
+        }
+        return false;
+    }
+
+    static boolean nullable(RegexNode node) {
+        return switch (node) {
+            case CharSet charSet -> false;
+            case Concat concat -> concat.items().stream().allMatch(RegexAnalyzer::nullable);
+            case Alternation alternation -> alternation.branches().stream().anyMatch(RegexAnalyzer::nullable);
+            case Repeat repeat -> repeat.min() == 0 || nullable(repeat.node());
+            case Assertion assertion -> true;
+            case Opaque opaque -> true;
+        };
+    }
+
+    /**
+     * Characters a match of the node can start with (ANY when unknown)
+     */
+    private static CharacterClass first(RegexNode node) {
+        return switch (node) {
+            case CharSet charSet -> charSet.chars();
+            case Concat concat -> {
+                CharacterClass result = CharacterClass.ascii("");
+                for (RegexNode item : concat.items()) {
+                    result = result.or(first(item));
+                    if (!nullable(item)) {
+                        break;
+                    }
+                }
+                yield result;
+            }
+            case Alternation alternation -> alternation.branches().stream()
+                    .map(RegexAnalyzer::first)
+                    .reduce(CharacterClass.ascii(""), CharacterClass::or);
+            case Repeat repeat -> first(repeat.node());
+            case Assertion assertion -> CharacterClass.ascii("");
+            case Opaque opaque -> ANY;
+        };
+    }
+}
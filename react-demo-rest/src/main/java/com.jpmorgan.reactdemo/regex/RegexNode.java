@@ -0,0 +1,48 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.jpmorgan.reactdemo.formatting.CharacterClass;
+
+import java.util.List;
+
+/**
+ * Syntax tree of a java.util.regex pattern, as far as {@link RegexParser} understands it.
+ * Capturing and non-capturing groups are not kept: a group is just its content.
+ */
+sealed interface RegexNode {
+
+    int UNBOUNDED = -1;
+
+    /**
+     * One character out of a class (a literal, '.', an escape such as \d or a bracket expression)
+     */
+    record CharSet(CharacterClass chars) implements RegexNode {
+    }
+
+    record Concat(List<RegexNode> items) implements RegexNode {
+    }
+
+    record Alternation(List<RegexNode> branches) implements RegexNode {
+    }
+
+    /**
+     * node{min,max}; max is {@link #UNBOUNDED} for *, + and {n,}. Lazy and possessive quantifiers
+     * only differ in which match is found first, except that possessive ones can make a match fail.
+     */
+    record Repeat(RegexNode node, int min, int max, boolean possessive) implements RegexNode {
+    }
+
+    record Assertion(Kind kind) implements RegexNode {
+        enum Kind {
+            INPUT_START,  // ^ and \A
+            LINE_END,     // $ and \Z: end of input, or before a final line terminator
+            INPUT_END     // \z
+        }
+    }
+
+    /**
+     * A construct only the backtracking engine can run: back references, lookaround, atomic groups,
+     * word boundaries. The content of lookaround and atomic groups is kept for analysis.
+     */
+    record Opaque(String construct, RegexNode content) implements RegexNode {
+    }
+}
@@ -0,0 +1,449 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.jpmorgan.reactdemo.formatting.CharacterClass;
+import com.jpmorgan.reactdemo.regex.RegexNode.Alternation;
+import com.jpmorgan.reactdemo.regex.RegexNode.Assertion;
+import com.jpmorgan.reactdemo.regex.RegexNode.CharSet;
+import com.jpmorgan.reactdemo.regex.RegexNode.Concat;
+import com.jpmorgan.reactdemo.regex.RegexNode.Opaque;
+import com.jpmorgan.reactdemo.regex.RegexNode.Repeat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Parses java.util.regex syntax (without inline flags) into a {@link RegexNode} tree with the same
+ * meaning. Expects a pattern that Pattern.compile already accepted, so it does not report syntax errors.
+ */
+final class RegexParser {
+
+    private static final CharacterClass DIGIT = CharacterClass.asciiRange('0', '9');
+    private static final CharacterClass SPACE = CharacterClass.ascii(" \t\n\u000B\f\r");
+    private static final CharacterClass WORD = CharacterClass.asciiRange('a', 'z')
+            .or(CharacterClass.asciiRange('A', 'Z')).or(DIGIT).or(CharacterClass.ascii("_"));
+    // '.' without DOTALL: anything but a line terminator
+    private static final CharacterClass DOT = CharacterClass.of(
+            cp -> cp != '\n' && cp != '\r' && cp != 0x85 && cp != 0x2028 && cp != 0x2029);
+
+    private final String pattern;
+    private int pos;
+
+    private RegexParser(String pattern) {
+        this.pattern = pattern;
+    }
+
+    static RegexNode parse(String pattern) {
+        RegexParser parser = new RegexParser(removeQuoting(pattern));
+        RegexNode node = parser.parseAlternation();
+        if (parser.pos < parser.pattern.length()) {
+            throw new UnsupportedRegexException("unbalanced ')' at index " + parser.pos);
+        }
+        return node;
+    }
+
+    private RegexNode parseAlternation() {
+        List<RegexNode> branches = new ArrayList<>();
+        branches.add(parseConcat());
+        while (peek() == '|') {
+            pos++;
+            branches.add(parseConcat());
+        }
+        return branches.size() == 1 ? branches.get(0) : new Alternation(branches);
+    }
+
+    private RegexNode parseConcat() {
+        List<RegexNode> items = new ArrayList<>();
+        while (pos < pattern.length() && peek() != '|' && peek() != ')') {
+            RegexNode atom = parseAtom();
+            while (pos < pattern.length() && isQuantifier(peek())) {
+                atom = parseQuantifier(atom);
+            }
+            items.add(atom);
+        }
+        return items.size() == 1 ? items.get(0) : new Concat(items);
+    }
+
+    private RegexNode parseAtom() {
+        int c = pattern.codePointAt(pos);
+        pos += Character.charCount(c);
+        return switch (c) {
+            case '(' -> parseGroup();
+            case '[' -> new CharSet(parseBracket());
+            case '.' -> new CharSet(DOT);
+            case '^' -> new Assertion(Assertion.Kind.INPUT_START);
+            case '$' -> new Assertion(Assertion.Kind.LINE_END);
+            case '\\' -> parseEscape();
+            default -> new CharSet(CharacterClass.codePoint(c));
+        };
+    }
+
+    private RegexNode parseGroup() {
+        String construct = null;
+        if (peek() == '?') {
+            pos++;
+            char kind = next();
+            if (kind == ':') {
+                construct = null;
+            } else if (kind == '=' || kind == '!') {
+                construct = "lookahead";
+            } else if (kind == '>') {
+                construct = "atomic group";
+            } else if (kind == '<' && (peek() == '=' || peek() == '!')) {
+                pos++;
+                construct = "lookbehind";
+            } else if (kind == '<') {
+                pos = pattern.indexOf('>', pos) + 1; // named group
+            } else {
+                throw new UnsupportedRegexException("inline flags at index " + (pos - 2));
+            }
+        }
+
+        RegexNode content = parseAlternation();
+        expect(')');
+        return construct == null ? content : new Opaque(construct, content);
+    }
+
+    private static boolean isQuantifier(char c) {
+        return c == '*' || c == '+' || c == '?' || c == '{';
+    }
+
+    private RegexNode parseQuantifier(RegexNode atom) {
+        char c = next();
+        int min;
+        int max;
+        if (c == '*') {
+            min = 0;
+            max = RegexNode.UNBOUNDED;
+        } else if (c == '+') {
+            min = 1;
+            max = RegexNode.UNBOUNDED;
+        } else if (c == '?') {
+            min = 0;
+            max = 1;
+        } else {
+            int close = pattern.indexOf('}', pos);
+            String bounds = pattern.substring(pos, close);
+            pos = close + 1;
+            int comma = bounds.indexOf(',');
+            if (comma < 0) {
+                min = Integer.parseInt(bounds.trim());
+                max = min;
+            } else {
+                min = Integer.parseInt(bounds.substring(0, comma).trim());
+                String upper = bounds.substring(comma + 1).trim();
+                max = upper.isEmpty() ? RegexNode.UNBOUNDED : Integer.parseInt(upper);
+            }
+        }
+
+        boolean possessive = false;
+        if (peek() == '?') {
+            pos++; // lazy: same set of full matches
+        } else if (peek() == '+') {
+            pos++;
+            possessive = true;
+        }
+        return new Repeat(atom, min, max, possessive);
+    }
+
+    /**
+     * An escape outside a character class; the backslash has been consumed
+     */
+    private RegexNode parseEscape() {
+        char c = peek();
+        if (c >= '1' && c <= '9') {
+            while (peek() >= '0' && peek() <= '9') {
+                pos++;
+            }
+            return new Opaque("back reference", null);
+        }
+        switch (c) {
+            case 'k':
+                pos = pattern.indexOf('>', pos) + 1;
+                return new Opaque("back reference", null);
+            case 'A':
+                pos++;
+                return new Assertion(Assertion.Kind.INPUT_START);
+            case 'z':
+                pos++;
+                return new Assertion(Assertion.Kind.INPUT_END);
+            case 'Z':
+                pos++;
+                return new Assertion(Assertion.Kind.LINE_END);
+            case 'b':
+            case 'B':
+                pos++;
+                return new Opaque("word boundary", null);
+            case 'G':
+                pos++;
+                return new Opaque("\\G", null);
+            case 'R':
+            case 'X':
+                pos++;
+                return new Opaque("\\" + c, null);
+            default:
+                return new CharSet(parseCharEscape());
+        }
+    }
+
+    /**
+     * An escape that stands for one character or a class of characters; the backslash has been consumed
+     */
+    private CharacterClass parseCharEscape() {
+        int start = pos - 1;
+        char c = next();
+        switch (c) {
+            case 'd':
+                return DIGIT;
+            case 'D':
+                return DIGIT.negate();
+            case 's':
+                return SPACE;
+            case 'S':
+                return SPACE.negate();
+            case 'w':
+                return WORD;
+            case 'W':
+                return WORD.negate();
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+                return CharacterClass.ofPattern(Pattern.compile(pattern.substring(start, pos)));
+            case 'p':
+            case 'P':
+                if (peek() == '{') {
+                    pos = pattern.indexOf('}', pos) + 1;
+                } else {
+                    pos++;
+                }
+                return CharacterClass.ofPattern(Pattern.compile(pattern.substring(start, pos)));
+            default:
+                pos--;
+                return CharacterClass.codePoint(parseEscapedCodePoint());
+        }
+    }
+
+    /**
+     * An escape for a single code point; the backslash has been consumed
+     */
+    private int parseEscapedCodePoint() {
+        char c = next();
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            case 'c':
+                return next() ^ 64;
+            case '0': {
+                int value = 0;
+                int digits = 0;
+                int maxDigits = peek() >= '0' && peek() <= '3' ? 3 : 2;
+                while (digits < maxDigits && peek() >= '0' && peek() <= '7') {
+                    value = value * 8 + (next() - '0');
+                    digits++;
+                }
+                return value;
+            }
+            case 'x':
+                if (peek() == '{') {
+                    int close = pattern.indexOf('}', pos);
+                    int value = Integer.parseInt(pattern.substring(pos + 1, close), 16);
+                    pos = close + 1;
+                    return value;
+                }
+                pos += 2;
+                return Integer.parseInt(pattern.substring(pos - 2, pos), 16);
+            case 'u': {
+                pos += 4;
+                char unit = (char) Integer.parseInt(pattern.substring(pos - 4, pos), 16);
+                // A surrogate pair written as two \\u escapes is one code point
+                if (Character.isHighSurrogate(unit) && pattern.startsWith("\\u", pos) && pos + 6 <= pattern.length()) {
+                    char low = (char) Integer.parseInt(pattern.substring(pos + 2, pos + 6), 16);
+                    if (Character.isLowSurrogate(low)) {
+                        pos += 6;
+                        return Character.toCodePoint(unit, low);
+                    }
+                }
+                return unit;
+            }
+            case 'N': {
+                int close = pattern.indexOf('}', pos);
+                int value = Character.codePointOf(pattern.substring(pos + 1, close));
+                pos = close + 1;
+                return value;
+            }
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw new UnsupportedRegexException("escape \\" + c + " at index " + (pos - 2));
+                }
+                pos--;
+                int codePoint = pattern.codePointAt(pos);
+                pos += Character.charCount(codePoint);
+                return codePoint;
+        }
+    }
+
+    /**
+     * A bracket expression; the '[' has been consumed. Unions and intersections of nested classes
+     * are handed to java.util.regex as a whole, everything else is built from lookup tables.
+     */
+    private CharacterClass parseBracket() {
+        int start = pos - 1;
+        int end = findBracketEnd(start);
+        String text = pattern.substring(start, end);
+        if (text.indexOf('[', 1) >= 0 && hasUnescaped(text, '[') || text.contains("&&")) {
+            pos = end;
+            return CharacterClass.ofPattern(Pattern.compile(text));
+        }
+
+        boolean negated = peek() == '^';
+        if (negated) {
+            pos++;
+        }
+        CharacterClass chars = null;
+        boolean first = true;
+        while (pos < end - 1) {
+            CharacterClass item;
+            int c = pattern.codePointAt(pos);
+            if (c == ']' && first) {
+                pos++;
+                item = rangeFrom(']', end);
+            } else if (c == '\\') {
+                pos++;
+                char escape = peek();
+                if (escape == 'd' || escape == 'D' || escape == 's' || escape == 'S' || escape == 'w' || escape == 'W'
+                        || escape == 'h' || escape == 'H' || escape == 'v' || escape == 'V'
+                        || escape == 'p' || escape == 'P') {
+                    item = parseCharEscape();
+                } else {
+                    item = rangeFrom(parseEscapedCodePoint(), end);
+                }
+            } else {
+                pos += Character.charCount(c);
+                item = rangeFrom(c, end);
+            }
+            chars = chars == null ? item : chars.or(item);
+            first = false;
+        }
+        pos = end;
+        return negated ? chars.negate() : chars;
+    }
+
+    /**
+     * The single code point, or the range it starts when followed by '-' and something other than ']'
+     */
+    private CharacterClass rangeFrom(int from, int end) {
+        if (peek() == '-' && pos + 1 < end - 1) {
+            pos++;
+            int to;
+            if (peek() == '\\') {
+                pos++;
+                to = parseEscapedCodePoint();
+            } else {
+                to = pattern.codePointAt(pos);
+                pos += Character.charCount(to);
+            }
+            return CharacterClass.range(from, to);
+        }
+        return CharacterClass.codePoint(from);
+    }
+
+    /**
+     * Index just past the ']' closing the class opened at start, skipping escapes and nested classes
+     */
+    private int findBracketEnd(int start) {
+        int i = start + 1;
+        int depth = 1;
+        if (i < pattern.length() && pattern.charAt(i) == '^') {
+            i++;
+        }
+        if (i < pattern.length() && pattern.charAt(i) == ']') {
+            i++;
+        }
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        throw new UnsupportedRegexException("unclosed character class at index " + start);
+    }
+
+    private static boolean hasUnescaped(String text, char target) {
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace \Q...\E quoting with escaped characters, as java.util.regex does before parsing
+     */
+    private static String removeQuoting(String pattern) {
+        if (!pattern.contains("\\Q")) {
+            return pattern;
+        }
+        StringBuilder result = new StringBuilder(pattern.length() * 2);
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c != '\\' || i + 1 >= pattern.length()) {
+                result.append(c);
+                i++;
+            } else if (pattern.charAt(i + 1) != 'Q') {
+                result.append(c).append(pattern.charAt(i + 1));
+                i += 2;
+            } else {
+                int end = pattern.indexOf("\\E", i + 2);
+                String quoted = pattern.substring(i + 2, end < 0 ? pattern.length() : end);
+                for (int j = 0; j < quoted.length(); j++) {
+                    char q = quoted.charAt(j);
+                    if (q < 128 && Character.isLetterOrDigit(q)) {
+                        result.append(q);
+                    } else {
+                        result.append('\\').append(q);
+                    }
+                }
+                i = end < 0 ? pattern.length() : end + 2;
+            }
+        }
+        return result.toString();
+    }
+
+    private char peek() {
+        return pos < pattern.length() ? pattern.charAt(pos) : '\0';
+    }
+
+    private char next() {
+        return pattern.charAt(pos++);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw new UnsupportedRegexException("expected '" + c + "' at index " + pos);
+        }
+        pos++;
+    }
+}
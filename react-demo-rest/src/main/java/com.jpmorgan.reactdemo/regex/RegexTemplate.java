@@ -0,0 +1,253 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.github.javafaker.service.RandomService;
+import com.jpmorgan.reactdemo.formatting.CharacterClass;
+import com.jpmorgan.reactdemo.regex.RegexNode.Alternation;
+import com.jpmorgan.reactdemo.regex.RegexNode.Assertion;
+import com.jpmorgan.reactdemo.regex.RegexNode.CharSet;
+import com.jpmorgan.reactdemo.regex.RegexNode.Concat;
+import com.jpmorgan.reactdemo.regex.RegexNode.Opaque;
+import com.jpmorgan.reactdemo.regex.RegexNode.Repeat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A regular expression compiled once into a template for generating strings it matches: runs of
+ * literal characters, character slots drawing from a precomputed pool, choices and bounded repeats.
+ * Generating a value is a walk over the template with one RNG draw per slot, repeat and choice.
+ *
+ * Slots draw from the printable ASCII characters of their class, or from all of its characters when it
+ * has no printable ASCII ones (so {@code .} and {@code [^,]} stay readable). Unbounded repeats add at
+ * most {@link #UNBOUNDED_EXTRA} repetitions to their minimum. Anchors, and repeats of anything that
+ * produces nothing, produce nothing. Patterns that can take more than {@link #MAX_STEPS} steps to
+ * generate one value are rejected. Immutable.
+ */
+public final class RegexTemplate {
+
+    static final int UNBOUNDED_EXTRA = 8;
+
+    // Literals, slots and repetitions one value may walk through, e.g. through nested unbounded repeats
+    static final long MAX_STEPS = 1_000_000;
+
+    private static final int FIRST_PRINTABLE = 0x20;
+    private static final int LAST_PRINTABLE = 0x7E;
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final String regex;
+    private final Segment root;
+    private final int minLength;
+
+    private RegexTemplate(String regex, Segment root, int minLength) {
+        this.regex = regex;
+        this.root = root;
+        this.minLength = minLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is invalid or cannot be generated from
+     *         (see {@link SafePattern#validateForGeneration})
+     */
+    public static RegexTemplate compile(String regex) {
+        SafePattern.validateForGeneration(regex);
+        Segment root = segment(RegexParser.parse(regex), regex);
+        if (root.maxSteps() > MAX_STEPS) {
+            throw new IllegalArgumentException("Regex pattern '" + regex + "' can take more than " + MAX_STEPS
+                    + " steps to generate one value.");
+        }
+        return new RegexTemplate(regex, root, root.minLength());
+    }
+
+    public String generate(RandomService random) {
+        StringBuilder out = new StringBuilder(Math.min(minLength, MAX_INITIAL_CAPACITY) + UNBOUNDED_EXTRA);
+        root.appendTo(out, random);
+        return out.toString();
+    }
+
+    public String pattern() {
+        return regex;
+    }
+
+    private static Segment segment(RegexNode node, String regex) {
+        return switch (node) {
+            case CharSet charSet -> {
+                int[] pool = pool(charSet.chars());
+                if (pool.length == 0) {
+                    throw new IllegalArgumentException("Regex pattern '" + regex + "' has a character class no character can match.");
+                }
+                yield pool.length == 1 ? new Literal(new String(pool, 0, 1)) : new Slot(pool);
+            }
+            case Concat concat -> {
+                List<Segment> items = new ArrayList<>();
+                StringBuilder literal = new StringBuilder();
+                for (RegexNode item : concat.items()) {
+                    Segment segment = segment(item, regex);
+                    if (segment instanceof Literal text) {
+                        literal.append(text.text());
+                        continue;
+                    }
+                    if (!literal.isEmpty()) {
+                        items.add(new Literal(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    items.add(segment);
+                }
+                if (!literal.isEmpty() || items.isEmpty()) {
+                    items.add(new Literal(literal.toString()));
+                }
+                yield items.size() == 1 ? items.get(0) : new Sequence(items.toArray(new Segment[0]));
+            }
+            case Alternation alternation -> new Choice(alternation.branches().stream()
+                    .map(branch -> segment(branch, regex))
+                    .toArray(Segment[]::new));
+            case Repeat repeat -> {
+                Segment body = segment(repeat.node(), regex);
+                if (body instanceof Literal text && text.text().isEmpty()) {
+                    yield body; // Nothing, however often it is repeated
+                }
+                int max = repeat.max() == RegexNode.UNBOUNDED
+                        ? (int) Math.min((long) repeat.min() + UNBOUNDED_EXTRA, Integer.MAX_VALUE - 1)
+                        : repeat.max();
+                yield repeat.min() == 1 && max == 1 ? body : new Repetition(body, repeat.min(), max);
+            }
+            case Assertion assertion -> new Literal("");
+            case Opaque opaque -> throw new IllegalArgumentException(
+                    "Unsupported regex pattern '" + regex + "': " + opaque.construct());
+        };
+    }
+
+    /**
+     * Code points a slot draws from: the printable ASCII ones, else any ASCII ones, else those of the BMP
+     */
+    private static int[] pool(CharacterClass chars) {
+        int[] printable = members(chars, FIRST_PRINTABLE, LAST_PRINTABLE);
+        if (printable.length > 0) {
+            return printable;
+        }
+        int[] ascii = members(chars, 0, 0x7F);
+        if (ascii.length > 0 || chars.isAsciiOnly()) {
+            return ascii;
+        }
+        return Arrays.stream(members(chars, 0x80, 0xFFFF))
+                .filter(cp -> !Character.isSurrogate((char) cp))
+                .toArray();
+    }
+
+    private static int[] members(CharacterClass chars, int from, int to) {
+        int[] result = new int[to - from + 1];
+        int count = 0;
+        for (int cp = from; cp <= to; cp++) {
+            if (chars.contains(cp)) {
+                result[count++] = cp;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private sealed interface Segment {
+
+        void appendTo(StringBuilder out, RandomService random);
+
+        int minLength();
+
+        /**
+         * Upper bound of the segments walked to generate one value, saturating just above {@link #MAX_STEPS}
+         */
+        long maxSteps();
+    }
+
+    private static long saturatedSteps(long steps) {
+        return Math.min(steps, MAX_STEPS + 1);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            out.append(text);
+        }
+
+        @Override
+        public int minLength() {
+            return text.length();
+        }
+
+        @Override
+        public long maxSteps() {
+            return 1;
+        }
+    }
+
+    private record Slot(int[] pool) implements Segment {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            out.appendCodePoint(pool[random.nextInt(pool.length)]);
+        }
+
+        @Override
+        public int minLength() {
+            return 1;
+        }
+
+        @Override
+        public long maxSteps() {
+            return 1;
+        }
+    }
+
+    private record Sequence(Segment[] items) implements Segment {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            for (Segment item : items) {
+                item.appendTo(out, random);
+            }
+        }
+
+        @Override
+        public int minLength() {
+            return (int) Math.min(Arrays.stream(items).mapToLong(Segment::minLength).sum(), Integer.MAX_VALUE / 2);
+        }
+
+        @Override
+        public long maxSteps() {
+            return saturatedSteps(1 + Arrays.stream(items).mapToLong(Segment::maxSteps).sum());
+        }
+    }
+
+    private record Choice(Segment[] branches) implements Segment {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            branches[random.nextInt(branches.length)].appendTo(out, random);
+        }
+
+        @Override
+        public int minLength() {
+            return Arrays.stream(branches).mapToInt(Segment::minLength).min().orElse(0);
+        }
+
+        @Override
+        public long maxSteps() {
+            return 1 + Arrays.stream(branches).mapToLong(Segment::maxSteps).max().orElse(0);
+        }
+    }
+
+    private record Repetition(Segment body, int min, int max) implements Segment {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            int count = min == max ? min : min + random.nextInt(max - min + 1); // Bounded by MAX_STEPS
+            for (int i = 0; i < count; i++) {
+                body.appendTo(out, random);
+            }
+        }
+
+        @Override
+        public int minLength() {
+            return (int) Math.min((long) min * body.minLength(), Integer.MAX_VALUE / 2);
+        }
+
+        @Override
+        public long maxSteps() {
+            return saturatedSteps(1 + (long) max * body.maxSteps()); // Both factors are at most about 2^31
+        }
+    }
+}
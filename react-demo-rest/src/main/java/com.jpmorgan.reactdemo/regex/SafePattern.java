@@ -0,0 +1,204 @@
+package com.jpmorgan.reactdemo.regex;
+
+import com.jpmorgan.reactdemo.formatting.LengthRange;
+import com.jpmorgan.reactdemo.regex.RegexNode.Alternation;
+import com.jpmorgan.reactdemo.regex.RegexNode.Assertion;
+import com.jpmorgan.reactdemo.regex.RegexNode.CharSet;
+import com.jpmorgan.reactdemo.regex.RegexNode.Concat;
+import com.jpmorgan.reactdemo.regex.RegexNode.Opaque;
+import com.jpmorgan.reactdemo.regex.RegexNode.Repeat;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A user-supplied regular expression that can be matched against untrusted values in bounded time.
+ *
+ * Patterns run on a linear-time automaton. Patterns the automaton cannot express (back references,
+ * lookaround, inline flags) run on java.util.regex with a step budget, failing the match once the budget
+ * is spent. No pattern runs on java.util.regex unguarded: even patterns without nested quantifiers can
+ * take polynomial time to backtrack, e.g. {@code \d*\d*\d*\d*x} or {@code .*a.*a.*b}.
+ */
+public final class SafePattern {
+
+    public enum Engine {
+        LINEAR,
+        BOUNDED_BACKTRACKING
+    }
+
+    // Character reads java.util.regex may spend on one value before the match is abandoned
+    private static final long BUDGET_BASE = 100_000;
+    private static final long BUDGET_PER_CHAR = 1_000;
+
+    private final Pattern pattern;
+    private final LinearMatcher linearMatcher;
+    private final Engine engine;
+    private final List<String> hazards;
+
+    private SafePattern(Pattern pattern, LinearMatcher linearMatcher, Engine engine, List<String> hazards) {
+        this.pattern = pattern;
+        this.linearMatcher = linearMatcher;
+        this.engine = engine;
+        this.hazards = hazards;
+    }
+
+    /**
+     * @throws PatternSyntaxException if the expression is not valid java.util.regex syntax
+     */
+    public static SafePattern compile(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+
+        RegexNode node;
+        try {
+            node = RegexParser.parse(regex);
+        } catch (UnsupportedRegexException e) {
+            return new SafePattern(pattern, null, Engine.BOUNDED_BACKTRACKING, List.of("cannot be analysed: " + e.getMessage()));
+        }
+
+        List<String> hazards = RegexAnalyzer.backtrackingHazards(node);
+        try {
+            return new SafePattern(pattern, LinearMatcher.compile(node), Engine.LINEAR, hazards);
+        } catch (UnsupportedRegexException e) {
+            return new SafePattern(pattern, null, Engine.BOUNDED_BACKTRACKING, hazards);
+        }
+    }
+
+    /**
+     * Check that a pattern values are generated from is valid and can be expanded into a bounded
+     * automaton: no back references, lookaround or inline flags, and counted repetitions within limits.
+     * @throws IllegalArgumentException describing the problem otherwise
+     */
+    public static void validateForGeneration(String regex) {
+        try {
+            Pattern.compile(regex);
+            LinearMatcher.compile(RegexParser.parse(regex));
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regex pattern '" + regex + "': " + e.getDescription());
+        } catch (UnsupportedRegexException e) {
+            throw new IllegalArgumentException("Unsupported regex pattern '" + regex + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lengths (in chars) of the strings the pattern describes, or null if it cannot be analysed.
+     * Anchors and other assertions take up no chars.
+     */
+    public static LengthRange lengthRange(String regex) {
+        try {
+            Pattern.compile(regex);
+            return lengths(RegexParser.parse(regex));
+        } catch (PatternSyntaxException | UnsupportedRegexException e) {
+            return null;
+        }
+    }
+
+    private static LengthRange lengths(RegexNode node) {
+        return switch (node) {
+            case CharSet charSet -> new LengthRange(1, charSet.chars().isAsciiOnly() ? 1 : 2);
+            case Concat concat -> concat.items().stream()
+                    .map(SafePattern::lengths)
+                    .reduce(LengthRange.exactly(0), (a, b) -> new LengthRange(
+                            saturatedAdd(a.min(), b.min()), saturatedAdd(a.max(), b.max())));
+            case Alternation alternation -> alternation.branches().stream()
+                    .map(SafePattern::lengths)
+                    .reduce((a, b) -> new LengthRange(Math.min(a.min(), b.min()), Math.max(a.max(), b.max())))
+                    .orElseThrow();
+            case Repeat repeat -> {
+                LengthRange body = lengths(repeat.node());
+                int max = repeat.max() == RegexNode.UNBOUNDED || body.max() == LengthRange.UNBOUNDED
+                        ? (body.max() == 0 ? 0 : LengthRange.UNBOUNDED)
+                        : saturatedMultiply(repeat.max(), body.max());
+                yield new LengthRange(saturatedMultiply(repeat.min(), body.min()), max);
+            }
+            case Assertion assertion -> LengthRange.exactly(0);
+            case Opaque opaque -> new LengthRange(0, LengthRange.UNBOUNDED);
+        };
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        return (int) Math.min((long) a + b, LengthRange.UNBOUNDED);
+    }
+
+    private static int saturatedMultiply(int a, int b) {
+        return (int) Math.min((long) a * b, LengthRange.UNBOUNDED);
+    }
+
+    /**
+     * Whether the whole value matches. A value that exhausts the step budget (or the stack) does not match.
+     */
+    public boolean matches(CharSequence value) {
+        return switch (engine) {
+            case LINEAR -> linearMatcher.matches(value);
+            case BOUNDED_BACKTRACKING -> {
+                try {
+                    yield pattern.matcher(new BudgetedSequence(value, BUDGET_BASE + BUDGET_PER_CHAR * value.length())).matches();
+                } catch (BudgetExhaustedException | StackOverflowError e) {
+                    yield false;
+                }
+            }
+        };
+    }
+
+    public String pattern() {
+        return pattern.pattern();
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Shapes that would make a backtracking matcher take exponential time or overflow its stack, for logging;
+     * empty when none were found
+     */
+    public List<String> getHazards() {
+        return hazards;
+    }
+
+    /**
+     * Counts the characters the matcher reads and stops it once the budget is spent
+     */
+    private static final class BudgetedSequence implements CharSequence {
+        private final CharSequence value;
+        private long remaining;
+
+        BudgetedSequence(CharSequence value, long budget) {
+            this.value = value;
+            this.remaining = budget;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--remaining < 0) {
+                throw BudgetExhaustedException.INSTANCE;
+            }
+            return value.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return value.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
+    }
+
+    private static final class BudgetExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final BudgetExhaustedException INSTANCE = new BudgetExhaustedException();
+
+        private BudgetExhaustedException() {
+            super("regex step budget exhausted", null, false, false);
+        }
+    }
+}
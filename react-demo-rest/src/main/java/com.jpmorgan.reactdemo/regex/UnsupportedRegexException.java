@@ -0,0 +1,13 @@
+package com.jpmorgan.reactdemo.regex;
+
+/**
+ * A valid pattern that uses something the parser or the linear-time engine does not model
+ */
+class UnsupportedRegexException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedRegexException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jpmorgan.reactdemo.relational;
+
+import com.github.javafaker.service.RandomService;
+
+import java.util.Set;
+
+/**
+ * A reference from the rows of a child table to the rows of a parent table, given by the parent's
+ * {@link KeySpace} and how child rows are spread over parent rows (the fan-out):
+ * <ul>
+ *   <li>{@code uniform}: every child row picks a parent at random, so parents get a Poisson-like number of children</li>
+ *   <li>{@code skewed}: parents are picked with probability falling off as a power law of their row,
+ *       steeper for a higher {@code skew} (default 2), so a few parents get most children</li>
+ *   <li>{@code fixed}: consecutive child rows share a parent, {@code children} (default 1) each, in parent row
+ *       order; wraps around once every parent has its children</li>
+ * </ul>
+ * The parent of a child row is computed, never looked up, so no parent key is held in memory. Immutable.
+ */
+public record ForeignKey(String table, KeySpace parent, Fanout fanout, double skew, long children) {
+
+    public static final Set<String> OPTION_NAMES = Set.of("table", "fanout", "skew", "children", "start", "rows", "seed");
+
+    public enum Fanout {
+        UNIFORM,
+        SKEWED,
+        FIXED;
+
+        static Fanout parse(String name) {
+            for (Fanout fanout : values()) {
+                if (fanout.name().equalsIgnoreCase(name)) {
+                    return fanout;
+                }
+            }
+            throw new IllegalArgumentException("Unknown foreign key fanout '" + name + "': expected uniform, skewed or fixed.");
+        }
+    }
+
+    public ForeignKey {
+        if (parent.getRows() < 0) {
+            throw new IllegalArgumentException("Foreign keys need the parent's row count: rows=N, "
+                    + "or table=T naming a table of the same multi-table request.");
+        }
+        if (fanout == Fanout.SKEWED && !(skew >= 1 && skew <= 100)) {
+            throw new IllegalArgumentException("Foreign key skew must be between 1 and 100.");
+        }
+        if (fanout == Fanout.FIXED && children < 1) {
+            throw new IllegalArgumentException("Foreign key children must be at least 1.");
+        }
+    }
+
+    /**
+     * Read a foreign key from its field options
+     * @throws IllegalArgumentException if the options are malformed or lack the parent's row count
+     */
+    public static ForeignKey parse(String options) {
+        KeyOptions keyOptions = KeyOptions.parse(options, OPTION_NAMES);
+        Fanout fanout = keyOptions.has("fanout") ? Fanout.parse(keyOptions.get("fanout")) : Fanout.UNIFORM;
+        return new ForeignKey(keyOptions.get("table"), KeySpace.of(keyOptions), fanout,
+                keyOptions.getDouble("skew", 2), keyOptions.getLong("children", 1));
+    }
+
+    /**
+     * The parent row of a child row
+     */
+    public long parentRow(long childRow, RandomService random) {
+        long rows = parent.getRows();
+        return switch (fanout) {
+            case UNIFORM -> random.nextLong(rows);
+            case SKEWED -> Math.min(rows - 1, (long) (rows * Math.pow(random.nextDouble(), skew)));
+            case FIXED -> childRow / children % rows;
+        };
+    }
+
+    /**
+     * The parent key of a child row
+     */
+    public long keyOf(long childRow, RandomService random) {
+        return parent.keyAt(parentRow(childRow, random));
+    }
+}
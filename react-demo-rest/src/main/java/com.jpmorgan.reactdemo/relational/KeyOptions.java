@@ -0,0 +1,85 @@
+package com.jpmorgan.reactdemo.relational;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of key fields: {@code name=value} tokens separated by spaces or commas, e.g.
+ * {@code table=customers fanout=skewed skew=3}. Immutable; {@link #with} returns a copy.
+ */
+public final class KeyOptions {
+
+    private final Map<String, String> values;
+
+    private KeyOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * @param names the option names the field accepts
+     * @throws IllegalArgumentException if a token is not name=value or names an unknown option
+     */
+    public static KeyOptions parse(String options, Set<String> names) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String token : options == null ? new String[0] : options.trim().split("[\\s,]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int equals = token.indexOf('=');
+            String name = equals > 0 ? token.substring(0, equals).toLowerCase(Locale.ROOT) : token;
+            if (equals <= 0 || equals == token.length() - 1 || !names.contains(name)) {
+                throw new IllegalArgumentException("Unexpected '" + token + "' in key options '" + options
+                        + "': expected name=value with names " + names);
+            }
+            values.put(name, token.substring(equals + 1));
+        }
+        return new KeyOptions(values);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Key option " + name + " must be an integer, not '" + value + "'.", e);
+        }
+    }
+
+    public double getDouble(String name, double defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Key option " + name + " must be a number, not '" + value + "'.", e);
+        }
+    }
+
+    public KeyOptions with(String name, Object value) {
+        Map<String, String> copy = new LinkedHashMap<>(values);
+        copy.put(name, String.valueOf(value));
+        return new KeyOptions(copy);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        values.forEach((name, value) -> text.append(text.isEmpty() ? "" : " ").append(name).append('=').append(value));
+        return text.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.jpmorgan.reactdemo.relational;
+
+import java.util.Set;
+
+/**
+ * The primary keys of a table, computed from the row index instead of being stored: the key of row i is
+ * {@code start + i}, or, with a seed, {@code start + p(i)} where p is a seeded permutation of [0, rows).
+ * Either way every key is unique, and a child table can compute the key of any parent row from the
+ * parent's key space alone, however many rows the parent has. Immutable.
+ *
+ * The permutation is a 4-round Feistel network over the smallest even power of two covering the rows,
+ * cycle-walked back into range, so computing a key takes a few multiplications.
+ */
+public final class KeySpace {
+
+    public static final Set<String> OPTION_NAMES = Set.of("start", "rows", "seed");
+
+    private static final int ROUNDS = 4;
+
+    private final long start;
+    private final long rows; // -1 when unbounded
+    private final Long seed;
+    private final int halfBits;
+    private final long[] roundKeys;
+
+    public KeySpace(long start, long rows, Long seed) {
+        if (rows == 0 || rows < -1) {
+            throw new IllegalArgumentException("Key rows must be positive.");
+        }
+        if (seed != null && rows < 0) {
+            throw new IllegalArgumentException("Seeded keys need the table's row count: rows=N.");
+        }
+        if (rows > 0 && start > Long.MAX_VALUE - rows) {
+            throw new IllegalArgumentException("Keys from " + start + " for " + rows + " rows leave the range of long values.");
+        }
+        this.start = start;
+        this.rows = rows;
+        this.seed = seed;
+
+        int bits = rows > 1 ? 64 - Long.numberOfLeadingZeros(rows - 1) : 1;
+        this.halfBits = (bits + 1) / 2;
+        this.roundKeys = new long[ROUNDS];
+        long state = seed != null ? seed : 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[round] = mix(state);
+        }
+    }
+
+    /**
+     * Read start=, rows= and seed= from key options; other options are left to the caller
+     */
+    public static KeySpace of(KeyOptions options) {
+        return new KeySpace(options.getLong("start", 1), options.getLong("rows", -1),
+                options.has("seed") ? options.getLong("seed", 0) : null);
+    }
+
+    /**
+     * Write this key space into key options, replacing its start=, rows= and seed=
+     */
+    public KeyOptions writeTo(KeyOptions options) {
+        KeyOptions written = options.with("start", start);
+        if (rows > 0) {
+            written = written.with("rows", rows);
+        }
+        return seed != null ? written.with("seed", seed) : written;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Number of keys, or -1 if the key space is unbounded
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The key of a row
+     * @throws IllegalArgumentException if the row is beyond the key space
+     */
+    public long keyAt(long rowIndex) {
+        if (rows > 0 && rowIndex >= rows) {
+            throw new IllegalArgumentException("Row " + rowIndex + " is beyond the " + rows + " keys of its table.");
+        }
+        if (seed == null) {
+            return Math.addExact(start, rowIndex);
+        }
+        long permuted = rowIndex;
+        do {
+            permuted = encrypt(permuted);
+        } while (permuted >= rows);
+        return start + permuted;
+    }
+
+    private long encrypt(long value) {
+        long mask = (1L << halfBits) - 1;
+        long left = value >>> halfBits;
+        long right = value & mask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & mask);
+            left = right;
+            right = next;
+        }
+        return left << halfBits | right;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole result
+     */
+    public static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
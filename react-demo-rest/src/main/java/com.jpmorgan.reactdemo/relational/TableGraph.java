@@ -0,0 +1,76 @@
+package com.jpmorgan.reactdemo.relational;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The tables of a multi-table request and the foreign keys between them, as a directed acyclic graph
+ * from each table to the tables it references. Immutable.
+ */
+public final class TableGraph {
+
+    private final Map<String, Set<String>> parents;
+    private final List<String> order;
+
+    private TableGraph(Map<String, Set<String>> parents, List<String> order) {
+        this.parents = parents;
+        this.order = order;
+    }
+
+    /**
+     * @param parents the tables each table references, for every table in declared order
+     * @throws IllegalArgumentException if a table references an unknown table, or the references form a cycle
+     */
+    public static TableGraph of(Map<String, Set<String>> parents) {
+        Map<String, Set<String>> copy = new LinkedHashMap<>();
+        parents.forEach((table, references) -> {
+            for (String parent : references) {
+                if (!parents.containsKey(parent)) {
+                    throw new IllegalArgumentException("Table '" + table + "' references unknown table '" + parent + "'.");
+                }
+            }
+            copy.put(table, Collections.unmodifiableSet(new LinkedHashSet<>(references)));
+        });
+
+        List<String> order = new ArrayList<>();
+        Set<String> done = new LinkedHashSet<>();
+        for (String table : copy.keySet()) {
+            visit(table, copy, done, new LinkedHashSet<>(), order);
+        }
+        return new TableGraph(Collections.unmodifiableMap(copy), List.copyOf(order));
+    }
+
+    private static void visit(String table, Map<String, Set<String>> parents, Set<String> done,
+            LinkedHashSet<String> path, List<String> order) {
+        if (done.contains(table)) {
+            return;
+        }
+        if (!path.add(table)) {
+            List<String> cycle = new ArrayList<>(path);
+            cycle = cycle.subList(cycle.indexOf(table), cycle.size());
+            throw new IllegalArgumentException("Foreign keys form a cycle: " + String.join(" -> ", cycle) + " -> " + table);
+        }
+        for (String parent : parents.get(table)) {
+            visit(parent, parents, done, path, order);
+        }
+        path.remove(table);
+        done.add(table);
+        order.add(table);
+    }
+
+    /**
+     * All tables, every table after the tables it references
+     */
+    public List<String> getOrder() {
+        return order;
+    }
+
+    public Set<String> parentsOf(String table) {
+        return parents.get(table);
+    }
+}
@@ -0,0 +1,9 @@
+package com.jpmorgan.reactdemo.repository;
+
+import com.jpmorgan.reactdemo.model.MultiTableSchemaDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MultiTableSchemaDefinitionRepository extends JpaRepository<MultiTableSchemaDefinition, Long> {
+}
@@ -0,0 +1,225 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.jpmorgan.reactdemo.config.OutputProperties;
+import com.jpmorgan.reactdemo.dto.GenerationRequest;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.output.FanOutRecordWriter;
+import com.jpmorgan.reactdemo.output.OrderedChunkWriter;
+import com.jpmorgan.reactdemo.output.RecordWriter;
+import com.jpmorgan.reactdemo.output.RecordWriterFactory;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodec;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodecRegistry;
+import com.jpmorgan.reactdemo.output.compression.CompressionSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams generated rows through a format writer and an optional compression codec.
+ * Chunks are generated in parallel and written in order, so memory use does not grow with row count.
+ * A request with several formats generates each row once and writes all formats into one ZIP archive.
+ */
+@Service
+@Slf4j
+public class DataExportService {
+
+    public static final String ARCHIVE_FILE_NAME = "generated_data.zip";
+    public static final String ARCHIVE_MEDIA_TYPE = "application/zip";
+
+    private final EnhancedDataGenerationService dataGenerationService;
+    private final RecordWriterFactory recordWriterFactory;
+    private final OutputProperties outputProperties;
+    private final ExecutorService generationExecutor;
+
+    public DataExportService(
+            @Qualifier("enhancedDataGenerationService") EnhancedDataGenerationService dataGenerationService,
+            RecordWriterFactory recordWriterFactory,
+            OutputProperties outputProperties,
+            @Qualifier("generationExecutor") ExecutorService generationExecutor) {
+        this.dataGenerationService = dataGenerationService;
+        this.recordWriterFactory = recordWriterFactory;
+        this.outputProperties = outputProperties;
+        this.generationExecutor = generationExecutor;
+    }
+
+    /**
+     * Compile the schema and check the output settings, before anything is written
+     */
+    public CompiledSchema prepare(GenerationRequest request) {
+        CompiledSchema compiled = dataGenerationService.compileSchema(
+                request.getSchema(), request.getSchemaFormattingRules());
+        compressionSettings(request);
+
+        if (!isArchive(request)) {
+            recordWriterFactory.validate(request.getFormat(), compiled, request.getTableName());
+            return compiled;
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (String format : request.getFormats()) {
+            recordWriterFactory.validate(format, compiled, request.getTableName());
+            if (!seen.add(format.toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Format listed more than once: " + format);
+            }
+        }
+        String compression = request.getCompression();
+        if (compression != null && !compression.equalsIgnoreCase(CompressionCodecRegistry.NONE)) {
+            throw new IllegalArgumentException("Multi-format output is a ZIP archive and cannot be compressed again.");
+        }
+        return compiled;
+    }
+
+    /**
+     * Whether the request asks for several formats, delivered as a ZIP archive
+     */
+    public boolean isArchive(GenerationRequest request) {
+        return request.getFormats() != null && !request.getFormats().isEmpty();
+    }
+
+    /**
+     * Write all rows of a request to {@code out}, which is flushed but not closed
+     * @param codec compression to apply, or null to write uncompressed
+     */
+    public void export(GenerationRequest request, CompiledSchema compiled, OutputStream out,
+            CompressionCodec codec) throws IOException {
+        long start = System.currentTimeMillis();
+        OutputStream target = codec != null
+                ? codec.compress(StreamUtils.nonClosing(out), compressionSettings(request))
+                : out;
+
+        RecordWriter writer = recordWriterFactory.create(
+                request.getFormat(), compiled, request.getTableName(), target);
+        OrderedChunkWriter chunkWriter = new OrderedChunkWriter(generationExecutor,
+                outputProperties.getChunkRows(), outputProperties.getWorkerThreads() * 2);
+
+        writer.begin();
+        chunkWriter.write(request.getRowCount(),
+                (startRow, rows, recycled) -> dataGenerationService.generateChunk(compiled, startRow, rows, recycled),
+                writer);
+        writer.end();
+
+        if (codec != null) {
+            target.close(); // Writes the codec trailer; out stays open
+        }
+        out.flush();
+
+        log.info("Exported {} rows as {}{} in {} ms", request.getRowCount(), request.getFormat(),
+                codec != null ? " (" + codec.getName() + ")" : "", System.currentTimeMillis() - start);
+        logValidationStats(compiled);
+    }
+
+    /**
+     * Write all rows of a multi-format request as a ZIP archive to {@code out}, which is flushed but not closed.
+     * Rows are generated once. The first format streams straight into its archive entry; the others
+     * are spooled to temporary files at the same time and appended afterwards, because ZIP entries
+     * cannot be interleaved.
+     */
+    public void exportArchive(GenerationRequest request, CompiledSchema compiled, OutputStream out)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        List<String> formats = request.getFormats();
+        List<Path> spoolFiles = new ArrayList<>();
+        List<OutputStream> spoolStreams = new ArrayList<>();
+
+        try {
+            ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out));
+            zip.setLevel(compressionSettings(request).getLevel());
+            zip.putNextEntry(new ZipEntry(entryName(formats.get(0))));
+
+            List<RecordWriter> writers = new ArrayList<>();
+            writers.add(recordWriterFactory.create(formats.get(0), compiled, request.getTableName(), zip));
+            Path spoolDirectory = Files.createDirectories(Paths.get(outputProperties.getDirectory()));
+            for (String format : formats.subList(1, formats.size())) {
+                Path spoolFile = Files.createTempFile(spoolDirectory, "spool-", "." + recordWriterFactory.fileExtension(format));
+                spoolFiles.add(spoolFile);
+                OutputStream spool = new BufferedOutputStream(Files.newOutputStream(spoolFile));
+                spoolStreams.add(spool);
+                writers.add(recordWriterFactory.create(format, compiled, request.getTableName(), spool));
+            }
+
+            RecordWriter writer = new FanOutRecordWriter(writers);
+            OrderedChunkWriter chunkWriter = new OrderedChunkWriter(generationExecutor,
+                    outputProperties.getChunkRows(), outputProperties.getWorkerThreads() * 2);
+
+            writer.begin();
+            chunkWriter.write(request.getRowCount(),
+                    (startRow, rows, recycled) -> dataGenerationService.generateChunk(compiled, startRow, rows, recycled),
+                    writer);
+            writer.end();
+            zip.closeEntry();
+
+            for (int i = 0; i < spoolFiles.size(); i++) {
+                spoolStreams.get(i).close();
+                zip.putNextEntry(new ZipEntry(entryName(formats.get(i + 1))));
+                Files.copy(spoolFiles.get(i), zip);
+                zip.closeEntry();
+            }
+            zip.close(); // Writes the central directory; out stays open
+            out.flush();
+        } finally {
+            for (OutputStream spool : spoolStreams) {
+                closeQuietly(spool);
+            }
+            for (Path spoolFile : spoolFiles) {
+                Files.deleteIfExists(spoolFile);
+            }
+        }
+
+        log.info("Exported {} rows as {} archive in {} ms", request.getRowCount(), formats,
+                System.currentTimeMillis() - start);
+        logValidationStats(compiled);
+    }
+
+    public CompressionSettings compressionSettings(GenerationRequest request) {
+        int level = request.getCompressionLevel() != null
+                ? request.getCompressionLevel()
+                : outputProperties.getCompressionLevel();
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9.");
+        }
+
+        boolean parallel = request.getParallelCompression() != null
+                ? request.getParallelCompression()
+                : request.getRowCount() >= outputProperties.getParallelCompressionMinRows();
+
+        return new CompressionSettings(level, parallel, outputProperties.getCompressionBlockSize(), generationExecutor);
+    }
+
+    private void logValidationStats(CompiledSchema compiled) {
+        compiled.getValidationStats().forEach((field, stats) -> {
+            if (stats.getRejections() > 0) {
+                log.info("Field '{}': {} of {} values rejected by validation ({}%), {} left invalid", field,
+                        stats.getRejections(), stats.getAttempts(),
+                        String.format(Locale.ROOT, "%.1f", stats.getRejectionRate() * 100), stats.getExhausted());
+            }
+        });
+    }
+
+    private String entryName(String format) {
+        return "generated_data." + recordWriterFactory.fileExtension(format);
+    }
+
+    private void closeQuietly(OutputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Ignoring error closing spool stream: {}", e.getMessage());
+        }
+    }
+}
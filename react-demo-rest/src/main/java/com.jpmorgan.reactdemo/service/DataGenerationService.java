@@ -3,6 +3,7 @@ package com.jpmorgan.reactdemo.service;
 
 import com.jpmorgan.reactdemo.dto.*;
 import com.jpmorgan.reactdemo.formatting.FieldFormatter;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -108,14 +110,27 @@ public class DataGenerationService {
     String formatData(List<Map<String, Object>> data, String format, List<FieldDefinitionDto> schema, String tableName) throws Exception {
         return switch (format.toUpperCase()) {
             case "JSON" -> formatJson(data);
-            case "CSV" -> formatCsv(data, schema);
-            case "XML" -> formatXml(data);
+            case "CSV" -> formatCsv(asText(data), schema);
+            case "XML" -> formatXml(asText(data));
             case "SQL" -> formatSql(data, schema, tableName);
-            case "PLAINTEXT" -> formatPlainText(data, schema);
+            case "PLAINTEXT" -> formatPlainText(asText(data), schema);
             default -> throw new IllegalArgumentException("Unsupported format: " + format);
         };
     }
 
+    /**
+     * Rows with typed values (numbers, booleans, dates) replaced by their text, for the text-only formats
+     */
+    private List<Map<String, Object>> asText(List<Map<String, Object>> data) {
+        return data.stream()
+                .map(row -> {
+                    Map<String, Object> text = new LinkedHashMap<>();
+                    row.forEach((name, value) -> text.put(name, value != null ? ValueFormats.DEFAULT.toText(value) : null));
+                    return text;
+                })
+                .toList();
+    }
+
     private String formatJson(List<Map<String, Object>> data) throws JsonProcessingException {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data);
     }
@@ -194,11 +209,17 @@ public class DataGenerationService {
         if (value == null) {
             return "NULL";
         }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
         if (value instanceof Number) {
             return value.toString(); // Numbers don't need quotes
         }
+        if (value instanceof Boolean bool) {
+            return bool ? "TRUE" : "FALSE";
+        }
         // Treat everything else as string, escape single quotes
-        return "'" + value.toString().replace("'", "''") + "'";
+        return "'" + ValueFormats.DEFAULT.toText(value).replace("'", "''") + "'";
     }
 
 }
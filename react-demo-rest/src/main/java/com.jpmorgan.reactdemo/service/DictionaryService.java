@@ -0,0 +1,171 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.jpmorgan.reactdemo.config.DictionaryProperties;
+import com.jpmorgan.reactdemo.dictionary.MappedDictionary;
+import com.jpmorgan.reactdemo.dto.DictionaryInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded newline-delimited dictionary files on local disk and keeps them memory-mapped, so that
+ * any schema can draw values from them by id. Files are indexed when uploaded, or on first use after a
+ * restart.
+ */
+@Service
+@Slf4j
+public class DictionaryService {
+
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final String VALUES_EXTENSION = ".txt";
+    private static final String NAME_EXTENSION = ".name";
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private final DictionaryProperties dictionaryProperties;
+    private final Map<String, Loaded> dictionaries = new ConcurrentHashMap<>();
+
+    private record Loaded(DictionaryInfo info, MappedDictionary values) {
+    }
+
+    public DictionaryService(DictionaryProperties dictionaryProperties) {
+        this.dictionaryProperties = dictionaryProperties;
+    }
+
+    /**
+     * Store and index an uploaded dictionary
+     * @throws IllegalArgumentException if the upload is too large or has no values
+     */
+    public DictionaryInfo upload(InputStream in, String name) throws IOException {
+        if (name != null && name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Dictionary names can be at most " + MAX_NAME_LENGTH + " characters.");
+        }
+        String id = UUID.randomUUID().toString();
+        Path upload = directory().resolve(id + ".upload");
+        Path file = valuesFile(id);
+        try {
+            copy(in, upload);
+            Files.move(upload, file, StandardCopyOption.ATOMIC_MOVE);
+            if (name != null && !name.isBlank()) {
+                Files.writeString(nameFile(id), name);
+            }
+            DictionaryInfo info = load(id).info();
+            log.info("Stored dictionary {} ({} values, {} bytes)", id, info.getValueCount(), info.getSizeBytes());
+            return info;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(nameFile(id));
+            throw e;
+        }
+    }
+
+    public List<DictionaryInfo> listDictionaries() throws IOException {
+        List<DictionaryInfo> infos = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory(), "*" + VALUES_EXTENSION)) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().replace(VALUES_EXTENSION, "");
+                if (ID.matcher(id).matches()) {
+                    infos.add(getInfo(id));
+                }
+            }
+        }
+        infos.sort(Comparator.comparing(DictionaryInfo::getCreatedAt));
+        return infos;
+    }
+
+    public DictionaryInfo getInfo(String id) throws IOException {
+        return loaded(id).info();
+    }
+
+    /**
+     * The mapped values of a dictionary
+     * @throws NoSuchElementException if there is no dictionary with this id
+     */
+    public MappedDictionary getDictionary(String id) throws IOException {
+        return loaded(id).values();
+    }
+
+    /**
+     * Synchronized with {@link #load}, so a concurrent first use cannot map the files again while they are deleted
+     */
+    public synchronized void deleteDictionary(String id) throws IOException {
+        loaded(id);
+        dictionaries.remove(id);
+        Files.deleteIfExists(valuesFile(id));
+        Files.deleteIfExists(nameFile(id));
+        log.info("Deleted dictionary {}", id);
+    }
+
+    private Loaded loaded(String id) throws IOException {
+        Loaded loaded = dictionaries.get(id);
+        return loaded != null ? loaded : load(id);
+    }
+
+    private synchronized Loaded load(String id) throws IOException {
+        Loaded loaded = dictionaries.get(id);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (id == null || !ID.matcher(id).matches() || !Files.exists(valuesFile(id))) {
+            throw new NoSuchElementException("Dictionary not found with id: " + id);
+        }
+
+        MappedDictionary values = MappedDictionary.open(valuesFile(id));
+        DictionaryInfo info = new DictionaryInfo();
+        info.setId(id);
+        info.setName(Files.exists(nameFile(id)) ? Files.readString(nameFile(id), StandardCharsets.UTF_8) : null);
+        info.setValueCount(values.size());
+        info.setSizeBytes(values.getSizeBytes());
+        info.setCreatedAt(LocalDateTime.ofInstant(Files.getLastModifiedTime(valuesFile(id)).toInstant(), ZoneId.systemDefault()));
+
+        loaded = new Loaded(info, values);
+        dictionaries.put(id, loaded);
+        return loaded;
+    }
+
+    private void copy(InputStream in, Path target) throws IOException {
+        long limit = dictionaryProperties.getMaxUploadBytes();
+        long copied = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                copied += read;
+                if (copied > limit) {
+                    throw new IllegalArgumentException("Dictionary files can be at most " + limit + " bytes.");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private Path valuesFile(String id) throws IOException {
+        return directory().resolve(id + VALUES_EXTENSION);
+    }
+
+    private Path nameFile(String id) throws IOException {
+        return directory().resolve(id + NAME_EXTENSION);
+    }
+
+    private Path directory() throws IOException {
+        return Files.createDirectories(Paths.get(dictionaryProperties.getDirectory()));
+    }
+}
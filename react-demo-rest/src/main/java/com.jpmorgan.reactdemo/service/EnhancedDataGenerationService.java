@@ -8,12 +8,28 @@ import com.github.javafaker.Faker;
 import com.jpmorgan.reactdemo.dto.EnhancedFieldOptions;
 import com.jpmorgan.reactdemo.dto.FieldDefinitionDto;
 import com.jpmorgan.reactdemo.dto.GenerationRequest;
+import com.jpmorgan.reactdemo.dto.ValidationRule;
 import com.jpmorgan.reactdemo.expression.DependencyResolver;
 import com.jpmorgan.reactdemo.expression.ExpressionEvaluator;
 import com.jpmorgan.reactdemo.formatting.FieldFormatter;
 import com.jpmorgan.reactdemo.formatting.FieldFormattingOptions;
-import com.jpmorgan.reactdemo.formatting.schema.SchemaFormattingRules;
+import com.jpmorgan.reactdemo.formatting.FormattingPipeline;
+import com.jpmorgan.reactdemo.formatting.LengthRange;
+import com.jpmorgan.reactdemo.formatting.enums.NullRepresentation;
+import com.jpmorgan.reactdemo.generation.CompiledField;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.generation.DataChunk;
+import com.jpmorgan.reactdemo.generation.FieldValidationException;
+import com.jpmorgan.reactdemo.generation.NestedValueSource;
 import com.jpmorgan.reactdemo.generator.DataTypeGenerator;
+import com.jpmorgan.reactdemo.generator.PrimitiveValueSource;
+import com.jpmorgan.reactdemo.generator.ValueSource;
+import com.jpmorgan.reactdemo.generator.ValueType;
+import com.jpmorgan.reactdemo.generator.impl.key.PrimaryKeyGenerator;
+import com.jpmorgan.reactdemo.generator.impl.nested.NestedArrayGenerator;
+import com.jpmorgan.reactdemo.generator.impl.nested.NestedObjectGenerator;
+import com.jpmorgan.reactdemo.generator.impl.number.IncrementalNumberGenerator;
+import com.jpmorgan.reactdemo.geography.GeographyTable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
@@ -30,12 +46,21 @@ import java.util.stream.IntStream;
 @Slf4j
 public class EnhancedDataGenerationService extends DataGenerationService {
 
+    // Upper bound on regenerating a value that fails validation
+    private static final int MAX_VALIDATION_RETRIES = 100;
+
+    // Generators whose values are computed from the row index alone
+    private static final Set<String> ROW_INDEXED_TYPES = Set.of(PrimaryKeyGenerator.KEY, IncrementalNumberGenerator.KEY);
+
     private final SchemaFormattingService schemaFormattingService;
     private final FieldFormatter fieldFormatter;
     private final DependencyResolver dependencyResolver;
     private final ExpressionEvaluator expressionEvaluator;
     private final ObjectMapper objectMapper;
 
+    // Faker is not designed for concurrent use, so parallel chunk workers each get their own
+    private final ThreadLocal<Faker> workerFakers = ThreadLocal.withInitial(Faker::new);
+
     public EnhancedDataGenerationService(
             List<DataTypeGenerator> generators,
             ObjectMapper objectMapper,
@@ -64,11 +89,9 @@ public class EnhancedDataGenerationService extends DataGenerationService {
     public String generateData(GenerationRequest request) throws Exception {
         log.info("Enhanced generation for {} rows", request.getRowCount());
 
-        // Parse schema-level formatting rules
-        SchemaFormattingRules schemaRules = parseSchemaFormattingRules(request.getSchemaFormattingRules());
-
         // Generate with enhanced formatting
-        List<Map<String, Object>> data = generateRawDataWithFormatting(request.getSchema(), request.getRowCount(), schemaRules);
+        List<Map<String, Object>> data = generateRawDataWithFormatting(
+                request.getSchema(), request.getRowCount(), request.getSchemaFormattingRules());
 
         // Use parent's format method
         return formatData(data, request.getFormat(), request.getSchema(), request.getTableName());
@@ -77,7 +100,7 @@ public class EnhancedDataGenerationService extends DataGenerationService {
     @Override
     public List<Map<String, Object>> generateRawData(List<FieldDefinitionDto> schema, int rowCount) {
         // Enhanced version with default formatting
-        return generateRawDataWithFormatting(schema, rowCount, new SchemaFormattingRules());
+        return generateRawDataWithFormatting(schema, rowCount, null);
     }
 
     /**
@@ -87,27 +110,199 @@ public class EnhancedDataGenerationService extends DataGenerationService {
             List<FieldDefinitionDto> schema,
             int rowCount,
             String schemaFormattingRulesJson) {
-        SchemaFormattingRules schemaRules = parseSchemaFormattingRules(schemaFormattingRulesJson);
-        return generateRawDataWithFormatting(schema, rowCount, schemaRules);
+        return generateRawDataWithFormatting(schema, rowCount, schemaFormattingRulesJson);
+    }
+
+    /**
+     * Parse field options, resolve generators, formatting and dependency order once per request.
+     * The result is immutable and can be shared by workers generating chunks in parallel.
+     */
+    public CompiledSchema compileSchema(List<FieldDefinitionDto> schema, String schemaFormattingRulesJson) {
+        return compileSchema(schema, schemaFormattingService.resolutionTable(schemaFormattingRulesJson));
+    }
+
+    private CompiledSchema compileSchema(List<FieldDefinitionDto> schema, FormattingResolutionTable formattingRules) {
+        Set<String> referencedFields = dependencyResolver.findReferencedFields(schema);
+
+        Map<String, CompiledField> compiledByName = new HashMap<>();
+        for (FieldDefinitionDto field : schema) {
+            compiledByName.put(field.getName(),
+                    compileField(field, formattingRules, referencedFields.contains(field.getName())));
+        }
+
+        List<CompiledField> generationOrder = dependencyResolver.resolveDependencyOrder(schema).stream()
+                .map(field -> compiledByName.get(field.getName()))
+                .toList();
+        List<CompiledField> columns = schema.stream()
+                .map(field -> compiledByName.get(field.getName()))
+                .toList();
+
+        return new CompiledSchema(generationOrder, columns);
+    }
+
+    private CompiledField compileField(FieldDefinitionDto field, FormattingResolutionTable formattingRules,
+            boolean referenced) {
+        EnhancedFieldOptions fieldOptions = parseEnhancedFieldOptions(field.getOptions());
+
+        String generatorKey = fieldOptions.getBaseType() != null ? fieldOptions.getBaseType() : field.getDataType();
+        DataTypeGenerator generator = generatorMap.get(generatorKey);
+        if (generator == null) {
+            log.warn("No generator for type: {}", generatorKey);
+        }
+
+        String baseOptions = fieldOptions.getBaseOptions() != null ?
+                fieldOptions.getBaseOptions().toString() : field.getOptions();
+        boolean hasExpression = fieldOptions.getDependency() != null && fieldOptions.getDependency().getExpression() != null;
+        boolean nested = NestedObjectGenerator.KEY.equals(generatorKey) || NestedArrayGenerator.KEY.equals(generatorKey);
+        FieldFormattingOptions formatting = formattingRules.resolve(field, fieldOptions.getFormatting());
+
+        ValueSource valueSource = null;
+        LengthRange valueLengths = null;
+        ValueType generatedType = ValueType.STRING;
+        FormattingPipeline formatter;
+        try {
+            if (nested) {
+                valueSource = compileNested(field, generatorKey, baseOptions, formattingRules);
+            } else if (generator != null && !hasExpression) {
+                valueSource = generator.compile(baseOptions);
+                valueLengths = generator.valueLengths(baseOptions);
+                generatedType = generator.getValueType(baseOptions);
+            }
+            validateRetryPolicy(formatting.getValidation());
+            validateNullRate(fieldOptions.getNullRate());
+            formatter = fieldFormatter.compile(formatting, valueLengths);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Field '" + field.getName() + "': " + e.getMessage(), e);
+        }
+
+        // Values that no formatting touches keep their type, so writers can write them natively.
+        // Null cells written as empty strings make a column of strings.
+        double nullRate = fieldOptions.getNullRate() != null ? fieldOptions.getNullRate() : 0;
+        boolean nullAsEmpty = nullRate > 0 && fieldOptions.getNullAs() == NullRepresentation.EMPTY;
+        ValueType valueType = valueSource != null && formatter.isIdentity() && !nullAsEmpty
+                && !formattingRules.getValueFormats().reformats(generatedType)
+                ? generatedType : ValueType.STRING;
+
+        return new CompiledField(field, fieldOptions, generator, generatorKey, baseOptions, valueSource, formatting, formatter,
+                formattingRules.getValueFormats(), valueType, referenced, nullRate);
+    }
+
+    /**
+     * A nested field's children are compiled like a schema of their own, generated once per object
+     */
+    private NestedValueSource compileNested(FieldDefinitionDto field, String generatorKey, String options,
+            FormattingResolutionTable formattingRules) {
+        if (field.getFields() == null || field.getFields().isEmpty()) {
+            throw new IllegalArgumentException("Nested fields need child fields.");
+        }
+        CompiledSchema children = compileSchema(field.getFields(), formattingRules);
+        NestedValueSource.ObjectGenerator objects = (fields, rowIndex, objectFaker) ->
+                generateRowWithFormatting(fields.getGenerationOrder(), (int) rowIndex, objectFaker);
+
+        if (NestedObjectGenerator.KEY.equals(generatorKey)) {
+            return NestedValueSource.object(children, objects);
+        }
+        rejectRowIndexedFields(children);
+        NestedArrayGenerator.Options array = NestedArrayGenerator.Options.parse(options);
+        return NestedValueSource.array(children, objects, array.cardinality(), array.itemName(), array.values());
+    }
+
+    /**
+     * The items of an array share their row's index, so fields computed from it would repeat one value in every item
+     */
+    private void rejectRowIndexedFields(CompiledSchema fields) {
+        for (CompiledField field : fields.getColumns()) {
+            if (ROW_INDEXED_TYPES.contains(field.getGeneratorKey())) {
+                throw new IllegalArgumentException("Array child field '" + field.getName() + "' cannot be "
+                        + field.getGeneratorKey() + ": every item of a row would get the same value.");
+            }
+            if (field.getValueSource() instanceof NestedValueSource nested && !nested.isArray()) {
+                rejectRowIndexedFields(nested.getChildren()); // Nested arrays check their own children
+            }
+        }
+    }
+
+    private void validateRetryPolicy(ValidationRule validation) {
+        if (validation != null && validation.getMaxRetries() != null
+                && (validation.getMaxRetries() < 0 || validation.getMaxRetries() > MAX_VALIDATION_RETRIES)) {
+            throw new IllegalArgumentException("Validation maxRetries must be between 0 and " + MAX_VALIDATION_RETRIES + ".");
+        }
+    }
+
+    private void validateNullRate(Double nullRate) {
+        if (nullRate != null && !(nullRate >= 0 && nullRate <= 1)) {
+            throw new IllegalArgumentException("nullRate must be between 0 and 1.");
+        }
+    }
+
+    /**
+     * Generate rows [startRow, startRow + size) of a compiled schema.
+     * Safe to call from several threads at once: each worker thread uses its own Faker.
+     * @param recycled a chunk of this schema that has been written and can be refilled, or null
+     */
+    public DataChunk generateChunk(CompiledSchema compiled, int startRow, int size, DataChunk recycled) {
+        DataChunk chunk = recycled != null && recycled.getCapacity() >= size
+                ? recycled.reuse(startRow, size)
+                : new DataChunk(compiled.getColumnNames(), compiled.getColumnTypes(), startRow, size);
+        List<CompiledField> columns = compiled.getColumns();
+        Faker workerFaker = workerFakers.get();
+
+        // Primitive values no other field reads go straight into the column buffers
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).isColumnar()) {
+                fillColumn(chunk, c, columns.get(c), workerFaker);
+            }
+        }
+
+        List<CompiledField> rowFields = compiled.getRowFields();
+        if (rowFields.isEmpty()) {
+            return chunk;
+        }
+        for (int r = 0; r < size; r++) {
+            Map<String, Object> row = generateRowWithFormatting(rowFields, startRow + r, workerFaker);
+            for (int c = 0; c < columns.size(); c++) {
+                if (!columns.get(c).isColumnar()) {
+                    chunk.set(c, r, row.get(columns.get(c).getName()));
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private void fillColumn(DataChunk chunk, int column, CompiledField field, Faker faker) {
+        PrimitiveValueSource source = (PrimitiveValueSource) field.getValueSource();
+        for (int r = 0; r < chunk.getSize(); r++) {
+            long rowIndex = (long) chunk.getStartRow() + r;
+            try {
+                if (field.drawNull(faker)) {
+                    chunk.setNull(column, r);
+                    continue;
+                }
+                switch (source) {
+                    case PrimitiveValueSource.OfLong longs -> chunk.setLong(column, r, longs.nextLong(faker, rowIndex));
+                    case PrimitiveValueSource.OfDouble doubles -> chunk.setDouble(column, r, doubles.nextDouble(faker, rowIndex));
+                    case PrimitiveValueSource.OfBoolean booleans -> chunk.setBoolean(column, r, booleans.nextBoolean(faker, rowIndex));
+                }
+            } catch (RuntimeException e) {
+                log.error("Error generating field '{}': {}", field.getName(), e.getMessage());
+                chunk.set(column, r, "[ERROR]");
+            }
+        }
     }
 
     private List<Map<String, Object>> generateRawDataWithFormatting(
             List<FieldDefinitionDto> schema,
             int rowCount,
-            SchemaFormattingRules schemaRules) {
+            String schemaFormattingRulesJson) {
 
-        // Resolve dependencies
-        List<FieldDefinitionDto> orderedSchema = dependencyResolver.resolveDependencyOrder(schema);
+        CompiledSchema compiled = compileSchema(schema, schemaFormattingRulesJson);
 
         return IntStream.range(0, rowCount)
-                .mapToObj(i -> generateRowWithFormatting(orderedSchema, schemaRules, i))
+                .mapToObj(i -> generateRowWithFormatting(compiled.getGenerationOrder(), i, faker))
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Object> generateRowWithFormatting(
-            List<FieldDefinitionDto> schema,
-            SchemaFormattingRules schemaRules,
-            int rowIndex) {
+    private Map<String, Object> generateRowWithFormatting(List<CompiledField> fields, int rowIndex, Faker faker) {
 
         Map<String, Object> row = new LinkedHashMap<>();
         Map<String, Object> generationContext = new HashMap<>();
@@ -115,68 +310,54 @@ public class EnhancedDataGenerationService extends DataGenerationService {
         generationContext.put("_rowIndex", rowIndex);
         generationContext.put("_timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_TIME));
 
-        for (FieldDefinitionDto field : schema) {
+        for (CompiledField field : fields) {
             try {
-                // Parse enhanced options
-                EnhancedFieldOptions fieldOptions = parseEnhancedFieldOptions(field.getOptions());
+                if (field.drawNull(faker)) {
+                    row.put(field.getName(), field.nullValue());
+                    continue;
+                }
 
-                // Get generator
-                String generatorKey = fieldOptions.getBaseType() != null ? fieldOptions.getBaseType() : field.getDataType();
-                DataTypeGenerator generator = generatorMap.get(generatorKey);
+                DataTypeGenerator generator = field.getGenerator();
 
                 if (generator == null) {
-                    log.warn("No generator for type: {}", generatorKey);
                     row.put(field.getName(), "[NO_GENERATOR]");
                     continue;
                 }
 
-                // Generate value
-                String value;
-                if (fieldOptions.getDependency() != null && fieldOptions.getDependency().getExpression() != null) {
-                    // Evaluate expression
-                    value = expressionEvaluator.evaluateExpression(
-                            fieldOptions.getDependency().getExpression(),
-                            row,
-                            generationContext,
-                            faker
-                    );
-                } else {
-                    // Use generator
-                    String baseOptions = fieldOptions.getBaseOptions() != null ?
-                            fieldOptions.getBaseOptions().toString() : field.getOptions();
-                    value = generator.generate(faker, baseOptions, row);
+                if (field.isNested() || field.isTyped()) {
+                    row.put(field.getName(), field.getValueSource().next(faker, rowIndex, row));
+                    continue;
                 }
 
-                // Apply formatting
-                FieldFormattingOptions formatting = schemaFormattingService.resolveFieldFormatting(
-                        field, schemaRules, fieldOptions.getFormatting()
-                );
-                value = fieldFormatter.applyFormatting(value, formatting);
+                // Generate and format the value, regenerating it while it fails validation
+                String value = field.formatValid(() -> {
+                    if (field.getExpression() != null) {
+                        // Evaluate expression
+                        return expressionEvaluator.evaluateExpression(
+                                field.getExpression(),
+                                row,
+                                generationContext,
+                                faker
+                        );
+                    }
+                    // Use generator; dates and numbers come typed and are formatted directly
+                    return field.toText(field.getValueSource().next(faker, rowIndex, row));
+                });
 
                 row.put(field.getName(), value);
 
+            } catch (FieldValidationException e) {
+                throw e;
             } catch (Exception e) {
                 log.error("Error generating field '{}': {}", field.getName(), e.getMessage());
                 row.put(field.getName(), "[ERROR]");
             }
         }
 
+        row.remove(GeographyTable.PLACE_KEY); // Shared by the row's geography fields, not a field itself
         return row;
     }
 
-    private SchemaFormattingRules parseSchemaFormattingRules(String rulesJson) {
-        if (rulesJson == null || rulesJson.trim().isEmpty()) {
-            return new SchemaFormattingRules();
-        }
-
-        try {
-            return objectMapper.readValue(rulesJson, SchemaFormattingRules.class);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to parse schema rules: {}", e.getMessage());
-            return new SchemaFormattingRules();
-        }
-    }
-
     private EnhancedFieldOptions parseEnhancedFieldOptions(String optionsJson) {
         if (optionsJson == null || optionsJson.trim().isEmpty()) {
             return new EnhancedFieldOptions();
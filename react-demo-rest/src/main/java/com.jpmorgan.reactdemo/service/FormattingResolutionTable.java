@@ -0,0 +1,199 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.jpmorgan.reactdemo.dto.FieldDefinitionDto;
+import com.jpmorgan.reactdemo.formatting.FieldFormattingOptions;
+import com.jpmorgan.reactdemo.formatting.ValueFormats;
+import com.jpmorgan.reactdemo.formatting.schema.CategoryFormattingRule;
+import com.jpmorgan.reactdemo.formatting.schema.ConditionalFormattingRule;
+import com.jpmorgan.reactdemo.formatting.schema.GlobalFormattingRule;
+import com.jpmorgan.reactdemo.formatting.schema.SchemaFormattingRules;
+import com.jpmorgan.reactdemo.formatting.schema.TypeFormattingRule;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Schema formatting rules prepared for resolving fields: conditional rules are sorted once and their
+ * conditions compiled, and the combined global, category, type and conditional options are kept per
+ * (field name, data type), so only field-level rules are merged per field.
+ * Thread-safe, and shared by all requests that use the same rules.
+ */
+public class FormattingResolutionTable {
+
+    // Bounds the memo when many differently named fields use the same rules
+    private static final int MAX_MEMOISED_FIELDS = 10_000;
+
+    private final SchemaFormattingRules rules;
+    private final List<CompiledCondition> conditionalRules;
+    private final ValueFormats valueFormats;
+    private final Map<FieldKey, FieldFormattingOptions> schemaLevelOptions = new ConcurrentHashMap<>();
+
+    private record FieldKey(String name, String dataType) {
+    }
+
+    private record CompiledCondition(Predicate<FieldDefinitionDto> matches, FieldFormattingOptions formatting) {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the global date or number format is invalid
+     */
+    public FormattingResolutionTable(SchemaFormattingRules rules) {
+        this.rules = rules;
+        this.valueFormats = ValueFormats.compile(rules.getGlobalRules());
+        this.conditionalRules = rules.getConditionalRules() == null ? List.of() : rules.getConditionalRules().stream()
+                // Sort by priority (higher priority first)
+                .sorted(Comparator.comparing(ConditionalFormattingRule::getPriority).reversed())
+                .map(rule -> new CompiledCondition(compileCondition(rule.getCondition()), rule.getFormatting()))
+                .toList();
+    }
+
+    /**
+     * The schema-wide date and number formats, compiled once with the rules
+     */
+    public ValueFormats getValueFormats() {
+        return valueFormats;
+    }
+
+    /**
+     * Effective options of a field: schema rules (global → category → type → conditional), then the
+     * field's own rules. The result is a new object the caller may keep.
+     */
+    public FieldFormattingOptions resolve(FieldDefinitionDto field, FieldFormattingOptions fieldLevelRules) {
+        FieldKey key = new FieldKey(field.getName(), field.getDataType());
+        FieldFormattingOptions schemaLevel = schemaLevelOptions.get(key);
+        if (schemaLevel == null) {
+            schemaLevel = resolveSchemaLevel(field);
+            if (schemaLevelOptions.size() < MAX_MEMOISED_FIELDS) {
+                schemaLevelOptions.putIfAbsent(key, schemaLevel);
+            }
+        }
+
+        FieldFormattingOptions resolved = new FieldFormattingOptions();
+        mergeFormatting(resolved, schemaLevel);
+        // Field-level rules (highest precedence)
+        mergeFormatting(resolved, fieldLevelRules);
+        return resolved;
+    }
+
+    private FieldFormattingOptions resolveSchemaLevel(FieldDefinitionDto field) {
+        FieldFormattingOptions resolved = new FieldFormattingOptions();
+
+        // 1. Apply global rules (lowest precedence)
+        if (rules.getGlobalRules() != null) {
+            applyGlobalRules(resolved, rules.getGlobalRules());
+        }
+
+        // 2. Apply category rules
+        String category = extractCategory(field.getDataType());
+        if (category != null && rules.getCategoryRules() != null && rules.getCategoryRules().containsKey(category)) {
+            CategoryFormattingRule categoryRule = rules.getCategoryRules().get(category);
+            if (!categoryRule.getOverrideFieldRules()) {
+                mergeFormatting(resolved, categoryRule.getFormatting());
+            }
+        }
+
+        // 3. Apply type-specific rules
+        if (rules.getTypeRules() != null && rules.getTypeRules().containsKey(field.getDataType())) {
+            TypeFormattingRule typeRule = rules.getTypeRules().get(field.getDataType());
+            mergeFormatting(resolved, typeRule.getFormatting());
+        }
+
+        // 4. Apply conditional rules
+        for (CompiledCondition rule : conditionalRules) {
+            if (rule.matches().test(field)) {
+                mergeFormatting(resolved, rule.formatting());
+            }
+        }
+
+        return resolved;
+    }
+
+    private void applyGlobalRules(FieldFormattingOptions target, GlobalFormattingRule global) {
+        if (global.getDefaultCase() != null && target.getCaseTransform() == null) {
+            target.setCaseTransform(global.getDefaultCase());
+        }
+        if (global.getDefaultPrefix() != null && target.getPrefix() == null) {
+            target.setPrefix(global.getDefaultPrefix());
+        }
+        if (global.getDefaultSuffix() != null && target.getSuffix() == null) {
+            target.setSuffix(global.getDefaultSuffix());
+        }
+        if (global.getDefaultMaxLength() != null && target.getMaxLength() == null) {
+            target.setMaxLength(global.getDefaultMaxLength());
+        }
+        if (global.getAllowedCharacters() != null && target.getAllowedCharacters() == null) {
+            target.setAllowedCharacters(global.getAllowedCharacters());
+        }
+    }
+
+    private String extractCategory(String dataType) {
+        if (dataType == null || !dataType.contains(".")) {
+            return null;
+        }
+        return dataType.substring(0, dataType.indexOf('.'));
+    }
+
+    private void mergeFormatting(FieldFormattingOptions target, FieldFormattingOptions source) {
+        if (source == null) return;
+
+        if (source.getCaseTransform() != null) {
+            target.setCaseTransform(source.getCaseTransform());
+        }
+        if (source.getPrefix() != null) {
+            target.setPrefix(source.getPrefix());
+        }
+        if (source.getSuffix() != null) {
+            target.setSuffix(source.getSuffix());
+        }
+        if (source.getMaxLength() != null) {
+            target.setMaxLength(source.getMaxLength());
+        }
+        if (source.getFixedLength() != null) {
+            target.setFixedLength(source.getFixedLength());
+        }
+        if (source.getValidation() != null) {
+            target.setValidation(source.getValidation());
+        }
+        if (source.getAllowedCharacters() != null) {
+            target.setAllowedCharacters(source.getAllowedCharacters());
+        }
+    }
+
+    /**
+     * Simple conditions: "fieldName.contains('text')" and "dataType.contains('text')", case-insensitive
+     */
+    private Predicate<FieldDefinitionDto> compileCondition(String condition) {
+        if (condition == null || condition.trim().isEmpty()) return field -> false;
+
+        condition = condition.toLowerCase();
+        String searchText = extractQuotedText(condition);
+        if (searchText == null) {
+            return field -> false;
+        }
+
+        // Check field name conditions
+        if (condition.contains("fieldname.contains")) {
+            return field -> field.getName().toLowerCase().contains(searchText);
+        }
+
+        // Check data type conditions
+        if (condition.contains("datatype.contains")) {
+            return field -> field.getDataType().toLowerCase().contains(searchText);
+        }
+
+        // Default: false
+        return field -> false;
+    }
+
+    private String extractQuotedText(String text) {
+        int start = text.indexOf('\'');
+        int end = text.lastIndexOf('\'');
+        if (start >= 0 && end > start) {
+            return text.substring(start + 1, end);
+        }
+        return null;
+    }
+}
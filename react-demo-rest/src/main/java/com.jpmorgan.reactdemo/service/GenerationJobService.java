@@ -0,0 +1,230 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.jpmorgan.reactdemo.config.OutputProperties;
+import com.jpmorgan.reactdemo.dto.GenerationRequest;
+import com.jpmorgan.reactdemo.dto.MultiTableGenerationRequest;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.job.GenerationJob;
+import com.jpmorgan.reactdemo.job.JobStatus;
+import com.jpmorgan.reactdemo.job.RequestFingerprint;
+import com.jpmorgan.reactdemo.output.FixedLengthRecordLayout;
+import com.jpmorgan.reactdemo.output.MappedRecordFileWriter;
+import com.jpmorgan.reactdemo.output.RecordWriterFactory;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodec;
+import com.jpmorgan.reactdemo.output.compression.CompressionCodecRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs generation requests in the background and writes their output to local disk.
+ * Formats with a fixed record length are written by parallel workers into a memory-mapped file;
+ * everything else, and any compressed output, is streamed through the format writers.
+ */
+@Service
+@Slf4j
+public class GenerationJobService {
+
+    private final EnhancedDataGenerationService dataGenerationService;
+    private final DataExportService dataExportService;
+    private final MultiTableExportService multiTableExportService;
+    private final RecordWriterFactory recordWriterFactory;
+    private final CompressionCodecRegistry compressionCodecs;
+    private final OutputProperties outputProperties;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService generationExecutor;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public GenerationJobService(
+            @Qualifier("enhancedDataGenerationService") EnhancedDataGenerationService dataGenerationService,
+            DataExportService dataExportService,
+            MultiTableExportService multiTableExportService,
+            RecordWriterFactory recordWriterFactory,
+            CompressionCodecRegistry compressionCodecs,
+            OutputProperties outputProperties,
+            @Qualifier("jobExecutor") ExecutorService jobExecutor,
+            @Qualifier("generationExecutor") ExecutorService generationExecutor) {
+        this.dataGenerationService = dataGenerationService;
+        this.dataExportService = dataExportService;
+        this.multiTableExportService = multiTableExportService;
+        this.recordWriterFactory = recordWriterFactory;
+        this.compressionCodecs = compressionCodecs;
+        this.outputProperties = outputProperties;
+        this.jobExecutor = jobExecutor;
+        this.generationExecutor = generationExecutor;
+    }
+
+    /**
+     * Validate and queue a job. The schema is compiled up front so that configuration
+     * errors are reported to the caller instead of failing the job later.
+     */
+    public GenerationJob submit(GenerationRequest request) throws IOException {
+        CompiledSchema compiled = dataExportService.prepare(request);
+        Optional<FixedLengthRecordLayout> layout = dataExportService.isArchive(request)
+                ? Optional.empty()
+                : FixedLengthRecordLayout.forSchema(request.getFormat(), compiled);
+        Optional<CompressionCodec> codec = compressionCodecs.find(request.getCompression());
+
+        GenerationJob job = new GenerationJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setRowCount(request.getRowCount());
+
+        String extension;
+        if (dataExportService.isArchive(request)) {
+            job.setFormat(String.join(",", request.getFormats()).toUpperCase());
+            extension = "zip";
+            job.setContentType(DataExportService.ARCHIVE_MEDIA_TYPE);
+        } else if (codec.isPresent()) {
+            job.setFormat(request.getFormat().toUpperCase());
+            extension = recordWriterFactory.fileExtension(job.getFormat()) + "." + codec.get().getFileExtension();
+            job.setContentType(codec.get().getMediaType());
+        } else {
+            job.setFormat(request.getFormat().toUpperCase());
+            extension = recordWriterFactory.fileExtension(job.getFormat());
+            job.setContentType(recordWriterFactory.contentType(job.getFormat()));
+        }
+        job.setFileName("generated_data." + extension);
+        job.setFingerprint(RequestFingerprint.of(request));
+        job.setValidation(compiled.getValidationStats());
+        job.setOutputPath(outputDirectory().resolve(job.getId() + "." + extension));
+        jobs.put(job.getId(), job);
+
+        jobExecutor.submit(() -> run(job, request, compiled, layout, codec));
+        log.info("Queued job {}: {} rows, format {}", job.getId(), job.getRowCount(), job.getFormat());
+        return job;
+    }
+
+    /**
+     * Validate and queue a multi-table job, whose output is a ZIP archive with a file per table
+     */
+    public GenerationJob submitTables(MultiTableGenerationRequest request) throws IOException {
+        MultiTableExportService.PreparedTables prepared = multiTableExportService.prepare(request);
+
+        GenerationJob job = new GenerationJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setRowCount(prepared.getRowCount());
+        job.setFormat(request.getFormat().toUpperCase());
+        job.setContentType(DataExportService.ARCHIVE_MEDIA_TYPE);
+        job.setFileName("generated_tables.zip");
+        job.setFingerprint(RequestFingerprint.of(request));
+        job.setValidation(prepared.getValidationStats());
+        job.setOutputPath(outputDirectory().resolve(job.getId() + ".zip"));
+        jobs.put(job.getId(), job);
+
+        jobExecutor.submit(() -> runTables(job, request, prepared));
+        log.info("Queued job {}: {} tables, {} rows, format {}", job.getId(), prepared.tables().size(),
+                job.getRowCount(), job.getFormat());
+        return job;
+    }
+
+    public GenerationJob getJob(String id) {
+        GenerationJob job = jobs.get(id);
+        if (job == null) {
+            throw new NoSuchElementException("Job not found with id: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * The job's output file, once the job has completed
+     */
+    public Path getCompletedOutput(String id) {
+        GenerationJob job = getJob(id);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new IllegalStateException("Job " + id + " is " + job.getStatus());
+        }
+        return job.getOutputPath();
+    }
+
+    public void deleteJob(String id) throws IOException {
+        GenerationJob job = getJob(id);
+        jobs.remove(id);
+        Files.deleteIfExists(job.getOutputPath());
+        log.info("Deleted job {}", id);
+    }
+
+    private void run(GenerationJob job, GenerationRequest request, CompiledSchema compiled,
+            Optional<FixedLengthRecordLayout> layout, Optional<CompressionCodec> codec) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(JobStatus.RUNNING);
+
+        try {
+            long size;
+            if (dataExportService.isArchive(request)) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.getOutputPath()))) {
+                    dataExportService.exportArchive(request, compiled, out);
+                }
+                size = Files.size(job.getOutputPath());
+            } else if (layout.isPresent() && codec.isEmpty()) {
+                MappedRecordFileWriter writer = new MappedRecordFileWriter(
+                        layout.get(), generationExecutor, outputProperties.getChunkRows());
+                size = writer.write(job.getOutputPath(), request.getRowCount(),
+                        (startRow, rows, recycled) -> dataGenerationService.generateChunk(compiled, startRow, rows, recycled));
+            } else {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.getOutputPath()))) {
+                    dataExportService.export(request, compiled, out, codec.orElse(null));
+                }
+                size = Files.size(job.getOutputPath());
+            }
+
+            job.setSizeBytes(size);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setStatus(JobStatus.COMPLETED); // Last, so a reader who sees the status sees everything else
+            log.info("Job {} completed: {} bytes written to {}", job.getId(), size, job.getOutputPath());
+        } catch (Exception e) {
+            log.error("Job {} failed", job.getId(), e);
+            deletePartialOutput(job);
+            job.setErrorMessage(e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            job.setStatus(JobStatus.FAILED);
+        }
+    }
+
+    private void runTables(GenerationJob job, MultiTableGenerationRequest request,
+            MultiTableExportService.PreparedTables prepared) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(JobStatus.RUNNING);
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.getOutputPath()))) {
+                multiTableExportService.exportArchive(prepared, request.getFormat(), out);
+            }
+            job.setSizeBytes(Files.size(job.getOutputPath()));
+            job.setCompletedAt(LocalDateTime.now());
+            job.setStatus(JobStatus.COMPLETED); // Last, so a reader who sees the status sees everything else
+            log.info("Job {} completed: {} bytes written to {}", job.getId(), job.getSizeBytes(), job.getOutputPath());
+        } catch (Exception e) {
+            log.error("Job {} failed", job.getId(), e);
+            deletePartialOutput(job);
+            job.setErrorMessage(e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            job.setStatus(JobStatus.FAILED);
+        }
+    }
+
+    private void deletePartialOutput(GenerationJob job) {
+        try {
+            Files.deleteIfExists(job.getOutputPath());
+        } catch (IOException e) {
+            log.warn("Could not delete partial output of job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private Path outputDirectory() throws IOException {
+        return Files.createDirectories(Paths.get(outputProperties.getDirectory()));
+    }
+}
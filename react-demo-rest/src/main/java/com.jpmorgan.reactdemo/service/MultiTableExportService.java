@@ -0,0 +1,312 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.jpmorgan.reactdemo.config.OutputProperties;
+import com.jpmorgan.reactdemo.dto.FieldDefinitionDto;
+import com.jpmorgan.reactdemo.dto.GenerationRequest;
+import com.jpmorgan.reactdemo.dto.MultiTableGenerationRequest;
+import com.jpmorgan.reactdemo.dto.TableDefinitionDto;
+import com.jpmorgan.reactdemo.generation.CompiledSchema;
+import com.jpmorgan.reactdemo.generation.FieldValidationStats;
+import com.jpmorgan.reactdemo.generator.impl.key.ForeignKeyGenerator;
+import com.jpmorgan.reactdemo.generator.impl.key.PrimaryKeyGenerator;
+import com.jpmorgan.reactdemo.output.RecordWriterFactory;
+import com.jpmorgan.reactdemo.relational.ForeignKey;
+import com.jpmorgan.reactdemo.relational.KeyOptions;
+import com.jpmorgan.reactdemo.relational.KeySpace;
+import com.jpmorgan.reactdemo.relational.TableGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates the tables of a multi-table request into one ZIP archive. Tables are scheduled along their
+ * foreign keys: a table starts once the tables it references are written, and tables that do not depend
+ * on each other are generated at the same time, sharing the chunk workers.
+ *
+ * Foreign keys are computed from the parent's key space (see {@link KeySpace}), so a child table never
+ * reads its parent's rows; the ordering only makes a failed parent stop its children before they start.
+ */
+@Service
+@Slf4j
+public class MultiTableExportService {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_]{1,64}");
+
+    private final DataExportService dataExportService;
+    private final RecordWriterFactory recordWriterFactory;
+    private final OutputProperties outputProperties;
+    private final ExecutorService tableExecutor;
+
+    /**
+     * A table ready to be generated
+     */
+    public record PreparedTable(GenerationRequest request, CompiledSchema compiled) {
+    }
+
+    /**
+     * The tables of a request in declared order, and the graph of their foreign keys
+     */
+    public record PreparedTables(Map<String, PreparedTable> tables, TableGraph graph) {
+
+        public long getRowCount() {
+            return tables.values().stream().mapToLong(table -> table.request().getRowCount()).sum();
+        }
+
+        /**
+         * Validation counters of every table, by table.field
+         */
+        public Map<String, FieldValidationStats> getValidationStats() {
+            Map<String, FieldValidationStats> stats = new LinkedHashMap<>();
+            tables.forEach((name, table) -> table.compiled().getValidationStats()
+                    .forEach((field, fieldStats) -> stats.put(name + "." + field, fieldStats)));
+            return stats;
+        }
+    }
+
+    public MultiTableExportService(
+            DataExportService dataExportService,
+            RecordWriterFactory recordWriterFactory,
+            OutputProperties outputProperties,
+            @Qualifier("jobExecutor") ExecutorService tableExecutor) {
+        this.dataExportService = dataExportService;
+        this.recordWriterFactory = recordWriterFactory;
+        this.outputProperties = outputProperties;
+        this.tableExecutor = tableExecutor;
+    }
+
+    /**
+     * Resolve the foreign keys between tables, order the tables, and compile every table, before anything
+     * is written. Key.primary fields get their table's row count, and the request's seed unless they set
+     * one; Key.foreign fields naming a table get that table's key space. A table may reference itself.
+     * @throws IllegalArgumentException if a table or its references are invalid, or the references form a cycle
+     */
+    public PreparedTables prepare(MultiTableGenerationRequest request) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            throw new IllegalArgumentException("At least one table is required.");
+        }
+        if (request.getFormat() == null) {
+            throw new IllegalArgumentException("Format is required.");
+        }
+
+        Map<String, TableDefinitionDto> tables = new LinkedHashMap<>();
+        Set<String> entryNames = new HashSet<>();
+        for (TableDefinitionDto table : request.getTables()) {
+            validateTable(table);
+            if (!entryNames.add(table.getName().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Table '" + table.getName() + "' is defined more than once.");
+            }
+            tables.put(table.getName(), table);
+        }
+
+        Map<String, KeySpace> primaryKeys = new HashMap<>();
+        Map<String, List<FieldDefinitionDto>> schemas = new LinkedHashMap<>();
+        for (TableDefinitionDto table : tables.values()) {
+            schemas.put(table.getName(), resolvePrimaryKey(table, request.getSeed(), primaryKeys));
+        }
+
+        Map<String, Set<String>> references = new LinkedHashMap<>();
+        for (TableDefinitionDto table : tables.values()) {
+            Set<String> parents = new LinkedHashSet<>();
+            schemas.put(table.getName(), resolveForeignKeys(table, schemas.get(table.getName()), primaryKeys, parents));
+            parents.remove(table.getName()); // Keys are computed, so a table can reference its own rows
+            references.put(table.getName(), parents);
+        }
+        TableGraph graph = TableGraph.of(references);
+
+        Map<String, PreparedTable> prepared = new LinkedHashMap<>();
+        for (TableDefinitionDto table : tables.values()) {
+            GenerationRequest tableRequest = new GenerationRequest();
+            tableRequest.setSchema(schemas.get(table.getName()));
+            tableRequest.setRowCount(table.getRowCount());
+            tableRequest.setFormat(request.getFormat());
+            tableRequest.setTableName(table.getName());
+            tableRequest.setSchemaFormattingRules(table.getSchemaFormattingRules());
+            try {
+                prepared.put(table.getName(), new PreparedTable(tableRequest, dataExportService.prepare(tableRequest)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Table '" + table.getName() + "': " + e.getMessage(), e);
+            }
+        }
+        return new PreparedTables(prepared, graph);
+    }
+
+    private void validateTable(TableDefinitionDto table) {
+        if (table.getName() == null || !TABLE_NAME.matcher(table.getName()).matches()) {
+            throw new IllegalArgumentException("Table names must be 1 to 64 letters, digits or '_': " + table.getName());
+        }
+        if (table.getSchema() == null || table.getSchema().isEmpty()) {
+            throw new IllegalArgumentException("Table '" + table.getName() + "': Schema cannot be empty.");
+        }
+        if (table.getRowCount() <= 0 || table.getRowCount() > outputProperties.getMaxJobRows()) {
+            throw new IllegalArgumentException("Table '" + table.getName() + "': Row count must be between 1 and "
+                    + outputProperties.getMaxJobRows() + ".");
+        }
+    }
+
+    /**
+     * The table's schema with its Key.primary field bound to the table's key space, which is recorded
+     */
+    private List<FieldDefinitionDto> resolvePrimaryKey(TableDefinitionDto table, Long seed, Map<String, KeySpace> primaryKeys) {
+        List<FieldDefinitionDto> schema = new ArrayList<>();
+        for (FieldDefinitionDto field : table.getSchema()) {
+            if (!PrimaryKeyGenerator.KEY.equals(field.getDataType())) {
+                schema.add(field);
+                continue;
+            }
+            if (primaryKeys.containsKey(table.getName())) {
+                throw new IllegalArgumentException("Table '" + table.getName() + "' has more than one Key.primary field.");
+            }
+            try {
+                KeyOptions options = KeyOptions.parse(field.getOptions(), KeySpace.OPTION_NAMES)
+                        .with("rows", table.getRowCount());
+                if (!options.has("seed") && seed != null) {
+                    options = options.with("seed", KeySpace.mix(seed ^ KeySpace.mix(table.getName().hashCode())));
+                }
+                KeySpace keys = KeySpace.of(options);
+                primaryKeys.put(table.getName(), keys);
+                schema.add(withOptions(field, keys.writeTo(options).toString()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Table '" + table.getName() + "', field '" + field.getName() + "': "
+                        + e.getMessage(), e);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * The table's schema with every Key.foreign field that names a table bound to that table's key space
+     */
+    private List<FieldDefinitionDto> resolveForeignKeys(TableDefinitionDto table, List<FieldDefinitionDto> fields,
+            Map<String, KeySpace> primaryKeys, Set<String> parents) {
+        List<FieldDefinitionDto> schema = new ArrayList<>();
+        for (FieldDefinitionDto field : fields) {
+            if (!ForeignKeyGenerator.KEY.equals(field.getDataType())) {
+                schema.add(field);
+                continue;
+            }
+            try {
+                KeyOptions options = KeyOptions.parse(field.getOptions(), ForeignKey.OPTION_NAMES);
+                String parent = options.get("table");
+                if (parent != null) {
+                    KeySpace parentKeys = primaryKeys.get(parent);
+                    if (parentKeys == null) {
+                        throw new IllegalArgumentException("References table '" + parent
+                                + "', which is not part of the request or has no Key.primary field.");
+                    }
+                    options = parentKeys.writeTo(options);
+                    parents.add(parent);
+                }
+                ForeignKey.parse(options.toString());
+                schema.add(withOptions(field, options.toString()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Table '" + table.getName() + "', field '" + field.getName() + "': "
+                        + e.getMessage(), e);
+            }
+        }
+        return schema;
+    }
+
+    private FieldDefinitionDto withOptions(FieldDefinitionDto field, String options) {
+        FieldDefinitionDto copy = new FieldDefinitionDto();
+        copy.setName(field.getName());
+        copy.setDataType(field.getDataType());
+        copy.setOptions(options);
+        copy.setFields(field.getFields());
+        return copy;
+    }
+
+    /**
+     * Write every table as an entry of a ZIP archive to {@code out}, which is flushed but not closed.
+     * Each table is spooled to a temporary file while the tables are generated, and the files are appended
+     * to the archive in declared order afterwards, because ZIP entries cannot be interleaved.
+     */
+    public void exportArchive(PreparedTables prepared, String format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Path spoolDirectory = Files.createDirectories(Paths.get(outputProperties.getDirectory()));
+        Map<String, Path> spoolFiles = new LinkedHashMap<>();
+
+        try {
+            for (String name : prepared.tables().keySet()) {
+                spoolFiles.put(name, Files.createTempFile(spoolDirectory, "table-", "." + recordWriterFactory.fileExtension(format)));
+            }
+
+            Map<String, CompletableFuture<Void>> written = new HashMap<>();
+            for (String name : prepared.graph().getOrder()) {
+                CompletableFuture<?>[] parents = prepared.graph().parentsOf(name).stream()
+                        .map(written::get)
+                        .toArray(CompletableFuture[]::new);
+                PreparedTable table = prepared.tables().get(name);
+                Path spoolFile = spoolFiles.get(name);
+                written.put(name, CompletableFuture.allOf(parents)
+                        .thenRunAsync(() -> exportTable(table, spoolFile), tableExecutor));
+            }
+            awaitAll(written.values());
+
+            ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out));
+            zip.setLevel(outputProperties.getCompressionLevel());
+            for (Map.Entry<String, Path> spoolFile : spoolFiles.entrySet()) {
+                zip.putNextEntry(new ZipEntry(spoolFile.getKey() + "." + recordWriterFactory.fileExtension(format)));
+                Files.copy(spoolFile.getValue(), zip);
+                zip.closeEntry();
+            }
+            zip.close(); // Writes the central directory; out stays open
+            out.flush();
+        } finally {
+            for (Path spoolFile : spoolFiles.values()) {
+                Files.deleteIfExists(spoolFile);
+            }
+        }
+
+        log.info("Exported {} tables ({} rows) as {} archive in {} ms", prepared.tables().size(), prepared.getRowCount(),
+                format, System.currentTimeMillis() - start);
+    }
+
+    private void exportTable(PreparedTable table, Path spoolFile) {
+        try (OutputStream spool = new BufferedOutputStream(Files.newOutputStream(spoolFile))) {
+            dataExportService.export(table.request(), table.compiled(), spool, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write table " + table.request().getTableName(), e);
+        }
+    }
+
+    private void awaitAll(Iterable<CompletableFuture<Void>> tables) throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        tables.forEach(futures::add);
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.jpmorgan.reactdemo.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.jpmorgan.reactdemo.config.ReferenceTableProperties;
+import com.jpmorgan.reactdemo.dto.ReferenceTableInfo;
+import com.jpmorgan.reactdemo.reference.ReferenceTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded CSV reference tables on local disk and keeps them parsed in memory, so that the lookup()
+ * expression function can join generated values against them by name. Loaded tables are immutable and
+ * shared by all generation threads; uploading under an existing name replaces the table.
+ */
+@Service
+@Slf4j
+public class ReferenceTableService {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String EXTENSION = ".csv";
+
+    private final ReferenceTableProperties referenceTableProperties;
+    private final CsvMapper csvMapper;
+    private final Map<String, Loaded> tables = new ConcurrentHashMap<>();
+
+    private record Loaded(ReferenceTableInfo info, ReferenceTable table) {
+    }
+
+    public ReferenceTableService(ReferenceTableProperties referenceTableProperties, CsvMapper csvMapper) {
+        this.referenceTableProperties = referenceTableProperties;
+        this.csvMapper = csvMapper;
+    }
+
+    /**
+     * Store and parse an uploaded CSV table whose first row names its columns
+     * @throws IllegalArgumentException if the name is invalid, or the upload is too large or not a valid table
+     */
+    public ReferenceTableInfo upload(String name, InputStream in) throws IOException {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Reference table names must be 1 to 64 letters, digits, '_' or '-'.");
+        }
+        Path upload = directory().resolve(name + "." + UUID.randomUUID() + ".upload");
+        try {
+            copy(in, upload);
+            ReferenceTable table = parse(upload);
+            synchronized (this) {
+                Files.move(upload, file(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Loaded loaded = new Loaded(info(name, table), table);
+                tables.put(name, loaded);
+                log.info("Stored reference table {} ({} rows, columns {})", name, table.getRowCount(), table.getColumnNames());
+                return loaded.info();
+            }
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public List<ReferenceTableInfo> listTables() throws IOException {
+        List<ReferenceTableInfo> infos = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory(), "*" + EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString().replace(EXTENSION, "");
+                if (NAME.matcher(name).matches()) {
+                    infos.add(getInfo(name));
+                }
+            }
+        }
+        infos.sort(Comparator.comparing(ReferenceTableInfo::getName));
+        return infos;
+    }
+
+    public ReferenceTableInfo getInfo(String name) throws IOException {
+        return loaded(name).info();
+    }
+
+    /**
+     * The parsed table with this name
+     * @throws NoSuchElementException if there is no table with this name
+     */
+    public ReferenceTable getTable(String name) throws IOException {
+        return loaded(name).table();
+    }
+
+    public synchronized void deleteTable(String name) throws IOException {
+        loaded(name);
+        tables.remove(name);
+        Files.deleteIfExists(file(name));
+        log.info("Deleted reference table {}", name);
+    }
+
+    private Loaded loaded(String name) throws IOException {
+        Loaded loaded = tables.get(name);
+        return loaded != null ? loaded : load(name);
+    }
+
+    private synchronized Loaded load(String name) throws IOException {
+        Loaded loaded = tables.get(name);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (name == null || !NAME.matcher(name).matches() || !Files.exists(file(name))) {
+            throw new NoSuchElementException("Reference table not found: " + name);
+        }
+
+        ReferenceTable table = parse(file(name));
+        loaded = new Loaded(info(name, table), table);
+        tables.put(name, loaded);
+        return loaded;
+    }
+
+    private ReferenceTable parse(Path file) throws IOException {
+        try (MappingIterator<String[]> rows = csvMapper.readerForArrayOf(String.class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .readValues(file.toFile())) {
+            if (!rows.hasNext()) {
+                throw new IllegalArgumentException("Reference table file is empty.");
+            }
+            List<String> header = Arrays.stream(rows.next()).map(String::strip).toList();
+            return ReferenceTable.of(header, rows);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException cause) { // Malformed CSV, surfaced by the iterator
+                throw new IllegalArgumentException("Invalid CSV: " + cause.getMessage(), cause);
+            }
+            throw e;
+        }
+    }
+
+    private ReferenceTableInfo info(String name, ReferenceTable table) throws IOException {
+        ReferenceTableInfo info = new ReferenceTableInfo();
+        info.setName(name);
+        info.setColumns(table.getColumnNames());
+        info.setRowCount(table.getRowCount());
+        info.setSizeBytes(Files.size(file(name)));
+        info.setCreatedAt(LocalDateTime.ofInstant(Files.getLastModifiedTime(file(name)).toInstant(), ZoneId.systemDefault()));
+        return info;
+    }
+
+    private void copy(InputStream in, Path target) throws IOException {
+        long limit = referenceTableProperties.getMaxUploadBytes();
+        long copied = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                copied += read;
+                if (copied > limit) {
+                    throw new IllegalArgumentException("Reference tables can be at most " + limit + " bytes.");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private Path file(String name) throws IOException {
+        return directory().resolve(name + EXTENSION);
+    }
+
+    private Path directory() throws IOException {
+        return Files.createDirectories(Paths.get(referenceTableProperties.getDirectory()));
+    }
+}
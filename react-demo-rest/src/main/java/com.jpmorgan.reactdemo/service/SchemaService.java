@@ -1,13 +1,18 @@
 package com.jpmorgan.reactdemo.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jpmorgan.reactdemo.dto.FieldDefinitionDto;
+import com.jpmorgan.reactdemo.dto.MultiTableSchemaDto;
 import com.jpmorgan.reactdemo.dto.SchemaDefinitionDto;
 import com.jpmorgan.reactdemo.dto.SchemaSummaryDto;
+import com.jpmorgan.reactdemo.dto.TableDefinitionDto;
 import com.jpmorgan.reactdemo.formatting.schema.SchemaFormattingRules;
 import com.jpmorgan.reactdemo.model.FieldDefinition;
+import com.jpmorgan.reactdemo.model.MultiTableSchemaDefinition;
 import com.jpmorgan.reactdemo.model.SchemaDefinition;
+import com.jpmorgan.reactdemo.repository.MultiTableSchemaDefinitionRepository;
 import com.jpmorgan.reactdemo.repository.SchemaDefinitionRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +31,7 @@ import java.util.stream.IntStream;
 public class SchemaService {
 
     private final SchemaDefinitionRepository schemaRepository;
+    private final MultiTableSchemaDefinitionRepository multiTableSchemaRepository;
     private final ObjectMapper objectMapper;
     private static final Logger log = LoggerFactory.getLogger(SchemaService.class);
 
@@ -52,6 +58,7 @@ public class SchemaService {
                     field.setName(fieldDto.getName());
                     field.setDataType(fieldDto.getDataType());
                     field.setOptions(fieldDto.getOptions());
+                    field.setFields(childFieldsJson(fieldDto));
                     field.setFieldOrder(i);
                     return field;
                 })
@@ -103,9 +110,29 @@ public class SchemaService {
         dto.setName(field.getName());
         dto.setDataType(field.getDataType());
         dto.setOptions(field.getOptions());
+        if (field.getFields() != null) {
+            try {
+                dto.setFields(objectMapper.readValue(field.getFields(), new TypeReference<List<FieldDefinitionDto>>() {
+                }));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to parse child fields of field {}: {}", field.getName(), e.getMessage());
+            }
+        }
         return dto;
     }
 
+    private String childFieldsJson(FieldDefinitionDto field) {
+        if (field.getFields() == null || field.getFields().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(field.getFields());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Child fields of '" + field.getName() + "' cannot be serialized: "
+                    + e.getOriginalMessage(), e);
+        }
+    }
+
     private String generateShareLink(Long schemaId) {
         return ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/api/schemas/{id}")
@@ -130,4 +157,59 @@ public class SchemaService {
         schemaRepository.deleteById(id);
         log.info("Successfully deleted schema with id: {}", id);
     }
+
+    @Transactional
+    public MultiTableSchemaDto saveMultiTableSchema(MultiTableSchemaDto schemaDto) {
+        if (schemaDto.getTables() == null || schemaDto.getTables().isEmpty()) {
+            throw new IllegalArgumentException("A multi-table schema needs at least one table.");
+        }
+        MultiTableSchemaDefinition schema = new MultiTableSchemaDefinition();
+        schema.setName(schemaDto.getName());
+        try {
+            schema.setTables(objectMapper.writeValueAsString(schemaDto.getTables()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Tables cannot be serialized: " + e.getOriginalMessage(), e);
+        }
+        return convertToDto(multiTableSchemaRepository.save(schema));
+    }
+
+    @Transactional(readOnly = true)
+    public MultiTableSchemaDto getMultiTableSchema(Long id) {
+        MultiTableSchemaDefinition schema = multiTableSchemaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Multi-table schema not found with id: " + id));
+        return convertToDto(schema);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SchemaSummaryDto> getAllMultiTableSchemaSummaries() {
+        return multiTableSchemaRepository.findAll().stream()
+                .map(schema -> new SchemaSummaryDto(schema.getId(), schema.getName()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void deleteMultiTableSchema(Long id) {
+        if (!multiTableSchemaRepository.existsById(id)) {
+            throw new EntityNotFoundException("Multi-table schema not found with id: " + id);
+        }
+        multiTableSchemaRepository.deleteById(id);
+        log.info("Deleted multi-table schema with id: {}", id);
+    }
+
+    private MultiTableSchemaDto convertToDto(MultiTableSchemaDefinition schema) {
+        MultiTableSchemaDto dto = new MultiTableSchemaDto();
+        dto.setId(schema.getId());
+        dto.setName(schema.getName());
+        try {
+            dto.setTables(objectMapper.readValue(schema.getTables(), new TypeReference<List<TableDefinitionDto>>() {
+            }));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse tables of multi-table schema {}: {}", schema.getId(), e.getMessage());
+        }
+        dto.setShareLink(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/table-schemas/{id}")
+                .buildAndExpand(schema.getId())
+                .toUriString());
+        return dto;
+    }
 }
@@ -0,0 +1,153 @@
+package com.jpmorgan.reactdemo.template;
+
+import com.github.javafaker.service.RandomService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A composite value such as {@code {firstName} {middleInitial?}. {lastName}}, compiled once into literal
+ * appends and draws from pooled dictionaries. Generating a value is one RNG draw per token, with no
+ * formatting or expression parsing.
+ *
+ * A token is a named token ({@link #tokenNames()}) or a key of Faker's data files such as
+ * {@code {address.city}} or {@code {company.buzzword}}. A token ending in {@code ?} is left out of half of
+ * the values, together with the literal text that follows it up to the next token. {@code {{} and
+ * {@code }}} stand for literal braces. Immutable.
+ */
+public final class CompositeTemplate {
+
+    private static final Map<String, String> DICTIONARY_TOKENS = new TreeMap<>(Map.ofEntries(
+            Map.entry("firstName", "name.first_name"),
+            Map.entry("lastName", "name.last_name"),
+            Map.entry("prefix", "name.prefix"),
+            Map.entry("suffix", "name.suffix"),
+            Map.entry("buildingNumber", "address.building_number"),
+            Map.entry("streetName", "address.street_name"),
+            Map.entry("streetAddress", "address.street_address"),
+            Map.entry("secondaryAddress", "address.secondary_address"),
+            Map.entry("city", "address.city"),
+            Map.entry("state", "address.state"),
+            Map.entry("stateAbbr", "address.state_abbr"),
+            Map.entry("zipCode", "address.postcode"),
+            Map.entry("country", "address.country"),
+            Map.entry("companyName", "company.name")));
+
+    private static final Map<String, TemplatePart> SLOT_TOKENS = Map.of(
+            "middleInitial", TemplatePart.Slot.UPPERCASE_LETTER,
+            "digit", TemplatePart.Slot.DIGIT);
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final String template;
+    private final TemplatePart[] parts;
+
+    private CompositeTemplate(String template, TemplatePart[] parts) {
+        this.template = template;
+        this.parts = parts;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the template has an unknown token or unbalanced braces
+     */
+    public static CompositeTemplate compile(String template) {
+        List<TemplatePart> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        TemplatePart optional = null; // An optional token waiting for the literal text that follows it
+
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if ((c == '{' || c == '}') && i + 1 < template.length() && template.charAt(i + 1) == c) {
+                literal.append(c);
+                i++;
+            } else if (c == '}') {
+                throw new IllegalArgumentException("Template '" + template + "' has an unmatched '}' at position " + i + ".");
+            } else if (c == '{') {
+                int end = template.indexOf('}', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Template '" + template + "' has an unclosed '{' at position " + i + ".");
+                }
+                String token = template.substring(i + 1, end).strip();
+                boolean isOptional = token.endsWith("?");
+                TemplatePart part = token(isOptional ? token.substring(0, token.length() - 1).strip() : token);
+
+                optional = flush(literal, optional, parts);
+                if (isOptional) {
+                    optional = part;
+                } else {
+                    parts.add(part);
+                }
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+        flush(literal, optional, parts);
+        return new CompositeTemplate(template, parts.toArray(new TemplatePart[0]));
+    }
+
+    /**
+     * Names of the tokens a template can use besides data file keys
+     */
+    public static List<String> tokenNames() {
+        List<String> names = new ArrayList<>(DICTIONARY_TOKENS.keySet());
+        names.addAll(SLOT_TOKENS.keySet());
+        names.sort(null);
+        return names;
+    }
+
+    public String generate(RandomService random) {
+        StringBuilder out = new StringBuilder(INITIAL_CAPACITY);
+        for (TemplatePart part : parts) {
+            part.appendTo(out, random);
+        }
+        return out.toString();
+    }
+
+    public String template() {
+        return template;
+    }
+
+    private static TemplatePart token(String token) {
+        if (token.isEmpty()) {
+            throw new IllegalArgumentException("Template has an empty token.");
+        }
+        TemplatePart slot = SLOT_TOKENS.get(token);
+        if (slot != null) {
+            return slot;
+        }
+        String key = DICTIONARY_TOKENS.get(token);
+        if (key == null && token.indexOf('.') < 0) {
+            throw new IllegalArgumentException("Unknown template token '" + token + "'. Use one of " + tokenNames()
+                    + " or a dictionary key such as 'address.city'.");
+        }
+        return FakerDictionary.get(key != null ? key : token);
+    }
+
+    /**
+     * Add pending literal text, attached to the optional token before it if there is one
+     * @return null, as nothing is pending any more
+     */
+    private static TemplatePart flush(StringBuilder literal, TemplatePart optional, List<TemplatePart> parts) {
+        String text = literal.toString();
+        literal.setLength(0);
+        if (optional != null) {
+            parts.add(new Optional(optional, text));
+        } else if (!text.isEmpty()) {
+            parts.add(new TemplatePart.Literal(text));
+        }
+        return null;
+    }
+
+    private record Optional(TemplatePart token, String tail) implements TemplatePart {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            if (random.nextBoolean()) {
+                token.appendTo(out, random);
+                out.append(tail);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.jpmorgan.reactdemo.template;
+
+import com.github.javafaker.service.FakeValuesService;
+import com.github.javafaker.service.RandomService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A list of values from Faker's English data files (e.g. {@code name.first_name}), loaded once and kept
+ * for the life of the application. Entries are compiled as Faker resolves them: {@code #{key}} draws from
+ * another dictionary, relative to this one's section unless qualified ({@code #{Name.last_name}}), and
+ * {@code #} is a digit. Drawing a value is one RNG draw per dictionary and digit. Thread-safe.
+ */
+final class FakerDictionary implements TemplatePart {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z][A-Za-z0-9_]*(\\.[A-Za-z0-9_]+)+");
+
+    // Keys Faker resolves through a method rather than its data files
+    private static final Map<String, String> ALIASES = Map.of("address.zip_code", "address.postcode");
+
+    private static final Map<String, FakerDictionary> LOADED = new ConcurrentHashMap<>();
+    private static final FakeValuesService VALUES = new FakeValuesService(Locale.ENGLISH, new RandomService());
+
+    private final String key;
+    private final String[] words; // The entries, when none of them draws anything
+    private final TemplatePart[] entries; // Otherwise
+
+    private FakerDictionary(String key, String[] words, TemplatePart[] entries) {
+        this.key = key;
+        this.words = words;
+        this.entries = entries;
+    }
+
+    /**
+     * @param key a data file key such as {@code address.city} or {@code Address.city}
+     * @throws IllegalArgumentException if there is no list of values under the key
+     */
+    static FakerDictionary get(String key) {
+        String normalized = normalize(key);
+        FakerDictionary dictionary = LOADED.get(normalized);
+        return dictionary != null ? dictionary : load(normalized, new ArrayDeque<>());
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    @Override
+    public void appendTo(StringBuilder out, RandomService random) {
+        if (words != null) {
+            out.append(words[random.nextInt(words.length)]);
+        } else {
+            entries[random.nextInt(entries.length)].appendTo(out, random);
+        }
+    }
+
+    private static synchronized FakerDictionary load(String key, Deque<String> loading) {
+        FakerDictionary loaded = LOADED.get(key);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (loading.contains(key)) {
+            throw new IllegalArgumentException("Dictionary '" + key + "' refers to itself.");
+        }
+
+        List<?> values = switch (VALUES.fetchObject(key)) {
+            case List<?> list -> list;
+            case String value -> List.of(value);
+            case null -> throw new IllegalArgumentException("Unknown dictionary '" + key + "'.");
+            default -> throw new IllegalArgumentException("'" + key + "' is a group of dictionaries, not a list of values.");
+        };
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary '" + key + "' is empty.");
+        }
+
+        loading.push(key);
+        String section = key.substring(0, key.indexOf('.'));
+        TemplatePart[] entries = new TemplatePart[values.size()];
+        boolean allLiteral = true;
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = compileEntry(String.valueOf(values.get(i)), section, loading);
+            allLiteral &= entries[i] instanceof Literal;
+        }
+        loading.pop();
+
+        String[] words = null;
+        if (allLiteral) {
+            words = new String[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                words[i] = ((Literal) entries[i]).text();
+            }
+        }
+        FakerDictionary dictionary = new FakerDictionary(key, words, allLiteral ? null : entries);
+        LOADED.put(key, dictionary);
+        return dictionary;
+    }
+
+    private static TemplatePart compileEntry(String entry, String section, Deque<String> loading) {
+        List<TemplatePart> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < entry.length(); i++) {
+            char c = entry.charAt(i);
+            int end = c == '#' && i + 1 < entry.length() && entry.charAt(i + 1) == '{' ? entry.indexOf('}', i + 2) : -1;
+            if (end > 0) {
+                String reference = entry.substring(i + 2, end);
+                flush(literal, parts);
+                parts.add(load(normalize(reference.contains(".") ? reference : section + "." + reference), loading));
+                i = end;
+            } else if (c == '#') {
+                flush(literal, parts);
+                parts.add(Slot.DIGIT);
+            } else {
+                literal.append(c);
+            }
+        }
+        flush(literal, parts);
+        return switch (parts.size()) {
+            case 0 -> new Literal("");
+            case 1 -> parts.get(0);
+            default -> new Sequence(parts.toArray(new TemplatePart[0]));
+        };
+    }
+
+    private static void flush(StringBuilder literal, List<TemplatePart> parts) {
+        if (!literal.isEmpty()) {
+            parts.add(new Literal(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Data file key of a reference: Faker names sections after its classes, so {@code PhoneNumber.cell_phone}
+     * is {@code phone_number.cell_phone}
+     */
+    private static String normalize(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid dictionary key '" + key + "'.");
+        }
+        int dot = key.indexOf('.');
+        StringBuilder normalized = new StringBuilder(key.length() + 4);
+        for (int i = 0; i < dot; i++) {
+            char c = key.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                normalized.append('_');
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        normalized.append(key, dot, key.length());
+        return ALIASES.getOrDefault(normalized.toString(), normalized.toString());
+    }
+}
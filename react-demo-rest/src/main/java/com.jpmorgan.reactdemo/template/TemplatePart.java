@@ -0,0 +1,40 @@
+package com.jpmorgan.reactdemo.template;
+
+import com.github.javafaker.service.RandomService;
+
+/**
+ * A compiled piece of a composite value: literal text, a dictionary draw or a character slot
+ */
+interface TemplatePart {
+
+    void appendTo(StringBuilder out, RandomService random);
+
+    record Literal(String text) implements TemplatePart {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            out.append(text);
+        }
+    }
+
+    /**
+     * One character drawn uniformly from {@code first} to {@code first + count - 1}
+     */
+    record Slot(char first, int count) implements TemplatePart {
+        static final Slot DIGIT = new Slot('0', 10);
+        static final Slot UPPERCASE_LETTER = new Slot('A', 26);
+
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            out.append((char) (first + random.nextInt(count)));
+        }
+    }
+
+    record Sequence(TemplatePart[] parts) implements TemplatePart {
+        @Override
+        public void appendTo(StringBuilder out, RandomService random) {
+            for (TemplatePart part : parts) {
+                part.appendTo(out, random);
+            }
+        }
+    }
+}
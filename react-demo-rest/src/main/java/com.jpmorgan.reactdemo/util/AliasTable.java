@@ -0,0 +1,87 @@
+package com.jpmorgan.reactdemo.util;
+
+import com.github.javafaker.service.RandomService;
+
+/**
+ * Samples indexes in proportion to their weights in constant time, whatever the number of weights
+ * (Vose's alias method). Each index keeps a share of its own column and gives the rest to an alias,
+ * so a sample is a column draw plus a coin toss, taken from a single RNG draw. Immutable.
+ */
+public final class AliasTable {
+
+    private final double[] probability; // Chance that column i yields i rather than alias[i]
+    private final int[] alias;
+
+    private AliasTable(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or not finite,
+     *         or they are all zero
+     */
+    public static AliasTable of(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one weight is required.");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and not negative, got " + weight + ".");
+            }
+            total += weight;
+        }
+        if (total == 0 || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("Weights must add up to a positive, finite total.");
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // What is left is full up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1;
+        }
+        return new AliasTable(probability, alias);
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public int sample(RandomService random) {
+        double draw = random.nextDouble() * probability.length;
+        int column = Math.min((int) draw, probability.length - 1); // Guard against rounding up to the length
+        return draw - column < probability[column] ? column : alias[column];
+    }
+}
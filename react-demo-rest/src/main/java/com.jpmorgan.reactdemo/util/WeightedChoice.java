@@ -0,0 +1,75 @@
+package com.jpmorgan.reactdemo.util;
+
+import com.github.javafaker.service.RandomService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Options to pick from, each in proportion to its weight, backed by an {@link AliasTable}.
+ * An option is weighted when its label is quoted and followed by a colon and a weight, as in
+ * {@code 'OPEN':70}; otherwise the whole option is its label. Either every option has a weight or none
+ * has, in which case picks are uniform. Immutable.
+ */
+public final class WeightedChoice {
+
+    private static final Pattern WEIGHTED_OPTION = Pattern.compile("(['\"])(.*)\\1\\s*:\\s*(\\S+)", Pattern.DOTALL);
+
+    private final List<String> labels;
+    private final AliasTable table;
+
+    private WeightedChoice(List<String> labels, AliasTable table) {
+        this.labels = labels;
+        this.table = table;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there are no options, only some have a weight, or a weight is invalid
+     */
+    public static WeightedChoice parse(List<String> options) {
+        if (options.isEmpty()) {
+            throw new IllegalArgumentException("At least one option is required.");
+        }
+        List<String> labels = new ArrayList<>(options.size());
+        double[] weights = new double[options.size()];
+        int weighted = 0;
+        for (int i = 0; i < weights.length; i++) {
+            String option = options.get(i);
+            Matcher matcher = WEIGHTED_OPTION.matcher(option.strip());
+            if (matcher.matches()) {
+                labels.add(matcher.group(2));
+                weights[i] = parseWeight(matcher.group(3), option);
+                weighted++;
+            } else {
+                labels.add(option);
+                weights[i] = 1;
+            }
+        }
+        if (weighted != 0 && weighted != weights.length) {
+            throw new IllegalArgumentException("Give a weight to every option or to none, as in 'A':70, 'B':30.");
+        }
+        return new WeightedChoice(List.copyOf(labels), AliasTable.of(weights));
+    }
+
+    private static double parseWeight(String weight, String option) {
+        try {
+            return Double.parseDouble(weight);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight '" + weight + "' in option " + option + ".");
+        }
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public int sampleIndex(RandomService random) {
+        return table.sample(random);
+    }
+
+    public String sample(RandomService random) {
+        return labels.get(table.sample(random));
+    }
+}